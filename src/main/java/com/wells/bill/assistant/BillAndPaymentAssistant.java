@@ -9,6 +9,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class BillAndPaymentAssistant {
 
 	public static void main(String[] args) {
+		// Streaming chat runs tool calls on boundedElastic; back it with virtual threads too
+		System.setProperty("reactor.schedulers.defaultBoundedElasticOnVirtualThreads", "true");
 		SpringApplication.run(BillAndPaymentAssistant.class, args);
 	}
 }
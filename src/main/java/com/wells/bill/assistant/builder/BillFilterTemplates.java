@@ -0,0 +1,26 @@
+package com.wells.bill.assistant.builder;
+
+import static com.wells.bill.assistant.builder.FilterExpressionBuilder.param;
+
+/**
+ * Cached vector_store metadata filter shapes used on every search / sync.
+ */
+public final class BillFilterTemplates {
+
+    public static final String USER_ID = "userId";
+    public static final String BILL_ID = "billId";
+    public static final String BILL_IDS = "billIds";
+
+    // userId == :userId
+    public static final FilterTemplate USER_SCOPE = FilterExpressionBuilder.start()
+            .eq(USER_ID, param(USER_ID))
+            .template();
+
+    // billId in :billIds
+    public static final FilterTemplate BILLS = FilterExpressionBuilder.start()
+            .in(BILL_ID, param(BILL_IDS))
+            .template();
+
+    private BillFilterTemplates() {
+    }
+}
@@ -1,7 +1,10 @@
 package com.wells.bill.assistant.builder;
 
-import java.util.Arrays;
-import java.util.Collection;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -13,10 +16,18 @@ import java.util.stream.Collectors;
  * amount >= 100
  * vendor in ['A', 'B']
  * (vendor == 'ACME' || vendor == 'OTHER') && amount >= 100
+ * <p>
+ * The same calls also assemble a {@link Filter.Expression} tree, so callers on the
+ * hot path can use {@link #buildExpression()} and skip the text parser entirely.
+ * Values are normalized the way ingestion writes chunk metadata: UUIDs, dates,
+ * instants and enums become strings, numbers and booleans stay typed.
+ * Use {@link #param(String)} plus {@link #template()} for shapes that are reused
+ * with different values on every query.
  */
 public final class FilterExpressionBuilder {
 
     private final StringBuilder sb = new StringBuilder();
+    private final List<Filter.Operand> operands = new ArrayList<>();
 
     private FilterExpressionBuilder() {
     }
@@ -25,59 +36,98 @@ public final class FilterExpressionBuilder {
         return new FilterExpressionBuilder();
     }
 
+    /**
+     * Placeholder bound later through {@link FilterTemplate#bind(Map)}.
+     */
+    public static Param param(String name) {
+        return new Param(name);
+    }
+
+    public record Param(String name) {
+        public Param {
+            Objects.requireNonNull(name, "Parameter name is required");
+        }
+    }
+
+    static Object normalize(Object v) {
+        if (v == null || v instanceof Param) {
+            return v;
+        }
+        if (v instanceof Number || v instanceof Boolean || v instanceof String) {
+            return v;
+        }
+        if (v instanceof UUID || v instanceof LocalDate || v instanceof Instant) {
+            return v.toString();
+        }
+        if (v instanceof Enum<?> e) {
+            return e.name();
+        }
+        if (v instanceof Collection<?> c) {
+            return c.stream().map(FilterExpressionBuilder::normalize).toList();
+        }
+        return v.toString();
+    }
+
     private static String serialize(Object v) {
-        if (v == null) {
+        Object value = normalize(v);
+        if (value == null) {
             return "null";
         }
-        if (v instanceof Number || v instanceof Boolean) {
-            return v.toString();
+        if (value instanceof Param p) {
+            return ":" + p.name();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
         }
         // single-quote strings; escape inner quotes
-        return "'" + v.toString().replace("'", "\\'") + "'";
+        return "'" + value.toString().replace("'", "\\'") + "'";
     }
 
     /**
      * Append a top-level expression. If there is already content, join with " && "
      * so multiple calls (eq / in / etc) result in a valid boolean expression.
      */
-    private void appendTopLevel(String expr) {
+    private void appendTopLevel(String expr, Filter.Operand operand) {
         if (!sb.isEmpty()) {
             sb.append(" && ");
         }
         sb.append(expr);
+        operands.add(operand);
+    }
+
+    private FilterExpressionBuilder compare(String key, String op, Filter.ExpressionType type, Object value) {
+        appendTopLevel(
+                key + " " + op + " " + serialize(value),
+                new Filter.Expression(type, new Filter.Key(key), new Filter.Value(normalize(value)))
+        );
+        return this;
     }
 
     // -------------------------------------------------------------------------
     // Comparison operators – use Spring AI DSL: ==, !=, >, >=, <, <=
     // -------------------------------------------------------------------------
     public FilterExpressionBuilder eq(String key, Object value) {
-        appendTopLevel(key + " == " + serialize(value));
-        return this;
+        return compare(key, "==", Filter.ExpressionType.EQ, value);
     }
 
     public FilterExpressionBuilder ne(String key, Object value) {
-        appendTopLevel(key + " != " + serialize(value));
-        return this;
+        return compare(key, "!=", Filter.ExpressionType.NE, value);
     }
 
     public FilterExpressionBuilder gt(String key, Object value) {
-        appendTopLevel(key + " > " + serialize(value));
-        return this;
+        return compare(key, ">", Filter.ExpressionType.GT, value);
     }
 
     public FilterExpressionBuilder gte(String key, Object value) {
-        appendTopLevel(key + " >= " + serialize(value));
-        return this;
+        return compare(key, ">=", Filter.ExpressionType.GTE, value);
     }
 
     public FilterExpressionBuilder lt(String key, Object value) {
-        appendTopLevel(key + " < " + serialize(value));
-        return this;
+        return compare(key, "<", Filter.ExpressionType.LT, value);
     }
 
     public FilterExpressionBuilder lte(String key, Object value) {
-        appendTopLevel(key + " <= " + serialize(value));
-        return this;
+        return compare(key, "<=", Filter.ExpressionType.LTE, value);
     }
 
     // -------------------------------------------------------------------------
@@ -87,7 +137,18 @@ public final class FilterExpressionBuilder {
         String joined = values.stream()
                 .map(FilterExpressionBuilder::serialize)
                 .collect(Collectors.joining(", "));
-        appendTopLevel(key + " in [" + joined + "]");
+        appendTopLevel(
+                key + " in [" + joined + "]",
+                new Filter.Expression(Filter.ExpressionType.IN, new Filter.Key(key), new Filter.Value(normalize(values)))
+        );
+        return this;
+    }
+
+    public FilterExpressionBuilder in(String key, Param values) {
+        appendTopLevel(
+                key + " in " + serialize(values),
+                new Filter.Expression(Filter.ExpressionType.IN, new Filter.Key(key), new Filter.Value(values))
+        );
         return this;
     }
 
@@ -98,7 +159,7 @@ public final class FilterExpressionBuilder {
         String expr = Arrays.stream(parts)
                 .map(FilterExpressionBuilder::build)
                 .collect(Collectors.joining(" || "));
-        appendTopLevel("(" + expr + ")");
+        appendTopLevel("(" + expr + ")", new Filter.Group(combine(Filter.ExpressionType.OR, parts)));
         return this;
     }
 
@@ -106,13 +167,15 @@ public final class FilterExpressionBuilder {
         String expr = Arrays.stream(parts)
                 .map(FilterExpressionBuilder::build)
                 .collect(Collectors.joining(" && "));
-        appendTopLevel("(" + expr + ")");
+        appendTopLevel("(" + expr + ")", new Filter.Group(combine(Filter.ExpressionType.AND, parts)));
         return this;
     }
 
     // Raw injection – mostly for tests where you already know the DSL is valid.
+    // Raw fragments have no typed form, so buildExpression() rejects builders that use them.
     public FilterExpressionBuilder raw(String raw) {
-        appendTopLevel(raw);
+        sb.append(sb.isEmpty() ? "" : " && ").append(raw);
+        operands.add(null);
         return this;
     }
 
@@ -120,8 +183,51 @@ public final class FilterExpressionBuilder {
         return sb.toString().trim();
     }
 
+    /**
+     * Typed equivalent of {@link #build()}; top-level parts are joined with AND.
+     */
+    public Filter.Expression buildExpression() {
+        if (operands.isEmpty()) {
+            throw new IllegalStateException("Filter expression is empty");
+        }
+        if (operands.contains(null)) {
+            throw new IllegalStateException("Raw fragments cannot be converted to a typed filter expression");
+        }
+
+        Filter.Operand result = operands.getFirst();
+        for (int i = 1; i < operands.size(); i++) {
+            result = new Filter.Expression(Filter.ExpressionType.AND, result, operands.get(i));
+        }
+        return unwrap(result);
+    }
+
+    /**
+     * Freezes the current shape so it can be cached and bound with new values per query.
+     */
+    public FilterTemplate template() {
+        return new FilterTemplate(buildExpression());
+    }
+
     @Override
     public String toString() {
         return build();
     }
+
+    private static Filter.Expression combine(Filter.ExpressionType type, FilterExpressionBuilder... parts) {
+        if (parts.length == 0) {
+            throw new IllegalArgumentException("At least one sub-expression is required");
+        }
+        Filter.Operand result = parts[0].buildExpression();
+        for (int i = 1; i < parts.length; i++) {
+            result = new Filter.Expression(type, result, parts[i].buildExpression());
+        }
+        return unwrap(result);
+    }
+
+    private static Filter.Expression unwrap(Filter.Operand operand) {
+        if (operand instanceof Filter.Group group) {
+            return group.content();
+        }
+        return (Filter.Expression) operand;
+    }
 }
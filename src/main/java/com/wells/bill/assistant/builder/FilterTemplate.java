@@ -0,0 +1,48 @@
+package com.wells.bill.assistant.builder;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.Map;
+
+/**
+ * Immutable, pre-built filter shape with named parameters.
+ * Binding only swaps leaf values, so no parsing or builder work happens per query.
+ */
+public final class FilterTemplate {
+
+    private final Filter.Expression shape;
+
+    FilterTemplate(Filter.Expression shape) {
+        this.shape = shape;
+    }
+
+    public Filter.Expression bind(Map<String, ?> params) {
+        return (Filter.Expression) bindOperand(shape, params);
+    }
+
+    private static Filter.Operand bindOperand(Filter.Operand operand, Map<String, ?> params) {
+        if (operand instanceof Filter.Expression expression) {
+            return new Filter.Expression(
+                    expression.type(),
+                    bindOperand(expression.left(), params),
+                    expression.right() == null ? null : bindOperand(expression.right(), params)
+            );
+        }
+        if (operand instanceof Filter.Group group) {
+            return new Filter.Group((Filter.Expression) bindOperand(group.content(), params));
+        }
+        if (operand instanceof Filter.Value value
+                && value.value() instanceof FilterExpressionBuilder.Param param) {
+            if (!params.containsKey(param.name()) || params.get(param.name()) == null) {
+                throw new IllegalArgumentException("Missing filter parameter: " + param.name());
+            }
+            return new Filter.Value(FilterExpressionBuilder.normalize(params.get(param.name())));
+        }
+        return operand;
+    }
+
+    @Override
+    public String toString() {
+        return shape.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.wells.bill.assistant.config;
+
+import com.wells.bill.assistant.service.BillSummaryIndex;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.pgvector.PgVectorStore;
+import org.springframework.ai.vectorstore.pgvector.autoconfigure.PgVectorStoreProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Second pgvector table holding one summary vector per bill.
+ * <p>
+ * Not exposed as a VectorStore bean on purpose: the pgvector auto-configuration
+ * backs off when another PgVectorStore bean exists, and every other component
+ * injects the chunk store by type. Dimensions, distance and index type follow the
+ * chunk store's spring.ai.vectorstore.pgvector settings, since both use the same embeddings.
+ */
+@Configuration
+public class BillSummaryStoreConfig {
+
+    public static final String SUMMARY_TABLE = "bill_summary_store";
+
+    @Bean
+    public BillSummaryIndex billSummaryIndex(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel,
+                                             PgVectorStoreProperties vectorStoreProperties) {
+        PgVectorStore store = PgVectorStore.builder(jdbcTemplate, embeddingModel)
+                .vectorTableName(SUMMARY_TABLE)
+                .dimensions(vectorStoreProperties.getDimensions())
+                .distanceType(vectorStoreProperties.getDistanceType())
+                .indexType(vectorStoreProperties.getIndexType())
+                .initializeSchema(false)
+                .build();
+        return new BillSummaryIndex(store);
+    }
+}
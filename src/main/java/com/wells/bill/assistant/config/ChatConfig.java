@@ -1,44 +1,53 @@
 package com.wells.bill.assistant.config;
 
-import lombok.AllArgsConstructor;
+import com.wells.bill.assistant.service.ConversationSummarizer;
+import com.wells.bill.assistant.store.CompactingChatMemory;
+import com.wells.bill.assistant.store.WriteBehindChatMemoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.client.advisor.SafeGuardAdvisor;
 import org.springframework.ai.chat.client.advisor.SimpleLoggerAdvisor;
 import org.springframework.ai.chat.client.advisor.api.Advisor;
-import org.springframework.ai.chat.client.advisor.vectorstore.QuestionAnswerAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
-import org.springframework.ai.chat.memory.MessageWindowChatMemory;
 import org.springframework.ai.chat.memory.repository.jdbc.JdbcChatMemoryRepository;
-import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
 
 @Configuration
-@AllArgsConstructor
 public class ChatConfig {
 
-    private final VectorStore vectorStore;
+    // In-process tier for active conversations; JDBC is written behind by ChatMemoryFlushScheduler
+    @Bean
+    public WriteBehindChatMemoryRepository writeBehindChatMemoryRepository(JdbcChatMemoryRepository jdbcChatMemoryRepository,
+                                                                           ChatMemoryProperties properties,
+                                                                           MeterRegistry meterRegistry) {
+        return new WriteBehindChatMemoryRepository(
+                jdbcChatMemoryRepository,
+                properties.getMaxCachedConversations(),
+                properties.getFlushBatchSize(),
+                meterRegistry
+        );
+    }
 
+    // Running summary + last turns verbatim instead of a raw message window
     @Bean(name = "chatMemory")
-    public ChatMemory chatMemory(JdbcChatMemoryRepository chatMemoryRepository) {
-        return MessageWindowChatMemory.builder()
-                .chatMemoryRepository(chatMemoryRepository)
-                .maxMessages(20)
-                .build();
+    public ChatMemory chatMemory(WriteBehindChatMemoryRepository chatMemoryRepository,
+                                 ConversationSummarizer conversationSummarizer,
+                                 ChatMemoryProperties properties,
+                                 MeterRegistry meterRegistry) {
+        return new CompactingChatMemory(chatMemoryRepository, conversationSummarizer, properties, meterRegistry);
     }
 
     @Bean
-    public ChatClient chatClient(ChatClient.Builder builder, @Qualifier("chatMemory") ChatMemory chatMemory) {
+    public ChatClient chatClient(ChatClient.Builder builder) {
 
         Advisor[] advisors = {
                 new SimpleLoggerAdvisor(),
-                new SafeGuardAdvisor(List.of("This is a safe guard message.")),
-                MessageChatMemoryAdvisor.builder(chatMemory).build(),
-                QuestionAnswerAdvisor.builder(vectorStore).build()
+                new SafeGuardAdvisor(List.of("This is a safe guard message."))
+                // Memory and retrieval are added per request by OrchestratorService: memory so a retried
+                // model attempt does not store the turn twice, retrieval so it can be scoped to the user
         };
 
         return builder.defaultAdvisors(advisors).build();
@@ -0,0 +1,23 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.chat.deadline")
+public class ChatDeadlineProperties {
+    // Budget for one request / response chat turn, from arrival at ChatController to the answer
+    private Duration sync = Duration.ofSeconds(45);
+    // Budget for one streamed turn; tokens already sent are kept when it runs out
+    private Duration stream = Duration.ofSeconds(90);
+    // Extra time the HTTP layer waits past the deadline for the graceful answer
+    private Duration responseGrace = Duration.ofSeconds(5);
+    // Upper bound for one SQL statement inside a turn (remaining budget if smaller)
+    private Duration maxStatement = Duration.ofSeconds(10);
+    // An SMTP send is not started with less budget than this left
+    private Duration minMailBudget = Duration.ofSeconds(2);
+}
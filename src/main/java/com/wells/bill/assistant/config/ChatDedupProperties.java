@@ -0,0 +1,32 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.chat.dedup")
+public class ChatDedupProperties {
+    // Off → every submission runs its own turn
+    private boolean enabled = true;
+    // How long a finished answer stays readable for nodes already waiting on it (never for new submissions)
+    private Duration window = Duration.ofSeconds(10);
+    // Never coalesced: repeating these is meaningful (a new code, a second payment, another "ok")
+    private Set<String> excludedIntents = Set.of("confirmation_code", "payment_action", "small_talk");
+
+    private Cluster cluster = new Cluster();
+
+    @Data
+    public static class Cluster {
+        // On → identical submissions landing on different nodes share one turn via Postgres
+        private boolean enabled = false;
+        // How often a waiting node checks whether the owning node has answered
+        private Duration pollInterval = Duration.ofMillis(200);
+        // A claim older than this is treated as abandoned (owner crashed) and taken over
+        private Duration lease = Duration.ofMinutes(2);
+    }
+}
@@ -0,0 +1,34 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.chat-memory")
+public class ChatMemoryProperties {
+    // Messages kept per conversation by MessageWindowChatMemory
+    private int maxMessages = 20;
+    // Conversations held in the in-process tier before LRU eviction
+    private int maxCachedConversations = 10_000;
+    // Max dirty conversations written to JDBC per flush run
+    private int flushBatchSize = 500;
+    // Hard cap on stored unsummarized messages when compaction is on but has not caught up (or keeps failing)
+    private int maxStoredMessages = 100;
+
+    private Compaction compaction = new Compaction();
+
+    @Data
+    public static class Compaction {
+        private boolean enabled = true;
+        // Most recent messages always sent verbatim
+        private int keepRecentMessages = 6;
+        // Older, not yet summarized messages that trigger a summary refresh
+        private int compactAfterMessages = 6;
+        // Upper bound for the running summary
+        private int summaryMaxTokens = 300;
+        // Summaries refreshed at the same time across all conversations
+        private int maxConcurrentSummaries = 4;
+    }
+}
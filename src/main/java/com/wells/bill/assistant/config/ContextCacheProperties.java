@@ -0,0 +1,19 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.context.cache")
+public class ContextCacheProperties {
+    // Contexts held in process before LRU eviction
+    private int maxEntries = 10_000;
+    // A cached context is re-read from Postgres after this long (picks up resets made by other nodes)
+    private Duration revalidateAfter = Duration.ofMinutes(1);
+    // Max lastAccessTime updates sent per JDBC batch
+    private int flushBatchSize = 1000;
+}
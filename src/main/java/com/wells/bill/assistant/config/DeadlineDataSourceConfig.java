@@ -0,0 +1,39 @@
+package com.wells.bill.assistant.config;
+
+import com.wells.bill.assistant.store.DeadlineAwareDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts {@link DeadlineAwareDataSource} in front of the DataSource bean, so every query
+ * issued inside a chat turn is bounded by the turn's remaining budget.
+ */
+@Configuration
+public class DeadlineDataSourceConfig {
+
+    // Static + bound from the Environment: post-processors are created before @ConfigurationProperties beans
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor(Environment environment,
+                                                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        ChatDeadlineProperties properties = Binder.get(environment)
+                .bind("assistant.chat.deadline", ChatDeadlineProperties.class)
+                .orElseGet(ChatDeadlineProperties::new);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineAwareDataSource)) {
+                    return new DeadlineAwareDataSource(dataSource, properties.getMaxStatement(), meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
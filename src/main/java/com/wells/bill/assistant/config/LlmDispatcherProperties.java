@@ -0,0 +1,30 @@
+package com.wells.bill.assistant.config;
+
+import com.wells.bill.assistant.model.LlmPriority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.llm.dispatcher")
+public class LlmDispatcherProperties {
+    // LLM calls in flight across the whole app (provider quota / latency knee)
+    private int maxConcurrent = 8;
+    // Calls allowed to wait for a slot; beyond this the lowest priority is shed
+    private int maxQueued = 100;
+    // How long a call may wait for a slot, per priority class
+    private Map<LlmPriority, Duration> queueTimeout = new EnumMap<>(Map.of(
+            LlmPriority.INTERACTIVE, Duration.ofSeconds(10),
+            LlmPriority.INGESTION, Duration.ofSeconds(60),
+            LlmPriority.ANALYTICS, Duration.ofSeconds(120)
+    ));
+
+    public Duration queueTimeoutFor(LlmPriority priority) {
+        return queueTimeout.getOrDefault(priority, Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,62 @@
+package com.wells.bill.assistant.config;
+
+import com.wells.bill.assistant.loadtest.LlmRecordingStore;
+import com.wells.bill.assistant.loadtest.RecordingChatModel;
+import com.wells.bill.assistant.loadtest.RecordingEmbeddingModel;
+import com.wells.bill.assistant.loadtest.RecordingToolCallingManager;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wraps the ChatModel, EmbeddingModel and ToolCallingManager beans for record/replay when
+ * assistant.llm.recording.mode is RECORD or REPLAY; a no-op otherwise.
+ * <p>
+ * Runs before the other post-processors, so the recorder sits directly on the real
+ * model and the query-embedding cache (QueryEmbeddingConfig) wraps it from outside.
+ */
+@Configuration
+public class LlmRecordingConfig {
+
+    // Static + bound from the Environment: post-processors are created before @ConfigurationProperties beans
+    @Bean
+    public static BeanPostProcessor llmRecordingPostProcessor(Environment environment) {
+        LlmRecordingProperties properties = Binder.get(environment)
+                .bind("assistant.llm.recording", LlmRecordingProperties.class)
+                .orElseGet(LlmRecordingProperties::new);
+
+        if (properties.getMode() == LlmRecordingProperties.Mode.OFF) {
+            return new BeanPostProcessor() {
+            };
+        }
+        return new RecordingPostProcessor(new LlmRecordingStore(properties));
+    }
+
+    private record RecordingPostProcessor(LlmRecordingStore store) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ChatModel chatModel && !(bean instanceof RecordingChatModel)) {
+                return new RecordingChatModel(chatModel, store);
+            }
+            if (bean instanceof EmbeddingModel embeddingModel && !(bean instanceof RecordingEmbeddingModel)) {
+                return new RecordingEmbeddingModel(embeddingModel, store);
+            }
+            if (bean instanceof ToolCallingManager toolCallingManager && !(bean instanceof RecordingToolCallingManager)) {
+                return new RecordingToolCallingManager(toolCallingManager, store);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
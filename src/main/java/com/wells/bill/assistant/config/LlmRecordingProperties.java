@@ -0,0 +1,27 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.llm.recording")
+public class LlmRecordingProperties {
+    // OFF in normal operation; RECORD captures exchanges, REPLAY serves them back
+    private Mode mode = Mode.OFF;
+    // Append-only JSONL file, one exchange per line
+    private Path file = Path.of("recordings/llm-exchanges.jsonl");
+    // REPLAY: sleep for the recorded latency so timings match production
+    private boolean replayTimings = true;
+    // REPLAY: call the real model when a prompt was never recorded (otherwise fail the call)
+    private boolean passthroughOnMiss = false;
+    // RECORD: write the (regex-redacted) prompt text instead of per-part hashes; may contain names and addresses
+    private boolean recordPromptText = false;
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+}
@@ -0,0 +1,30 @@
+package com.wells.bill.assistant.config;
+
+import com.wells.bill.assistant.loadtest.HashEmbeddingModel;
+import com.wells.bill.assistant.loadtest.ScriptedChatModel;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Replaces the Vertex AI models with local, deterministic stand-ins so chat and ingestion
+ * throughput can be measured against a local Postgres/pgvector without cloud credentials.
+ * Activate with: --spring.profiles.active=local,loadtest
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestModelConfig {
+
+    @Bean
+    public EmbeddingModel embeddingModel(LoadTestProperties properties) {
+        return new HashEmbeddingModel(properties.getEmbedding());
+    }
+
+    @Bean
+    public ChatModel chatModel(LoadTestProperties properties, ToolCallingManager toolCallingManager) {
+        return new ScriptedChatModel(properties.getChat(), toolCallingManager);
+    }
+}
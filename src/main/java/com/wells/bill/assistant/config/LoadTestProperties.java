@@ -0,0 +1,99 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Local model stand-ins used by the "loadtest" profile (see LoadTestModelConfig).
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.loadtest")
+public class LoadTestProperties {
+
+    private Embedding embedding = new Embedding();
+    private Chat chat = new Chat();
+
+    @Data
+    public static class Embedding {
+        // Must match spring.ai.vectorstore.pgvector.dimensions
+        private int dimensions = 768;
+        // Simulated embedding API time per call
+        private Latency latency = new Latency();
+    }
+
+    @Data
+    public static class Chat {
+        // Base seed; each simulated user gets its own sequence derived from it and the user id
+        private long seed = 42;
+        // Answer for turns no script matches
+        private String defaultText = "Here is a summary of your bills.";
+        // Time to first token / full answer per model turn
+        private Latency latency = new Latency();
+        // Gap between streamed tokens
+        private Duration tokenInterval = Duration.ZERO;
+        // Checked in order against the latest user message; first match wins
+        private List<Script> scripts = new ArrayList<>();
+    }
+
+    @Data
+    public static class Script {
+        // Regex, matched case-insensitively anywhere in the user message
+        private String match;
+        // Final answer (after tool calls, when there are any)
+        private String text;
+        // Tools the model "decides" to call first; unknown names for the turn are dropped
+        private List<ToolCall> toolCalls = new ArrayList<>();
+        // Optional per-script latency override
+        private Latency latency;
+    }
+
+    @Data
+    public static class ToolCall {
+        private String name;
+        private String arguments = "{}";
+    }
+
+    @Data
+    public static class Latency {
+        private Distribution distribution = Distribution.FIXED;
+        private Duration mean = Duration.ZERO;
+        // NORMAL / LOG_NORMAL spread; UNIFORM uses min..max
+        private Duration stddev = Duration.ZERO;
+        private Duration min = Duration.ZERO;
+        private Duration max = Duration.ofSeconds(30);
+
+        public Duration sample(RandomGenerator random) {
+            double meanMs = mean.toMillis();
+            double stddevMs = stddev.toMillis();
+
+            double ms = switch (distribution) {
+                case FIXED -> meanMs;
+                case UNIFORM -> min.toMillis() + random.nextDouble() * (max.toMillis() - min.toMillis());
+                case NORMAL -> meanMs + random.nextGaussian() * stddevMs;
+                case LOG_NORMAL -> {
+                    if (meanMs <= 0) {
+                        yield 0;
+                    }
+                    // Parameters chosen so the samples have the configured mean and stddev
+                    double variance = Math.log(1 + (stddevMs * stddevMs) / (meanMs * meanMs));
+                    double mu = Math.log(meanMs) - variance / 2;
+                    yield Math.exp(mu + Math.sqrt(variance) * random.nextGaussian());
+                }
+            };
+
+            long clamped = Math.max(min.toMillis(), Math.min(max.toMillis(), Math.round(ms)));
+            return Duration.ofMillis(clamped);
+        }
+    }
+
+    public enum Distribution {
+        FIXED, UNIFORM, NORMAL, LOG_NORMAL
+    }
+}
@@ -0,0 +1,47 @@
+package com.wells.bill.assistant.config;
+
+import com.wells.bill.assistant.model.ModelTier;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.llm.routing")
+public class ModelRoutingProperties {
+    // Off → every request goes to the LARGE model
+    private boolean enabled = true;
+    // Model name, temperature and price per tier (LARGE without a model keeps the configured default)
+    private Map<ModelTier, Model> models = new EnumMap<>(ModelTier.class);
+
+    /* ---------- Chat heuristics: all must hold for FAST ---------- */
+
+    // Longer messages usually carry several asks or need reasoning
+    private int fastMaxMessageChars = 160;
+    // Many routed tools → the model has to plan across them
+    private int fastMaxTools = 8;
+    // Intent classes (RetrievalIntentClassifier reasons) that are safe on the fast model
+    private Set<String> fastIntents = Set.of(
+            "confirmation_code", "small_talk", "payment_action", "verify_action",
+            "bill_listing", "payment_listing", "totals", "overview");
+    // Never re-run on LARGE after a failed FAST attempt: that attempt may already have sent an OTP or paid
+    private Set<String> noEscalationIntents = Set.of("confirmation_code", "payment_action");
+
+    @Data
+    public static class Model {
+        private String name;
+        private Double temperature;
+        // Used for the llm.model.cost metric only
+        private BigDecimal costPer1kInputTokens = BigDecimal.ZERO;
+        private BigDecimal costPer1kOutputTokens = BigDecimal.ZERO;
+    }
+
+    public Model model(ModelTier tier) {
+        return models.getOrDefault(tier, new Model());
+    }
+}
@@ -0,0 +1,52 @@
+package com.wells.bill.assistant.config;
+
+import com.wells.bill.assistant.store.CachingEmbeddingModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Puts {@link CachingEmbeddingModel} in front of the EmbeddingModel bean, so every
+ * vector store query embedding goes through the LRU + micro-batcher.
+ * <p>
+ * Runs after every other post-processor, so the cache is always the outermost wrapper:
+ * a wrapper around it (e.g. the loadtest recorder) would turn {@code embed(String)} into a
+ * multi-text {@code call} and bypass the cache.
+ */
+@Configuration
+public class QueryEmbeddingConfig {
+
+    // Static + bound from the Environment: post-processors are created before @ConfigurationProperties beans
+    @Bean
+    public static BeanPostProcessor queryEmbeddingPostProcessor(Environment environment,
+                                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        QueryEmbeddingProperties properties = Binder.get(environment)
+                .bind("assistant.embedding.query", QueryEmbeddingProperties.class)
+                .orElseGet(QueryEmbeddingProperties::new);
+
+        return new CachingPostProcessor(properties, meterRegistry);
+    }
+
+    private record CachingPostProcessor(QueryEmbeddingProperties properties,
+                                        ObjectProvider<MeterRegistry> meterRegistry) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (properties.isEnabled() && bean instanceof EmbeddingModel model && !(bean instanceof CachingEmbeddingModel)) {
+                return new CachingEmbeddingModel(model, properties, meterRegistry.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.embedding.query")
+public class QueryEmbeddingProperties {
+    // Off → single-text embeddings go straight to the model
+    private boolean enabled = true;
+    // LRU entries (768 floats ≈ 3 KB each)
+    private int cacheSize = 10000;
+    // How long the first miss waits for others to join its batch
+    private Duration batchWindow = Duration.ofMillis(5);
+    // A batch is sent as soon as it is this large
+    private int maxBatchSize = 32;
+    // Longest a caller waits for its vector (less when its chat turn has less budget left)
+    private Duration maxWait = Duration.ofSeconds(10);
+}
@@ -0,0 +1,25 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.chat.response-cache")
+public class ResponseCacheProperties {
+    // Off → every non fast-path turn goes to the LLM
+    private boolean enabled = true;
+    // Minimum cosine similarity between question embeddings for a hit
+    private double similarityThreshold = 0.92;
+    // Answers kept per user, oldest dropped first
+    private int maxEntriesPerUser = 50;
+    // Users held before LRU eviction
+    private int maxUsers = 10_000;
+    // Upper bound even without a data change
+    private Duration ttl = Duration.ofMinutes(30);
+    // Cap for answers that mention relative dates ("due in 3 days", "overdue"); never past midnight either
+    private Duration relativeDateTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,19 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.retrieval")
+public class RetrievalProperties {
+    // Stage 1: bills picked from bill_summary_store per question
+    private int summaryTopK = 3;
+    // Stage 2: chunks kept per selected bill
+    private int chunksPerBill = 2;
+    // Flat chunk search (no summaries yet for the user's bills)
+    private int defaultTopK = 4;
+    // Flat chunk search when self-querying filters were extracted
+    private int filteredTopK = 3;
+}
@@ -0,0 +1,15 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.tools.execution")
+public class ToolExecutionProperties {
+    // Run independent read-only tool calls from one model response concurrently
+    private boolean parallel = true;
+    // Read-only tool invocations running at once across all turns (each holds a DB connection)
+    private int maxConcurrent = 8;
+}
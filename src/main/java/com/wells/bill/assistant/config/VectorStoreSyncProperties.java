@@ -0,0 +1,17 @@
+package com.wells.bill.assistant.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "assistant.vector-store.sync")
+public class VectorStoreSyncProperties {
+    // Max bill ids per DELETE / UPDATE round trip against vector_store
+    private int batchSize = 200;
+    // Max chunks removed per statement by the orphan compaction job
+    private int compactionBatchSize = 1000;
+    // A bill whose summary backfill failed this many times is skipped until someone looks at it
+    private int summaryBackfillMaxAttempts = 5;
+}
@@ -3,18 +3,33 @@
 // ============================
 package com.wells.bill.assistant.controller;
 
+import com.wells.bill.assistant.config.ChatDeadlineProperties;
+import com.wells.bill.assistant.exception.InvalidUserInputException;
+import com.wells.bill.assistant.exception.TurnCancelledException;
 import com.wells.bill.assistant.model.ChatRequest;
+import com.wells.bill.assistant.model.ChatStreamEvent;
 import com.wells.bill.assistant.model.Context;
 import com.wells.bill.assistant.service.ContextFacade;
 import com.wells.bill.assistant.service.OrchestratorService;
+import com.wells.bill.assistant.util.CancellationToken;
+import com.wells.bill.assistant.util.Deadline;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.wells.bill.assistant.util.CookieGenerator.CONTEXT_COOKIE;
 import static com.wells.bill.assistant.util.CookieGenerator.USER_COOKIE;
@@ -28,9 +43,18 @@ public class ChatController {
 
     private final OrchestratorService orchestrator;
     private final ContextFacade contextFacade;
+    private final ChatDeadlineProperties deadlineProperties;
 
+    private final ExecutorService turnExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Runs the turn off the servlet thread. A client that disconnects (closed tab, retry)
+     * or a timeout cancels it: the model call is interrupted and pending tools are skipped.
+     * The turn's deadline starts here; past it the orchestrator answers with an apology,
+     * and the HTTP timeout only fires if even that does not arrive within the grace period.
+     */
     @PostMapping
-    public ResponseEntity<String> chat(
+    public DeferredResult<ResponseEntity<String>> chat(
             @RequestBody String userMessage,
             @CookieValue(value = CONTEXT_COOKIE, required = false) String rawContextId,
             @CookieValue(value = USER_COOKIE, required = false) String rawUserId,
@@ -41,21 +65,21 @@ public class ChatController {
         log.info("Received chat request from User= {}, conversationId= {}", context.userId(), context.conversationId());
 
         if (context.conversationId() == null) {
-            return ResponseEntity
+            return completed(ResponseEntity
                     .badRequest()
-                    .body("ConversationId cannot be empty");
+                    .body("ConversationId cannot be empty"));
         }
 
         if (context.userId() == null) {
-            return ResponseEntity
+            return completed(ResponseEntity
                     .badRequest()
-                    .body("UserId cannot be empty");
+                    .body("UserId cannot be empty"));
         }
 
         if (userMessage == null || userMessage.isBlank()) {
-            return ResponseEntity
+            return completed(ResponseEntity
                     .badRequest()
-                    .body("Message cannot be empty");
+                    .body("Message cannot be empty"));
         }
 
         ChatRequest request = new ChatRequest(
@@ -65,12 +89,120 @@ public class ChatController {
         );
 
         // 3️⃣ Call Orchestrator Service
-        String reply = orchestrator.processMessage(request);
-        return ResponseEntity.ok(reply);
+        DeferredResult<ResponseEntity<String>> result = new DeferredResult<>(
+                deadlineProperties.getSync().plus(deadlineProperties.getResponseGrace()).toMillis());
+        CancellationToken cancellation = new CancellationToken(Deadline.after(deadlineProperties.getSync()));
+
+        Future<?> turn = turnExecutor.submit(() -> {
+            try {
+                result.setResult(ResponseEntity.ok(orchestrator.processMessage(request, cancellation)));
+            } catch (TurnCancelledException e) {
+                log.info("Chat turn for conversationId= {} cancelled: {}", context.conversationId(), e.getReason());
+            } catch (Exception e) {
+                result.setErrorResult(e);
+            } finally {
+                cancellation.close();
+            }
+        });
+
+        // Tomcat reports a client that went away mid-request as an async error
+        result.onError(e -> cancellation.cancel(CancellationToken.CLIENT_DISCONNECTED));
+        result.onTimeout(() -> cancellation.cancel(CancellationToken.TIMEOUT));
+        // Covers a turn still waiting for a thread
+        cancellation.onCancel(() -> turn.cancel(false));
+        // A turn that never started has no finally of its own
+        result.onCompletion(() -> {
+            if (turn.isCancelled()) {
+                cancellation.close();
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Same turn as {@link #chat}, streamed as Server-Sent Events:
+     * token* / tool* interleaved, then done (or turn_error); each data field is {"text": "..."}.
+     */
+    @PostMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestBody String userMessage,
+            @CookieValue(value = CONTEXT_COOKIE, required = false) String rawContextId,
+            @CookieValue(value = USER_COOKIE, required = false) String rawUserId,
+            HttpServletResponse response
+    ) {
+        Context context = contextFacade.resolveContext(rawContextId, rawUserId, response);
+
+        log.info("Received streaming chat request from User= {}, conversationId= {}", context.userId(), context.conversationId());
+
+        if (context.conversationId() == null) {
+            throw new InvalidUserInputException("ConversationId cannot be empty");
+        }
+        if (context.userId() == null) {
+            throw new InvalidUserInputException("UserId cannot be empty");
+        }
+        if (userMessage == null || userMessage.isBlank()) {
+            throw new InvalidUserInputException("Message cannot be empty");
+        }
+
+        ChatRequest request = new ChatRequest(
+                context.conversationId(),
+                userMessage.trim(),
+                context.userId()
+        );
+
+        SseEmitter emitter = new SseEmitter(deadlineProperties.getStream().plus(deadlineProperties.getResponseGrace()).toMillis());
+
+        CancellationToken cancellation = new CancellationToken(Deadline.after(deadlineProperties.getStream()));
+
+        Disposable subscription = orchestrator.streamMessage(request, cancellation)
+                // Finished, failed or disposed: the deadline must not fire on it any more
+                .doFinally(signal -> cancellation.close())
+                .subscribe(
+                        event -> send(emitter, event, cancellation),
+                        emitter::completeWithError,
+                        emitter::complete
+                );
+
+        // Past the deadline the orchestrator ends the stream itself, keeping what was sent
+        cancellation.onCancel(() -> {
+            if (!cancellation.isDeadlineExceeded()) {
+                subscription.dispose();
+            }
+        });
+        emitter.onTimeout(() -> cancellation.cancel(CancellationToken.TIMEOUT));
+        emitter.onError(e -> cancellation.cancel(CancellationToken.CLIENT_DISCONNECTED));
+
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        turnExecutor.shutdown();
     }
 
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
         return ResponseEntity.ok(Map.of("status", "Chat service is healthy"));
     }
+
+    private static <T> DeferredResult<T> completed(T value) {
+        DeferredResult<T> result = new DeferredResult<>();
+        result.setResult(value);
+        return result;
+    }
+
+    private static void send(SseEmitter emitter, ChatStreamEvent event, CancellationToken cancellation) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(event.type())
+                    // JSON keeps leading spaces of a token intact
+                    .data(event.payload(), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            // Client went away → stop the model stream and pending tools
+            log.debug("Failed to send SSE event: {}", e.getMessage());
+            cancellation.cancel(CancellationToken.CLIENT_DISCONNECTED);
+            emitter.completeWithError(e);
+        }
+    }
 }
@@ -91,7 +91,7 @@ public class IngestController {
 
     private BillDetail extractEssentialDetailsAndIngest(String rawText, List<Document> documents, UUID userId) {
         log.info("Extracting essential bill details using rule based parsing =>>>");
-        BillParseResult parseResult = billParser.parse(rawText);
+        BillParseResult parseResult = billParser.parse(rawText, userId);
 
         BillDetail resultBill = parseResult.bill();
 
@@ -0,0 +1,17 @@
+package com.wells.bill.assistant.event;
+
+import com.wells.bill.assistant.model.BillStatus;
+
+import java.util.UUID;
+
+/**
+ * Published by BillService whenever a bill moves to a new status.
+ * Listeners that touch external state should react after commit.
+ */
+public record BillStatusChangedEvent(
+        UUID billId,
+        UUID userId,
+        BillStatus previousStatus,
+        BillStatus status
+) {
+}
@@ -0,0 +1,13 @@
+package com.wells.bill.assistant.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a bill is created, its details are edited or its document is ingested.
+ * Status transitions have their own {@link BillStatusChangedEvent}.
+ */
+public record BillUpdatedEvent(
+        UUID billId,
+        UUID userId
+) {
+}
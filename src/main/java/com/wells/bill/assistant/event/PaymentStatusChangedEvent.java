@@ -0,0 +1,18 @@
+package com.wells.bill.assistant.event;
+
+import com.wells.bill.assistant.model.PaymentStatus;
+
+import java.util.UUID;
+
+/**
+ * Published by PaymentService when a payment is created or moves to a new status
+ * (previousStatus is null for a new payment).
+ * Listeners that touch external state should react after commit.
+ */
+public record PaymentStatusChangedEvent(
+        UUID paymentId,
+        UUID userId,
+        PaymentStatus previousStatus,
+        PaymentStatus status
+) {
+}
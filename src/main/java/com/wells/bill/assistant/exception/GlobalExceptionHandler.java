@@ -3,6 +3,7 @@ package com.wells.bill.assistant.exception;
 import com.wells.bill.assistant.model.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -118,4 +119,12 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(LlmOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleLlmOverloaded(LlmOverloadedException ex) {
+        log.warn("LLM admission rejected: priority={}, message={}", ex.getPriority(), ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse(ex.getMessage(), false));
+    }
 }
@@ -0,0 +1,17 @@
+package com.wells.bill.assistant.exception;
+
+import com.wells.bill.assistant.model.LlmPriority;
+
+public class LlmOverloadedException extends RuntimeException {
+
+    private final LlmPriority priority;
+
+    public LlmOverloadedException(String message, LlmPriority priority) {
+        super(message);
+        this.priority = priority;
+    }
+
+    public LlmPriority getPriority() {
+        return priority;
+    }
+}
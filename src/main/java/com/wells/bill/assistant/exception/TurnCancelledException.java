@@ -0,0 +1,19 @@
+package com.wells.bill.assistant.exception;
+
+/**
+ * Thrown inside a chat turn once its {@code CancellationToken} has been cancelled,
+ * e.g. because the client disconnected; unwinds the model call and the tool loop.
+ */
+public class TurnCancelledException extends RuntimeException {
+
+    private final String reason;
+
+    public TurnCancelledException(String reason) {
+        super("Chat turn cancelled: " + reason);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
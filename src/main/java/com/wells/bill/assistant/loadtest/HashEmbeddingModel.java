@@ -0,0 +1,100 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LoadTestProperties;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Deterministic stand-in for the Vertex AI embedding model.
+ * <p>
+ * Words and word bigrams are feature-hashed into a vector of the configured dimension
+ * and L2-normalised, so the same text always gets the same vector and texts sharing
+ * words land close together under cosine distance. Good enough to exercise pgvector
+ * and the retrieval path; not a measure of answer quality.
+ */
+public class HashEmbeddingModel implements EmbeddingModel {
+
+    private final int dimensions;
+    private final LoadTestProperties.Latency latency;
+    private final Random random = new Random(7);
+
+    public HashEmbeddingModel(LoadTestProperties.Embedding properties) {
+        this.dimensions = properties.getDimensions();
+        this.latency = properties.getLatency();
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        LoadTestLatency.pause(latency.sample(random));
+
+        List<Embedding> embeddings = new ArrayList<>(request.getInstructions().size());
+        for (int i = 0; i < request.getInstructions().size(); i++) {
+            embeddings.add(new Embedding(vector(request.getInstructions().get(i)), i));
+        }
+        return new EmbeddingResponse(embeddings);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return call(new EmbeddingRequest(List.of(document.getFormattedContent()), null))
+                .getResult()
+                .getOutput();
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    float[] vector(String text) {
+        float[] vector = new float[dimensions];
+        String[] words = text == null ? new String[0] : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+
+        String previous = null;
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            add(vector, word, 1f);
+            if (previous != null) {
+                add(vector, previous + ' ' + word, 0.5f);
+            }
+            previous = word;
+        }
+
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        if (norm == 0) {
+            vector[0] = 1f;
+            return vector;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    // String.hashCode is fixed by the JLS, so vectors are stable across JVMs and runs
+    private void add(float[] vector, String feature, float weight) {
+        long h = mix(feature.hashCode());
+        int index = (int) Long.remainderUnsigned(h, dimensions);
+        vector[index] += (h & (1L << 63)) == 0 ? weight : -weight;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
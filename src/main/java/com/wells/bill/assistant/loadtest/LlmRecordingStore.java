@@ -0,0 +1,158 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wells.bill.assistant.config.LlmRecordingProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Append-only JSONL log of model exchanges and tool round-trips (RECORD) and the
+ * prompt-hash index served back from it (REPLAY). Identical prompts recorded several
+ * times are replayed in recorded order; the last one is reused once the others are used up.
+ * Prompts are written as per-part fingerprints unless {@code record-prompt-text} is set.
+ */
+@Slf4j
+public class LlmRecordingStore {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Exchange(
+            String type,
+            String key,
+            Instant recordedAt,
+            long latencyMs,
+            Long firstTokenMs,
+            List<String> prompt,
+            String text,
+            List<String> chunks,
+            List<RecordedToolCall> toolCalls,
+            String finishReason,
+            Integer promptTokens,
+            Integer completionTokens,
+            List<float[]> vectors
+    ) {
+    }
+
+    public record RecordedToolCall(String id, String type, String name, String arguments) {
+    }
+
+    public static final String CHAT = "chat";
+    public static final String EMBEDDING = "embedding";
+    public static final String TOOL = "tool";
+
+    private final LlmRecordingProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Map<String, Deque<Exchange>> replayIndex = new HashMap<>();
+
+    public LlmRecordingStore(LlmRecordingProperties properties) {
+        this.properties = properties;
+        if (properties.getMode() == LlmRecordingProperties.Mode.REPLAY) {
+            load();
+        }
+    }
+
+    public LlmRecordingProperties.Mode mode() {
+        return properties.getMode();
+    }
+
+    public boolean replayTimings() {
+        return properties.isReplayTimings();
+    }
+
+    public boolean passthroughOnMiss() {
+        return properties.isPassthroughOnMiss();
+    }
+
+    /* ==================== RECORD ==================== */
+
+    /**
+     * What of a redacted prompt goes into the file: the text only when opted in, else its structure and hashes.
+     */
+    public List<String> promptForFile(List<String> redactedPrompt) {
+        if (properties.isRecordPromptText()) {
+            return redactedPrompt;
+        }
+        return redactedPrompt.stream().map(PromptRedactor::fingerprint).toList();
+    }
+
+    public synchronized void append(Exchange exchange) {
+        try {
+            Files.createDirectories(properties.getFile().toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(properties.getFile(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(objectMapper.writeValueAsString(exchange));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            // Recording is diagnostics only; never fail the user's call over it
+            log.warn("Failed to record {} exchange: {}", exchange.type(), e.getMessage());
+        }
+    }
+
+    /* ==================== REPLAY ==================== */
+
+    public synchronized Optional<Exchange> replay(String key) {
+        Deque<Exchange> exchanges = replayIndex.get(key);
+        if (exchanges == null || exchanges.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(exchanges.size() > 1 ? exchanges.pollFirst() : exchanges.peekFirst());
+    }
+
+    public synchronized OptionalInt recordedDimensions() {
+        return replayIndex.values().stream()
+                .flatMap(Collection::stream)
+                .filter(e -> EMBEDDING.equals(e.type()) && e.vectors() != null && !e.vectors().isEmpty())
+                .mapToInt(e -> e.vectors().getFirst().length)
+                .findFirst();
+    }
+
+    private void load() {
+        if (!Files.exists(properties.getFile())) {
+            log.warn("LLM replay file {} not found; every call will miss", properties.getFile());
+            return;
+        }
+        try (var lines = Files.lines(properties.getFile(), StandardCharsets.UTF_8)) {
+            lines.filter(line -> !line.isBlank()).forEach(line -> {
+                try {
+                    Exchange exchange = objectMapper.readValue(line, Exchange.class);
+                    replayIndex.computeIfAbsent(exchange.key(), k -> new ArrayDeque<>()).addLast(exchange);
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable recorded exchange: {}", e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load LLM replay file " + properties.getFile(), e);
+        }
+        log.info("Loaded {} recorded prompt keys from {}", replayIndex.size(), properties.getFile());
+    }
+
+    /* ==================== KEYS ==================== */
+
+    public static String key(String type, List<String> redactedPrompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(type.getBytes(StandardCharsets.UTF_8));
+            for (String part : redactedPrompt) {
+                digest.update((byte) '\n');
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
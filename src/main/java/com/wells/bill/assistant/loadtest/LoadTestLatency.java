@@ -0,0 +1,21 @@
+package com.wells.bill.assistant.loadtest;
+
+import java.time.Duration;
+
+final class LoadTestLatency {
+
+    private LoadTestLatency() {
+    }
+
+    // Blocking on purpose: the real Vertex clients block the calling (virtual) thread too
+    static void pause(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.wells.bill.assistant.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Strips user PII and confirmation codes from recorded prompts and responses.
+ * Also makes prompt hashes stable across users: two users asking the same question
+ * over the same kind of data produce the same redacted prompt.
+ * <p>
+ * Regexes cannot catch names, street addresses or local phone numbers in free text, so
+ * prompt parts are written to the recording file only as {@link #fingerprint}s unless
+ * raw text was opted in. Tool call arguments refer to values of the prompt through
+ * numbered references ({@link #toReferences}) that replay maps back to the values of the
+ * prompt being replayed.
+ */
+final class PromptRedactor {
+
+    private static final Pattern UUID = Pattern.compile(
+            "\\b[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\b");
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+");
+    private static final Pattern PII_JSON_FIELD = Pattern.compile(
+            "\"(consumerName|consumerNumber|serviceNumber|customerName|email|phone|address)\"\\s*:\\s*\"[^\"]*\"");
+    private static final Pattern PHONE = Pattern.compile("\\+\\d{1,3}[\\s-]?\\d{10}\\b");
+    private static final Pattern CONFIRMATION_CODE = Pattern.compile("\\b\\d{6}\\b");
+    private static final Pattern LONG_NUMBER = Pattern.compile("\\b\\d{7,}\\b");
+    // The values redact() replaces
+    private static final Pattern VALUE = Pattern.compile(String.join("|",
+            UUID.pattern(), EMAIL.pattern(), PHONE.pattern(), LONG_NUMBER.pattern(), CONFIRMATION_CODE.pattern()));
+    private static final Pattern REFERENCE = Pattern.compile("\\{\\{v(\\d+)}}");
+
+    private PromptRedactor() {
+    }
+
+    static String redact(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        String redacted = UUID.matcher(text).replaceAll("<id>");
+        redacted = EMAIL.matcher(redacted).replaceAll("<email>");
+        redacted = PII_JSON_FIELD.matcher(redacted).replaceAll("\"$1\":\"<redacted>\"");
+        redacted = PHONE.matcher(redacted).replaceAll("<phone>");
+        redacted = CONFIRMATION_CODE.matcher(redacted).replaceAll("<code>");
+        return LONG_NUMBER.matcher(redacted).replaceAll("<number>");
+    }
+
+    /**
+     * "user:#3f2a9c01d4e5b6a7 (42 chars)" for "user:&lt;text&gt;"; tool parts keep their tool name.
+     */
+    static String fingerprint(String part) {
+        int labelEnd = part.indexOf(':');
+        if (labelEnd < 0) {
+            return "#" + hash(part);
+        }
+        String label = part.substring(0, labelEnd);
+        if ("model".equals(label)) {
+            return part;
+        }
+        if (label.startsWith("tool_")) {
+            int nameEnd = part.indexOf(':', labelEnd + 1);
+            labelEnd = nameEnd < 0 ? labelEnd : nameEnd;
+        }
+        String content = part.substring(labelEnd + 1);
+        return part.substring(0, labelEnd) + ":#" + hash(content) + " (" + content.length() + " chars)";
+    }
+
+    /**
+     * Distinct redactable values (ids, numbers, codes, emails, phones) in order of first appearance.
+     */
+    static List<String> values(List<String> texts) {
+        List<String> values = new ArrayList<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            Matcher matcher = VALUE.matcher(text);
+            while (matcher.find()) {
+                if (!values.contains(matcher.group())) {
+                    values.add(matcher.group());
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Replaces every known value in {@code arguments} with its reference {{vN}}; other text stays as is.
+     */
+    static String toReferences(String arguments, List<String> values) {
+        if (arguments == null) {
+            return null;
+        }
+        String referenced = arguments;
+        List<String> longestFirst = new ArrayList<>(values);
+        longestFirst.sort(Comparator.comparingInt(String::length).reversed());
+        for (String value : longestFirst) {
+            referenced = referenced.replace(value, "{{v" + (values.indexOf(value) + 1) + "}}");
+        }
+        return referenced;
+    }
+
+    /**
+     * Inverse of {@link #toReferences} against the values of the prompt being replayed.
+     */
+    static String fromReferences(String arguments, List<String> values) {
+        if (arguments == null) {
+            return null;
+        }
+        return REFERENCE.matcher(arguments).replaceAll(match -> {
+            int index = Integer.parseInt(match.group(1)) - 1;
+            return Matcher.quoteReplacement(index < values.size() ? values.get(index) : match.group());
+        });
+    }
+
+    private static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
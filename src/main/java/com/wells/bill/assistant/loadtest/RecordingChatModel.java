@@ -0,0 +1,251 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LlmRecordingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Records or replays the outer ChatModel exchange: the prompt as the ChatClient sends
+ * it and the final answer it gets back.
+ * <p>
+ * The wrapped model runs tool round-trips internally (through its ToolCallingManager)
+ * between our request and its response, so the recorded exchange is keyed on the prompt
+ * without tool results and its latency includes them. Each round-trip is recorded
+ * separately with its own latency by {@link RecordingToolCallingManager}, so model and
+ * tool time can be compared per stage. On replay no tools run; only the final model
+ * exchange and its recorded timing are reproduced.
+ * <p>
+ * Tool calls in a recorded answer keep their real arguments, except that values taken
+ * from the prompt (ids, numbers, codes) are stored as references and resolved against
+ * the prompt being replayed, so a replayed call runs against the replaying user's data.
+ */
+@Slf4j
+public class RecordingChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final LlmRecordingStore store;
+
+    public RecordingChatModel(ChatModel delegate, LlmRecordingStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        List<String> redacted = redactedPrompt(prompt);
+        String key = LlmRecordingStore.key(LlmRecordingStore.CHAT, redacted);
+        List<String> values = PromptRedactor.values(rawPrompt(prompt));
+
+        if (store.mode() == LlmRecordingProperties.Mode.REPLAY) {
+            var recorded = store.replay(key);
+            if (recorded.isPresent()) {
+                LlmRecordingStore.Exchange exchange = recorded.get();
+                pause(exchange.latencyMs());
+                return toResponse(exchange, exchange.text(), values);
+            }
+            return missed(key, () -> delegate.call(prompt));
+        }
+
+        long start = System.nanoTime();
+        ChatResponse response = delegate.call(prompt);
+        long latencyMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        store.append(toExchange(key, store.promptForFile(redacted), values, latencyMs, null, text(response), null, response));
+        return response;
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        List<String> redacted = redactedPrompt(prompt);
+        String key = LlmRecordingStore.key(LlmRecordingStore.CHAT, redacted);
+        List<String> values = PromptRedactor.values(rawPrompt(prompt));
+
+        if (store.mode() == LlmRecordingProperties.Mode.REPLAY) {
+            var recorded = store.replay(key);
+            if (recorded.isEmpty()) {
+                return missed(key, () -> delegate.stream(prompt));
+            }
+            return replayStream(recorded.get(), values);
+        }
+
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong firstTokenMs = new AtomicLong(-1);
+            List<String> chunks = new ArrayList<>();
+            AtomicReference<ChatResponse> last = new AtomicReference<>();
+
+            return delegate.stream(prompt)
+                    .doOnNext(response -> {
+                        firstTokenMs.compareAndSet(-1, Duration.ofNanos(System.nanoTime() - start).toMillis());
+                        synchronized (chunks) {
+                            chunks.add(PromptRedactor.redact(text(response)));
+                        }
+                        last.set(response);
+                    })
+                    .doOnComplete(() -> {
+                        long latencyMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                        store.append(toExchange(key, store.promptForFile(redacted), values, latencyMs,
+                                Math.max(firstTokenMs.get(), 0),
+                                String.join("", chunks), chunks, last.get()));
+                    });
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    /* ==================== REPLAY ==================== */
+
+    // First chunk after the recorded time-to-first-token, the rest spread over the remaining time
+    private Flux<ChatResponse> replayStream(LlmRecordingStore.Exchange exchange, List<String> values) {
+        List<String> chunks = exchange.chunks() != null ? exchange.chunks() : List.of(exchange.text());
+        long firstTokenMs = exchange.firstTokenMs() != null ? exchange.firstTokenMs() : exchange.latencyMs();
+        long gapMs = chunks.size() > 1 ? Math.max(0, exchange.latencyMs() - firstTokenMs) / (chunks.size() - 1) : 0;
+
+        return Flux.range(0, chunks.size())
+                .map(i -> {
+                    pause(i == 0 ? firstTokenMs : gapMs);
+                    return toResponse(exchange, chunks.get(i), values);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private <T> T missed(String key, Supplier<T> passthrough) {
+        if (store.passthroughOnMiss()) {
+            log.debug("No recorded chat exchange for key={}; calling the model", key);
+            return passthrough.get();
+        }
+        throw new IllegalStateException("No recorded chat exchange for prompt hash " + key);
+    }
+
+    private void pause(long millis) {
+        if (store.replayTimings()) {
+            LoadTestLatency.pause(Duration.ofMillis(millis));
+        }
+    }
+
+    private static ChatResponse toResponse(LlmRecordingStore.Exchange exchange, String text, List<String> values) {
+        List<AssistantMessage.ToolCall> toolCalls = exchange.toolCalls() == null ? List.of()
+                : exchange.toolCalls().stream()
+                .map(c -> new AssistantMessage.ToolCall(c.id(), c.type(), c.name(),
+                        PromptRedactor.fromReferences(c.arguments(), values)))
+                .toList();
+
+        AssistantMessage message = AssistantMessage.builder()
+                .content(text == null ? "" : text)
+                .toolCalls(toolCalls)
+                .build();
+
+        ChatGenerationMetadata generationMetadata = ChatGenerationMetadata.builder()
+                .finishReason(exchange.finishReason())
+                .build();
+
+        ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+                .usage(new DefaultUsage(exchange.promptTokens(), exchange.completionTokens()))
+                .build();
+
+        return new ChatResponse(List.of(new Generation(message, generationMetadata)), metadata);
+    }
+
+    /* ==================== RECORD ==================== */
+
+    private static LlmRecordingStore.Exchange toExchange(String key, List<String> filePrompt, List<String> values,
+                                                         long latencyMs, Long firstTokenMs, String text,
+                                                         List<String> chunks, ChatResponse response) {
+        List<LlmRecordingStore.RecordedToolCall> toolCalls = null;
+        String finishReason = null;
+        Integer promptTokens = null;
+        Integer completionTokens = null;
+
+        if (response != null && response.getResult() != null) {
+            AssistantMessage output = response.getResult().getOutput();
+            if (output.hasToolCalls()) {
+                toolCalls = output.getToolCalls().stream()
+                        .map(c -> new LlmRecordingStore.RecordedToolCall(
+                                c.id(), c.type(), c.name(), PromptRedactor.toReferences(c.arguments(), values)))
+                        .toList();
+            }
+            finishReason = response.getResult().getMetadata().getFinishReason();
+        }
+        if (response != null && response.getMetadata() != null) {
+            Usage usage = response.getMetadata().getUsage();
+            if (usage != null) {
+                promptTokens = usage.getPromptTokens();
+                completionTokens = usage.getCompletionTokens();
+            }
+        }
+
+        return new LlmRecordingStore.Exchange(
+                LlmRecordingStore.CHAT, key, Instant.now(), latencyMs, firstTokenMs, filePrompt,
+                PromptRedactor.redact(text), chunks, toolCalls, finishReason, promptTokens, completionTokens, null
+        );
+    }
+
+    // Message type + redacted content, tool calls and tool results; plus the model name when set
+    static List<String> redactedPrompt(Prompt prompt) {
+        List<String> parts = new ArrayList<>();
+        if (prompt.getOptions() != null && prompt.getOptions().getModel() != null) {
+            parts.add("model:" + prompt.getOptions().getModel());
+        }
+        for (Message message : prompt.getInstructions()) {
+            parts.add(message.getMessageType().getValue() + ":" + PromptRedactor.redact(message.getText()));
+            if (message instanceof AssistantMessage assistant && assistant.hasToolCalls()) {
+                for (AssistantMessage.ToolCall call : assistant.getToolCalls()) {
+                    parts.add("tool_call:" + call.name() + ":" + PromptRedactor.redact(call.arguments()));
+                }
+            }
+            if (message instanceof ToolResponseMessage toolResponse) {
+                for (ToolResponseMessage.ToolResponse r : toolResponse.getResponses()) {
+                    parts.add("tool_result:" + r.name() + ":" + PromptRedactor.redact(r.responseData()));
+                }
+            }
+        }
+        return parts;
+    }
+
+    // Everything a tool call argument may have been copied from
+    static List<String> rawPrompt(Prompt prompt) {
+        List<String> texts = new ArrayList<>();
+        for (Message message : prompt.getInstructions()) {
+            texts.add(message.getText());
+            if (message instanceof AssistantMessage assistant && assistant.hasToolCalls()) {
+                assistant.getToolCalls().forEach(call -> texts.add(call.arguments()));
+            }
+            if (message instanceof ToolResponseMessage toolResponse) {
+                toolResponse.getResponses().forEach(r -> texts.add(r.responseData()));
+            }
+        }
+        return texts;
+    }
+
+    private static String text(ChatResponse response) {
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            return "";
+        }
+        String text = response.getResult().getOutput().getText();
+        return text == null ? "" : text;
+    }
+}
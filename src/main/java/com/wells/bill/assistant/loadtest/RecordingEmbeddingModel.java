@@ -0,0 +1,97 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LlmRecordingProperties;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records or replays every EmbeddingModel call (ingestion chunks and chat queries).
+ * <p>
+ * Each text is its own exchange, keyed on that text alone, so replay does not depend on
+ * how texts happened to be batched together (the query-embedding cache batches whatever
+ * misses arrive in the same few milliseconds). A replayed batch pauses for the longest
+ * recorded latency of its texts, as one real call would.
+ */
+public class RecordingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final LlmRecordingStore store;
+
+    public RecordingEmbeddingModel(EmbeddingModel delegate, LlmRecordingStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        List<String> redacted = request.getInstructions().stream().map(PromptRedactor::redact).toList();
+
+        if (store.mode() == LlmRecordingProperties.Mode.REPLAY) {
+            List<LlmRecordingStore.Exchange> recorded = new ArrayList<>(redacted.size());
+            for (String text : redacted) {
+                String key = key(text);
+                var exchange = store.replay(key);
+                if (exchange.isEmpty()) {
+                    if (!store.passthroughOnMiss()) {
+                        throw new IllegalStateException("No recorded embedding exchange for prompt hash " + key);
+                    }
+                    return delegate.call(request);
+                }
+                recorded.add(exchange.get());
+            }
+
+            if (store.replayTimings()) {
+                long latencyMs = recorded.stream().mapToLong(LlmRecordingStore.Exchange::latencyMs).max().orElse(0);
+                LoadTestLatency.pause(Duration.ofMillis(latencyMs));
+            }
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < recorded.size(); i++) {
+                embeddings.add(new Embedding(recorded.get(i).vectors().getFirst(), i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        long start = System.nanoTime();
+        EmbeddingResponse response = delegate.call(request);
+        long latencyMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        for (int i = 0; i < redacted.size(); i++) {
+            store.append(new LlmRecordingStore.Exchange(
+                    LlmRecordingStore.EMBEDDING, key(redacted.get(i)), Instant.now(), latencyMs, null,
+                    store.promptForFile(List.of("text:" + redacted.get(i))), null, null, null, null, null, null,
+                    List.of(response.getResults().get(i).getOutput())
+            ));
+        }
+        return response;
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return call(new EmbeddingRequest(List.of(document.getFormattedContent()), null))
+                .getResult()
+                .getOutput();
+    }
+
+    private static String key(String redactedText) {
+        return LlmRecordingStore.key(LlmRecordingStore.EMBEDDING, List.of(redactedText));
+    }
+
+    @Override
+    public int dimensions() {
+        if (store.mode() == LlmRecordingProperties.Mode.REPLAY) {
+            var recorded = store.recordedDimensions();
+            if (recorded.isPresent()) {
+                return recorded.getAsInt();
+            }
+        }
+        return delegate.dimensions();
+    }
+}
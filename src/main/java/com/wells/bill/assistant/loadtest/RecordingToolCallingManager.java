@@ -0,0 +1,82 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LlmRecordingProperties;
+import com.wells.bill.assistant.tools.ParallelToolCallingManager;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every tool round-trip the chat model asks for: which tools ran and how long the
+ * whole step took, next to the model exchanges in the same file. Arguments are stored as
+ * prompt references like the chat recorder's (see {@link PromptRedactor#toReferences}).
+ * <p>
+ * Only RECORD writes anything. A replayed chat exchange never reaches the tools, so in
+ * REPLAY this is a plain pass-through.
+ */
+public class RecordingToolCallingManager implements ToolCallingManager, AutoCloseable {
+
+    private final ToolCallingManager delegate;
+    private final LlmRecordingStore store;
+
+    public RecordingToolCallingManager(ToolCallingManager delegate, LlmRecordingStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return delegate.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        if (store.mode() != LlmRecordingProperties.Mode.RECORD) {
+            return delegate.executeToolCalls(prompt, chatResponse);
+        }
+
+        long start = System.nanoTime();
+        ToolExecutionResult result = delegate.executeToolCalls(prompt, chatResponse);
+        long latencyMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        List<AssistantMessage.ToolCall> calls = chatResponse.getResults().stream()
+                .map(Generation::getOutput)
+                .filter(AssistantMessage::hasToolCalls)
+                .findFirst()
+                .map(AssistantMessage::getToolCalls)
+                .orElse(List.of());
+        List<String> values = PromptRedactor.values(RecordingChatModel.rawPrompt(prompt));
+
+        List<String> redacted = new ArrayList<>();
+        List<LlmRecordingStore.RecordedToolCall> recorded = new ArrayList<>();
+        for (AssistantMessage.ToolCall call : calls) {
+            redacted.add("tool_call:" + call.name() + ":" + PromptRedactor.redact(call.arguments()));
+            recorded.add(new LlmRecordingStore.RecordedToolCall(
+                    call.id(), call.type(), call.name(), PromptRedactor.toReferences(call.arguments(), values)));
+        }
+
+        store.append(new LlmRecordingStore.Exchange(
+                LlmRecordingStore.TOOL, LlmRecordingStore.key(LlmRecordingStore.TOOL, redacted), Instant.now(),
+                latencyMs, null, store.promptForFile(redacted), null, null, recorded, null, null, null, null
+        ));
+        return result;
+    }
+
+    // Wrapping hides the delegate's @PreDestroy from Spring
+    @Override
+    public void close() {
+        if (delegate instanceof ParallelToolCallingManager parallel) {
+            parallel.shutdown();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LoadTestProperties;
+import com.wells.bill.assistant.util.ConversationContextHolder;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.*;
+import org.springframework.ai.tool.ToolCallback;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import java.util.regex.Pattern;
+
+/**
+ * Scriptable stand-in for Gemini, for measuring chat throughput without Vertex AI.
+ * <p>
+ * The latest user message is matched against the configured scripts. A script may
+ * first answer with tool calls (executed for real through the ToolCallingManager,
+ * so Postgres and the tool layer are exercised), then with its text. Every model
+ * turn sleeps for a latency sampled from the configured distribution; streaming
+ * emits the answer word by word with the configured token interval.
+ * <p>
+ * Each simulated user (the load driver's worker) draws from its own generator, seeded
+ * from the base seed and the user id, so its latency sequence is the same on every run
+ * however the concurrent workers interleave.
+ */
+public class ScriptedChatModel implements ChatModel {
+
+    private static final String DEFAULT_WORKER = "default";
+    // Spreads adjacent worker seeds apart (SplittableRandom's own increment)
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private record CompiledScript(Pattern pattern, LoadTestProperties.Script script) {
+    }
+
+    private final LoadTestProperties.Chat properties;
+    private final ToolCallingManager toolCallingManager;
+    private final ToolExecutionEligibilityPredicate toolExecutionEligibility = new DefaultToolExecutionEligibilityPredicate();
+    private final List<CompiledScript> scripts;
+    // worker key → that worker's latency generator
+    private final Map<String, RandomGenerator> workers = new ConcurrentHashMap<>();
+    private final AtomicLong toolCallIds = new AtomicLong();
+
+    public ScriptedChatModel(LoadTestProperties.Chat properties, ToolCallingManager toolCallingManager) {
+        this.properties = properties;
+        this.toolCallingManager = toolCallingManager;
+        this.scripts = properties.getScripts().stream()
+                .map(s -> new CompiledScript(
+                        s.getMatch() == null ? null : Pattern.compile(s.getMatch(), Pattern.CASE_INSENSITIVE),
+                        s))
+                .toList();
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        ChatResponse response = respond(prompt);
+
+        if (toolExecutionEligibility.isToolExecutionRequired(prompt.getOptions(), response)) {
+            ToolExecutionResult result = toolCallingManager.executeToolCalls(prompt, response);
+            if (result.returnDirect()) {
+                return ChatResponse.builder()
+                        .from(response)
+                        .generations(ToolExecutionResult.buildGenerations(result))
+                        .build();
+            }
+            return call(new Prompt(result.conversationHistory(), prompt.getOptions()));
+        }
+        return response;
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        Duration tokenInterval = properties.getTokenInterval();
+
+        return Flux.defer(() -> {
+                    String text = call(prompt).getResult().getOutput().getText();
+                    Flux<ChatResponse> tokens = Flux.fromIterable(tokens(text))
+                            .map(token -> new ChatResponse(List.of(new Generation(new AssistantMessage(token)))));
+                    return tokenInterval.isZero() ? tokens : tokens.delayElements(tokenInterval);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ChatClient only attaches tool callbacks to ToolCallingChatOptions
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return ToolCallingChatOptions.builder().build();
+    }
+
+    /* ==================== SCRIPT ==================== */
+
+    private ChatResponse respond(Prompt prompt) {
+        List<Message> messages = prompt.getInstructions();
+        Message last = messages.isEmpty() ? null : messages.getLast();
+        LoadTestProperties.Script script = match(latestUserText(messages));
+
+        LoadTestProperties.Latency latency = script != null && script.getLatency() != null
+                ? script.getLatency()
+                : properties.getLatency();
+        LoadTestLatency.pause(sampleLatency(latency, workerKey(prompt.getOptions())));
+
+        if (script != null && !(last instanceof ToolResponseMessage)) {
+            List<AssistantMessage.ToolCall> toolCalls = toolCalls(script, availableTools(prompt.getOptions()));
+            if (!toolCalls.isEmpty()) {
+                return new ChatResponse(List.of(new Generation(
+                        AssistantMessage.builder().content("").toolCalls(toolCalls).build())));
+            }
+        }
+
+        String text = script != null && script.getText() != null ? script.getText() : properties.getDefaultText();
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+
+    Duration sampleLatency(LoadTestProperties.Latency latency, String worker) {
+        RandomGenerator random = workers.computeIfAbsent(worker,
+                key -> new SplittableRandom(properties.getSeed() + GOLDEN_GAMMA * key.hashCode()));
+        // One worker normally runs one turn at a time; the lock only guards overlapping tabs
+        synchronized (random) {
+            return latency.sample(random);
+        }
+    }
+
+    LoadTestProperties.Script match(String userText) {
+        for (CompiledScript compiled : scripts) {
+            if (compiled.pattern() == null || (userText != null && compiled.pattern().matcher(userText).find())) {
+                return compiled.script();
+            }
+        }
+        return null;
+    }
+
+    // The tool router offers a subset per turn; calling a tool outside it would fail the turn
+    private List<AssistantMessage.ToolCall> toolCalls(LoadTestProperties.Script script, Set<String> available) {
+        List<AssistantMessage.ToolCall> calls = new ArrayList<>();
+        for (LoadTestProperties.ToolCall call : script.getToolCalls()) {
+            if (available.contains(call.getName())) {
+                calls.add(new AssistantMessage.ToolCall(
+                        "call-" + toolCallIds.incrementAndGet(), "function", call.getName(), call.getArguments()));
+            }
+        }
+        return calls;
+    }
+
+    private static Set<String> availableTools(ChatOptions options) {
+        if (!(options instanceof ToolCallingChatOptions toolOptions)) {
+            return Set.of();
+        }
+        Set<String> names = new HashSet<>(toolOptions.getToolNames());
+        for (ToolCallback callback : toolOptions.getToolCallbacks()) {
+            names.add(callback.getToolDefinition().name());
+        }
+        return names;
+    }
+
+    // The turn's user, from the tool context (set on every chat prompt) or the thread binding
+    private static String workerKey(ChatOptions options) {
+        Object userId = options instanceof ToolCallingChatOptions toolOptions
+                ? toolOptions.getToolContext().get(ConversationContextHolder.USER_ID_KEY)
+                : null;
+        if (userId == null) {
+            userId = ConversationContextHolder.getUserId();
+        }
+        return userId != null ? userId.toString() : DEFAULT_WORKER;
+    }
+
+    private static String latestUserText(List<Message> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i) instanceof UserMessage user) {
+                return user.getText();
+            }
+        }
+        return null;
+    }
+
+    // Whitespace kept on each token so the streamed chunks concatenate back to the text
+    static List<String> tokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i)) && !Character.isWhitespace(text.charAt(i - 1))) {
+                tokens.add(text.substring(start, i));
+                start = i;
+            }
+        }
+        tokens.add(text.substring(start));
+        return tokens;
+    }
+}
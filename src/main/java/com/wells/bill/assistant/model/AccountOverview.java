@@ -0,0 +1,41 @@
+package com.wells.bill.assistant.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-call bill + payment snapshot for "how am I doing" questions.
+ * Amounts are summed as stored; bills are expected to share the user's currency.
+ */
+public record AccountOverview(
+
+        LocalDate asOf,
+        YearMonth month,
+
+        // Bills
+        Map<BillStatus, StatusTotal> billsByStatus,
+        BigDecimal outstandingTotal,
+        long overdueCount,
+        BigDecimal overdueTotal,
+        List<UpcomingDue> nextDues,
+
+        // Payments
+        Map<String, BigDecimal> monthToDatePaidByCategory,
+        BigDecimal monthToDatePaidTotal,
+        List<FailedPayment> recentFailures
+) {
+
+    public record StatusTotal(long count, BigDecimal amount) {
+    }
+
+    public record UpcomingDue(String providerName, BillCategory category, BigDecimal amount, String currency,
+                              LocalDate dueDate) {
+    }
+
+    public record FailedPayment(String providerName, BigDecimal amount, String currency, LocalDate date,
+                                String reason) {
+    }
+}
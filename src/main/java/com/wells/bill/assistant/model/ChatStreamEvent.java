@@ -0,0 +1,35 @@
+package com.wells.bill.assistant.model;
+
+import java.util.Map;
+
+/**
+ * One Server-Sent Event on the streaming chat endpoint.
+ * type: token | tool | done | turn_error ("error" is EventSource's own connection event)
+ * <p>
+ * The text is sent as a JSON payload {@code {"text": "..."}}: raw SSE data loses a leading
+ * space (" world" would arrive as "world"), so clients parse the JSON instead.
+ */
+public record ChatStreamEvent(String type, String text) {
+
+    public static final String TURN_ERROR = "turn_error";
+
+    public static ChatStreamEvent token(String text) {
+        return new ChatStreamEvent("token", text);
+    }
+
+    public static ChatStreamEvent tool(String progressMessage) {
+        return new ChatStreamEvent("tool", progressMessage);
+    }
+
+    public static ChatStreamEvent done() {
+        return new ChatStreamEvent("done", "");
+    }
+
+    public static ChatStreamEvent error(String message) {
+        return new ChatStreamEvent(TURN_ERROR, message);
+    }
+
+    public Map<String, String> payload() {
+        return Map.of("text", text == null ? "" : text);
+    }
+}
@@ -0,0 +1,16 @@
+package com.wells.bill.assistant.model;
+
+/**
+ * Admission classes for LLM calls, highest first.
+ * Chat turns and payment confirmations are interactive; bill parsing fallbacks
+ * are ingestion; summaries and batch insights are analytics.
+ */
+public enum LlmPriority {
+    INTERACTIVE,
+    INGESTION,
+    ANALYTICS;
+
+    public boolean outranks(LlmPriority other) {
+        return ordinal() < other.ordinal();
+    }
+}
@@ -0,0 +1,9 @@
+package com.wells.bill.assistant.model;
+
+/**
+ * Which chat model a request is sent to; see ModelRouter.
+ */
+public enum ModelTier {
+    FAST,   // short, tool-centric or extraction-style requests
+    LARGE   // multi-step reasoning, and escalations from FAST
+}
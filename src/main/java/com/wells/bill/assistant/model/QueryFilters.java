@@ -0,0 +1,20 @@
+package com.wells.bill.assistant.model;
+
+/**
+ * Metadata filters extracted from a chat question before vector search.
+ * Any component may be null when the question does not mention it.
+ */
+public record QueryFilters(
+        DateRange dueDateRange,
+        BillCategory billCategory,
+        String providerName
+) {
+
+    public static QueryFilters none() {
+        return new QueryFilters(null, null, null);
+    }
+
+    public boolean isEmpty() {
+        return dueDateRange == null && billCategory == null && providerName == null;
+    }
+}
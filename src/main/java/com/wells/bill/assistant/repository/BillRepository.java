@@ -92,4 +92,46 @@ public interface BillRepository extends JpaRepository<BillEntity, UUID> {
     BigDecimal getTotalOverdueAmount(UUID userId, LocalDate today);
 
     List<BillEntity> findByBillCategory(BillCategory category);
+
+    @Query("""
+            SELECT DISTINCT b.providerName
+            FROM BillEntity b
+            WHERE b.userId = :userId
+              AND b.providerName IS NOT NULL
+            """)
+    List<String> findDistinctProviderNames(@Param("userId") UUID userId);
+
+    /* ---------- Account overview aggregates ---------- */
+
+    @Query("""
+            SELECT b.status, COUNT(b), COALESCE(SUM(b.amountDue), 0)
+            FROM BillEntity b
+            WHERE b.userId = :userId
+            GROUP BY b.status
+            """)
+    List<Object[]> summarizeByStatus(@Param("userId") UUID userId);
+
+    @Query("""
+            SELECT COUNT(b), COALESCE(SUM(b.amountDue), 0)
+            FROM BillEntity b
+            WHERE b.userId = :userId
+              AND b.status IN :unpaidStatuses
+              AND b.dueDate < :today
+            """)
+    List<Object[]> summarizeOverdue(@Param("userId") UUID userId,
+                                    @Param("unpaidStatuses") Collection<BillStatus> unpaidStatuses,
+                                    @Param("today") LocalDate today);
+
+    @Query("""
+            SELECT b
+            FROM BillEntity b
+            WHERE b.userId = :userId
+              AND b.status IN :unpaidStatuses
+              AND b.dueDate >= :today
+            ORDER BY b.dueDate ASC
+            """)
+    List<BillEntity> findUpcomingDues(@Param("userId") UUID userId,
+                                      @Param("unpaidStatuses") Collection<BillStatus> unpaidStatuses,
+                                      @Param("today") LocalDate today,
+                                      Pageable pageable);
 }
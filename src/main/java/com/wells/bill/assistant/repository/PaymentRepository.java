@@ -3,11 +3,13 @@ package com.wells.bill.assistant.repository;
 import com.wells.bill.assistant.entity.PaymentEntity;
 import com.wells.bill.assistant.model.PaymentStatus;
 import com.wells.bill.assistant.model.PaymentType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -36,4 +38,27 @@ public interface PaymentRepository extends JpaRepository<PaymentEntity, UUID> {
     List<PaymentEntity> findByUserIdAndBillProviderName(
             @Param("userId") UUID userId,
             @Param("providerName") String providerName);
+
+    /* ---------- Account overview aggregates ---------- */
+
+    @Query("""
+            SELECT b.billCategory, COALESCE(SUM(p.amount), 0)
+            FROM PaymentEntity p
+            LEFT JOIN BillEntity b ON b.id = p.billId
+            WHERE p.userId = :userId
+              AND p.status = com.wells.bill.assistant.model.PaymentStatus.SUCCESS
+              AND p.executedAt >= :from
+            GROUP BY b.billCategory
+            """)
+    List<Object[]> sumSuccessfulByCategorySince(@Param("userId") UUID userId, @Param("from") Instant from);
+
+    @Query("""
+            SELECT p
+            FROM PaymentEntity p
+            WHERE p.userId = :userId
+              AND p.status = com.wells.bill.assistant.model.PaymentStatus.FAILED
+              AND p.updatedAt >= :from
+            ORDER BY p.updatedAt DESC
+            """)
+    List<PaymentEntity> findRecentFailures(@Param("userId") UUID userId, @Param("from") Instant from, Pageable pageable);
 }
@@ -0,0 +1,19 @@
+package com.wells.bill.assistant.scheduler;
+
+import com.wells.bill.assistant.service.ChatRequestCoalescer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ChatDedupCleanupScheduler {
+
+    private final ChatRequestCoalescer chatRequestCoalescer;
+
+    // Expired cluster claims / answers; no-op unless cluster dedup is enabled
+    @Scheduled(fixedDelayString = "${assistant.chat.dedup.cluster.cleanup-interval:PT1M}")
+    public void purgeExpiredClaims() {
+        chatRequestCoalescer.purgeExpired();
+    }
+}
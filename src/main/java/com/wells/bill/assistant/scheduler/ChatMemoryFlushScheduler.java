@@ -0,0 +1,19 @@
+package com.wells.bill.assistant.scheduler;
+
+import com.wells.bill.assistant.store.WriteBehindChatMemoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ChatMemoryFlushScheduler {
+
+    private final WriteBehindChatMemoryRepository chatMemoryRepository;
+
+    // Write dirty conversations to Postgres off the request path
+    @Scheduled(fixedDelayString = "${assistant.chat-memory.flush-interval:PT2S}")
+    public void flushChatMemory() {
+        chatMemoryRepository.flush();
+    }
+}
@@ -0,0 +1,19 @@
+package com.wells.bill.assistant.scheduler;
+
+import com.wells.bill.assistant.store.ContextStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ContextTouchFlushScheduler {
+
+    private final ContextStore contextStore;
+
+    // Coalesced lastAccessTime updates, written in batches off the request path
+    @Scheduled(fixedDelayString = "${assistant.context.cache.flush-interval:PT5S}")
+    public void flushTouches() {
+        contextStore.flushTouches();
+    }
+}
@@ -0,0 +1,48 @@
+package com.wells.bill.assistant.scheduler;
+
+import com.wells.bill.assistant.service.BillSummaryBackfillService;
+import com.wells.bill.assistant.service.VectorStoreSyncService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@RequiredArgsConstructor
+public class VectorStoreMaintenanceScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(VectorStoreMaintenanceScheduler.class);
+
+    private final VectorStoreSyncService vectorStoreSyncService;
+    private final BillSummaryBackfillService billSummaryBackfillService;
+
+    // Drain queued chunk deletes / status re-tags every few seconds
+    @Scheduled(fixedDelayString = "${assistant.vector-store.sync.flush-interval:PT5S}")
+    public void flushPendingChanges() {
+        vectorStoreSyncService.flushPending();
+    }
+
+    // Repairs status re-tags lost from the in-memory queue; first run shortly after startup
+    @Scheduled(initialDelayString = "${assistant.vector-store.sync.reconcile-initial-delay:PT1M}",
+            fixedDelayString = "${assistant.vector-store.sync.reconcile-interval:PT15M}")
+    public void reconcileStatuses() {
+        vectorStoreSyncService.reconcileStatuses();
+    }
+
+    // Summaries for bills ingested before (or without) one; a batch per run until caught up
+    @Scheduled(initialDelayString = "${assistant.vector-store.sync.reconcile-initial-delay:PT1M}",
+            fixedDelayString = "${assistant.vector-store.sync.summary-backfill-interval:PT5M}")
+    public void backfillBillSummaries() {
+        billSummaryBackfillService.backfillMissing();
+    }
+
+    // Run daily at 03:30 AM
+    @Scheduled(cron = "${assistant.vector-store.sync.compaction-cron:0 30 3 * * *}")
+    public void compactOrphanedChunks() {
+        log.info("Running VectorStoreCompaction at {}", LocalDate.now());
+        vectorStoreSyncService.compactOrphans();
+    }
+}
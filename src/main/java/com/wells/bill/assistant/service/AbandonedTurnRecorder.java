@@ -0,0 +1,70 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.model.ChatRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Book-keeping for chat turns the client walked away from.
+ * <p>
+ * If the turn's question already reached chat memory (the memory advisor adds it
+ * before the model call; OrchestratorService commits that write before calling here),
+ * a marker answer is appended so the next turn sees that the
+ * question went unanswered instead of a dangling user message or an answer the user
+ * never read. Counted as chat.turn.abandoned{path,reason}; the model spend is in
+ * ModelRouter's llm.model.wasted.* meters.
+ */
+@Slf4j
+@Component
+public class AbandonedTurnRecorder {
+
+    public static final String ABANDONED_METADATA_KEY = "abandoned";
+
+    static final String MARKER = "[This request was cancelled before an answer was delivered.]";
+
+    private final ChatMemory chatMemory;
+    private final MeterRegistry meterRegistry;
+
+    public AbandonedTurnRecorder(@Qualifier("chatMemory") ChatMemory chatMemory, MeterRegistry meterRegistry) {
+        this.chatMemory = chatMemory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(ChatRequest request, String path, String reason) {
+        meterRegistry.counter("chat.turn.abandoned", "path", path, "reason", reason).increment();
+        log.info("Abandoned chat turn for conversationId= {}: path={}, reason={}", request.getConversationId(), path, reason);
+
+        try {
+            String conversationId = String.valueOf(request.getConversationId());
+            if (reachedMemory(chatMemory.get(conversationId), request.getUserMessage())) {
+                chatMemory.add(conversationId, AssistantMessage.builder()
+                        .content(MARKER)
+                        .properties(Map.of(ABANDONED_METADATA_KEY, true, "reason", reason))
+                        .build());
+            }
+        } catch (Exception e) {
+            log.warn("Could not mark abandoned turn for conversationId={}", request.getConversationId(), e);
+        }
+    }
+
+    // The question is the latest user message, with at most the unread answer after it
+    static boolean reachedMemory(List<Message> messages, String userMessage) {
+        for (int i = messages.size() - 1; i >= 0 && i >= messages.size() - 2; i--) {
+            Message message = messages.get(i);
+            if (message instanceof UserMessage) {
+                return Objects.equals(message.getText(), userMessage);
+            }
+        }
+        return false;
+    }
+}
@@ -20,6 +20,7 @@ import java.util.Currency;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -137,13 +138,24 @@ public class BillParser {
     );
 
     private final ChatClient chatClient;
+    private final LlmDispatcher llmDispatcher;
+    private final ModelRouter modelRouter;
 
-    public BillParser(ChatClient chatClient) {
+    public BillParser(ChatClient chatClient, LlmDispatcher llmDispatcher, ModelRouter modelRouter) {
         this.chatClient = chatClient;
+        this.llmDispatcher = llmDispatcher;
+        this.modelRouter = modelRouter;
     }
 
     /* ==================== ENTRY POINT ==================== */
     public BillParseResult parse(String rawText) {
+        return parse(rawText, null);
+    }
+
+    /**
+     * @param userId uploader, so the LLM fallback is queued fairly against that user's other calls
+     */
+    public BillParseResult parse(String rawText, UUID userId) {
 
         String text = normalize(rawText);
 
@@ -182,7 +194,7 @@ public class BillParser {
         if (ruleConfidence < LLM_FALLBACK_THRESHOLD) {
             log.info("Low confidence ({}) → falling back to LLM", ruleConfidence);
 
-            BillDetail llmBill = parseUsingLLM(rawText);
+            BillDetail llmBill = parseUsingLLM(rawText, userId);
 
             BillDetail merged = mergeRuleAndLLM(ruleBill, llmBill);
 
@@ -530,12 +542,20 @@ public class BillParser {
     }
 
     /* ==================== LLM ==================== */
-    public BillDetail parseUsingLLM(String billText) {
-        String response = chatClient
-                .prompt(buildPrompt(billText))
-                .call()
-                .content();
-        return parseJsonToBillDetails(response);
+    public BillDetail parseUsingLLM(String billText, UUID userId) {
+        // Ingestion refinement must never starve interactive chat; unparseable fast-model JSON escalates.
+        // Keyed per uploader so one bulk upload cannot hold every other user's bills behind it.
+        String userKey = userId != null ? String.valueOf(userId) : "ingestion";
+        return llmDispatcher.execute(LlmPriority.INGESTION, userKey, () -> modelRouter.call(
+                "bill_parser",
+                modelRouter.chooseForExtraction(),
+                options -> chatClient
+                        .prompt(buildPrompt(billText))
+                        .options(options)
+                        .call()
+                        .chatResponse(),
+                response -> parseJsonToBillDetails(response.getResult().getOutput().getText())
+        ));
     }
 
     private String buildPrompt(String billText) {
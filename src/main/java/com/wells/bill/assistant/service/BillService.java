@@ -1,6 +1,8 @@
 package com.wells.bill.assistant.service;
 
 import com.wells.bill.assistant.entity.BillEntity;
+import com.wells.bill.assistant.event.BillStatusChangedEvent;
+import com.wells.bill.assistant.event.BillUpdatedEvent;
 import com.wells.bill.assistant.model.BillDetail;
 import com.wells.bill.assistant.model.BillStatus;
 import com.wells.bill.assistant.repository.BillRepository;
@@ -8,6 +10,7 @@ import com.wells.bill.assistant.util.BillMapper;
 import com.wells.bill.assistant.util.BillStateMachine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -26,7 +29,15 @@ import java.util.stream.Collectors;
 @Transactional
 public class BillService {
 
+    public static final Set<BillStatus> UNPAID_STATUSES = Set.of(
+            BillStatus.UPLOADED,
+            BillStatus.INGESTED,
+            BillStatus.VERIFIED,
+            BillStatus.OVERDUE
+    );
+
     private final BillRepository billRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /* =====================================================
      * 1️⃣ READ – Detail & Lists
@@ -48,15 +59,7 @@ public class BillService {
     @Transactional(readOnly = true)
     public List<BillDetail> getUnpaidBills(UUID userId) {
         log.info("Listing unpaid bills for userId={}", userId);
-        return billRepository.findByUserIdAndStatusIn(
-                        userId,
-                        Set.of(
-                                BillStatus.UPLOADED,
-                                BillStatus.INGESTED,
-                                BillStatus.VERIFIED,
-                                BillStatus.OVERDUE
-                        )
-                )
+        return billRepository.findByUserIdAndStatusIn(userId, UNPAID_STATUSES)
                 .stream()
                 .map(BillMapper::toDetail)
                 .toList();
@@ -75,9 +78,9 @@ public class BillService {
         entity.setPaymentId(null);
 
         log.info("Creating new bill for userId={}", entity.getUserId());
-        return BillMapper.toDetail(
-                billRepository.save(entity)
-        );
+        BillEntity saved = billRepository.save(entity);
+        eventPublisher.publishEvent(new BillUpdatedEvent(saved.getId(), saved.getUserId()));
+        return BillMapper.toDetail(saved);
     }
 
     public BillDetail updateBill(UUID billId, UUID userId, BillDetail request) {
@@ -101,9 +104,9 @@ public class BillService {
         existing.setCurrency(request.amountDue().currency().getSymbol());
 
         log.info("Updating billId={} for userId={}", billId, existing.getUserId());
-        return BillMapper.toDetail(
-                billRepository.save(existing)
-        );
+        BillEntity saved = billRepository.save(existing);
+        eventPublisher.publishEvent(new BillUpdatedEvent(saved.getId(), saved.getUserId()));
+        return BillMapper.toDetail(saved);
     }
 
     public void deleteBill(UUID billId, UUID userId) {
@@ -113,8 +116,9 @@ public class BillService {
             throw new IllegalStateException("Paid bill cannot be deleted");
         }
 
+        BillStatus previous = bill.getStatus();
         BillStateMachine.validateTransition(
-                bill.getStatus(),
+                previous,
                 BillStatus.CANCELLED
         );
 
@@ -122,6 +126,7 @@ public class BillService {
 
         log.info("Deleting (cancelling) billId={} for userId={}", billId, bill.getUserId());
         billRepository.save(bill);
+        publishStatusChange(bill, previous);
     }
 
     /* =====================================================
@@ -140,8 +145,9 @@ public class BillService {
     public void markPaid(UUID billId, UUID paymentId, UUID userId) {
         BillEntity bill = getEntityOrThrow(billId, userId);
 
+        BillStatus previous = bill.getStatus();
         BillStateMachine.validateTransition(
-                bill.getStatus(),
+                previous,
                 BillStatus.PAID
         );
 
@@ -152,6 +158,7 @@ public class BillService {
         BillMapper.toDetail(
                 billRepository.save(bill)
         );
+        publishStatusChange(bill, previous);
     }
 
     /* =====================================================
@@ -168,12 +175,14 @@ public class BillService {
         billRepository.findByDueDateBefore(today).stream()
                 .filter(b -> b.getStatus() == BillStatus.VERIFIED)
                 .forEach(bill -> {
+                    BillStatus previous = bill.getStatus();
                     BillStateMachine.validateTransition(
-                            bill.getStatus(),
+                            previous,
                             BillStatus.OVERDUE
                     );
                     bill.setStatus(BillStatus.OVERDUE);
                     log.warn("Bill {} marked OVERDUE", bill.getId());
+                    publishStatusChange(bill, previous);
                 });
 
         log.info("Overdue update completed for date={}", today);
@@ -198,9 +207,19 @@ public class BillService {
                 billRepository.save(bill)
         );
         log.info("Transitioned billId={} from {} to {}", billId, current, next);
+        publishStatusChange(bill, current);
         return billDetail;
     }
 
+    private void publishStatusChange(BillEntity bill, BillStatus previous) {
+        eventPublisher.publishEvent(new BillStatusChangedEvent(
+                bill.getId(),
+                bill.getUserId(),
+                previous,
+                bill.getStatus()
+        ));
+    }
+
     private BillEntity getEntityOrThrow(UUID billId, UUID userId) {
         log.debug("Fetching bill entity for billId={} and userId={}", billId, userId);
         return billRepository.findByIdAndUserId(billId, userId)
@@ -0,0 +1,115 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.VectorStoreSyncProperties;
+import com.wells.bill.assistant.repository.BillRepository;
+import com.wells.bill.assistant.util.BillMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds bill_summary_store rows for ingested bills that have none, e.g. bills ingested
+ * before hierarchical retrieval existed or whose summary write failed after ingestion.
+ * Runs in bounded batches from the vector store maintenance scheduler; a no-op once
+ * every live ingested bill has its summary.
+ * <p>
+ * Batches page through the bills in (ingested_at, id) order and start over after the
+ * last page, so bills that keep failing never fill every batch. Failures are counted in
+ * bill_summary_backfill_failures and a bill is skipped once it reached
+ * {@code summaryBackfillMaxAttempts}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BillSummaryBackfillService {
+
+    private static final String MISSING_SUMMARIES_SQL = """
+            SELECT b.id, b.ingested_at
+              FROM bills b
+             WHERE b.ingested_at IS NOT NULL
+               AND b.status NOT IN ('CANCELLED', 'FAILED', 'INGESTING')
+               AND (b.ingested_at, b.id) > (?, ?)
+               AND NOT EXISTS (
+                   SELECT 1
+                     FROM bill_summary_store s
+                    WHERE s.id = b.id
+               )
+               AND NOT EXISTS (
+                   SELECT 1
+                     FROM bill_summary_backfill_failures f
+                    WHERE f.bill_id = b.id AND f.attempts >= ?
+               )
+             ORDER BY b.ingested_at, b.id
+             LIMIT ?
+            """;
+
+    private static final String RECORD_FAILURE_SQL = """
+            INSERT INTO bill_summary_backfill_failures (bill_id, attempts, last_attempt_at)
+            VALUES (?, 1, now())
+            ON CONFLICT (bill_id) DO UPDATE
+               SET attempts = bill_summary_backfill_failures.attempts + 1,
+                   last_attempt_at = now()
+            RETURNING attempts
+            """;
+
+    record Cursor(Instant ingestedAt, UUID id) {
+
+        static final Cursor START = new Cursor(Instant.EPOCH, new UUID(0, 0));
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BillRepository billRepository;
+    private final BillSummaryIndex billSummaryIndex;
+    private final VectorStoreSyncProperties properties;
+
+    // Only the maintenance scheduler calls in, one run at a time
+    private volatile Cursor cursor = Cursor.START;
+
+    /**
+     * Indexes one batch of missing summaries.
+     *
+     * @return summaries written
+     */
+    public int backfillMissing() {
+        int batchSize = properties.getBatchSize();
+        List<Cursor> page = jdbcTemplate.query(MISSING_SUMMARIES_SQL,
+                (rs, rowNum) -> new Cursor(rs.getTimestamp("ingested_at").toInstant(), rs.getObject("id", UUID.class)),
+                Timestamp.from(cursor.ingestedAt()), cursor.id(), properties.getSummaryBackfillMaxAttempts(), batchSize);
+        // A short page was the last one → next run starts over
+        cursor = page.size() < batchSize ? Cursor.START : page.getLast();
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        int written = 0;
+        for (var bill : billRepository.findAllById(page.stream().map(Cursor::id).toList())) {
+            try {
+                billSummaryIndex.index(BillMapper.toDetail(bill));
+                written++;
+            } catch (Exception e) {
+                recordFailure(bill.getId(), e);
+            }
+        }
+        log.info("Backfilled {} of {} missing bill summaries", written, page.size());
+        return written;
+    }
+
+    private void recordFailure(UUID billId, Exception cause) {
+        try {
+            Integer attempts = jdbcTemplate.queryForObject(RECORD_FAILURE_SQL, Integer.class, billId);
+            if (attempts != null && attempts >= properties.getSummaryBackfillMaxAttempts()) {
+                log.error("Summary backfill failed {} times for billId={}, skipping it from now on", attempts, billId, cause);
+            } else {
+                log.warn("Summary backfill failed for billId={} (attempt {}), retried on a later run", billId, attempts, cause);
+            }
+        } catch (Exception e) {
+            log.warn("Summary backfill failed for billId={} and the failure could not be recorded", billId, cause);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.model.BillDetail;
+import com.wells.bill.assistant.model.BillStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.*;
+
+/**
+ * One compact summary vector per bill, built from the structured {@link BillDetail}.
+ * <p>
+ * The summary document id is the bill id, so re-indexing a bill overwrites its summary.
+ * Metadata mirrors the chunk keys (userId, billId, dueDate, billCategory, providerName,
+ * billStatus), so the same filter expressions work against both tables.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BillSummaryIndex {
+
+    private final VectorStore store;
+
+    public void index(BillDetail bill) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("billId", bill.id().toString());
+        metadata.put("userId", bill.userId().toString());
+        metadata.put("billStatus", (null != bill.status() ? bill.status() : BillStatus.INGESTED).toString());
+        metadata.put("billCategory", null != bill.billCategory() ? bill.billCategory().name() : "Unknown");
+        metadata.put("providerName", null != bill.providerName() ? bill.providerName() : "Unknown");
+        metadata.put("dueDate", bill.dueDate().toString());
+        metadata.put("amountDue", bill.amountDue().amount().toString());
+
+        store.add(List.of(Document.builder()
+                .id(bill.id().toString())
+                .text(summaryText(bill))
+                .metadata(metadata)
+                .build()));
+
+        log.debug("Indexed summary for billId={}", bill.id());
+    }
+
+    /**
+     * Best matching bill ids for the query, in score order.
+     */
+    public List<UUID> selectBills(String query, Filter.Expression filter, int topK) {
+        return store.similaritySearch(SearchRequest.builder()
+                        .query(query)
+                        .filterExpression(filter)
+                        .topK(topK)
+                        .build())
+                .stream()
+                .map(d -> UUID.fromString(String.valueOf(d.getMetadata().get("billId"))))
+                .toList();
+    }
+
+    public void delete(Collection<UUID> billIds) {
+        if (billIds.isEmpty()) {
+            return;
+        }
+        store.delete(billIds.stream().map(UUID::toString).toList());
+    }
+
+    static String summaryText(BillDetail bill) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(null != bill.billCategory() ? bill.billCategory().name() : "Utility")
+                .append(" bill from ")
+                .append(null != bill.providerName() ? bill.providerName() : "an unknown provider");
+
+        if (bill.consumerName() != null) {
+            sb.append(" for ").append(bill.consumerName());
+        }
+        if (bill.consumerNumber() != null) {
+            sb.append(" (consumer no. ").append(bill.consumerNumber()).append(")");
+        }
+        if (bill.billingPeriod() != null && bill.billingPeriod().start() != null && bill.billingPeriod().end() != null) {
+            sb.append(", billing period ")
+                    .append(bill.billingPeriod().start())
+                    .append(" to ")
+                    .append(bill.billingPeriod().end());
+        }
+
+        sb.append(", amount due ")
+                .append(bill.amountDue().currency() != null ? bill.amountDue().currency().getCurrencyCode() + " " : "")
+                .append(bill.amountDue().amount())
+                .append(", due on ")
+                .append(bill.dueDate())
+                .append('.');
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,268 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.ChatDedupProperties;
+import com.wells.bill.assistant.exception.TurnCancelledException;
+import com.wells.bill.assistant.model.ChatRequest;
+import com.wells.bill.assistant.store.ChatDedupStore;
+import com.wells.bill.assistant.util.CancellationToken;
+import com.wells.bill.assistant.util.Deadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Collapses identical chat submissions (same user, conversation and message) into one turn.
+ * <p>
+ * The first submission runs the turn; a duplicate that arrives while it is in flight gets
+ * the same answer instead of running the LLM / tool pipeline and writing chat memory a
+ * second time. Once the turn finished it is forgotten: the same message sent again ("yes",
+ * "ok", a code) is a new turn. The shared turn is cancelled only when every attached
+ * client has gone away. Failed turns and fallback answers are never shared; attached
+ * submissions then run their own turn. Confirmation codes, payment actions and small talk
+ * (configurable intents) are never coalesced.
+ * <p>
+ * Per node by default; with {@code assistant.chat.dedup.cluster.enabled} the node that runs
+ * a turn also claims it in Postgres ({@link ChatDedupStore}) and other nodes already
+ * waiting get its answer. Coordination problems never fail a turn, they only cost a
+ * duplicate run. Counted as chat.dedup{result=leader|attached|cluster_attached|unshared}.
+ */
+@Slf4j
+@Service
+public class ChatRequestCoalescer {
+
+    private static final class Flight {
+        // null → nothing to share, attached submissions answer themselves
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final CancellationToken turnCancellation;
+        private int attached;
+
+        // The shared turn runs on the first submitter's budget
+        Flight(Deadline deadline) {
+            turnCancellation = new CancellationToken(deadline);
+        }
+
+        // Refuses once the turn was cancelled because everyone left
+        synchronized boolean attach() {
+            if (turnCancellation.isCancelled()) {
+                return false;
+            }
+            attached++;
+            return true;
+        }
+
+        void detach(String reason) {
+            boolean last;
+            synchronized (this) {
+                last = --attached == 0;
+            }
+            if (last && !result.isDone()) {
+                turnCancellation.cancel(reason);
+            }
+        }
+    }
+
+    private final ChatDedupProperties properties;
+    private final ChatDedupStore clusterStore;
+    private final RetrievalIntentClassifier intentClassifier;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ChatRequestCoalescer(ChatDedupProperties properties, ChatDedupStore clusterStore,
+                                RetrievalIntentClassifier intentClassifier, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clusterStore = clusterStore;
+        this.intentClassifier = intentClassifier;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String execute(ChatRequest request, CancellationToken clientCancellation,
+                          Function<CancellationToken, String> turn) {
+        return execute(request, clientCancellation, turn, answer -> true);
+    }
+
+    /**
+     * Runs {@code turn} with a cancellation token shared by all identical submissions,
+     * or waits for the identical turn already running. Answers failing {@code shareable}
+     * (fallbacks) are returned to the submission that ran the turn only.
+     */
+    public String execute(ChatRequest request, CancellationToken clientCancellation,
+                          Function<CancellationToken, String> turn, Predicate<String> shareable) {
+        if (!properties.isEnabled()
+                || properties.getExcludedIntents().contains(intentClassifier.classify(request.getUserMessage()).reason())) {
+            return turn.apply(clientCancellation);
+        }
+
+        String key = dedupKey(request);
+        Flight[] created = new Flight[1];
+        Flight flight = flights.compute(key, (k, current) -> {
+            if (current != null && current.attach()) {
+                return current;
+            }
+            created[0] = new Flight(clientCancellation.deadline());
+            created[0].attach();
+            return created[0];
+        });
+        clientCancellation.onCancel(() -> flight.detach(clientCancellation.reason()));
+
+        if (flight != created[0]) {
+            count("attached");
+            log.info("Duplicate submission for conversationId= {} attached to the in-flight turn", request.getConversationId());
+            String shared = await(flight, clientCancellation);
+            if (shared != null) {
+                return shared;
+            }
+            count("unshared");
+            return turn.apply(clientCancellation);
+        }
+
+        count("leader");
+        String answer = null;
+        try {
+            answer = properties.getCluster().isEnabled()
+                    ? runClaimed(key, flight, turn, shareable)
+                    : turn.apply(flight.turnCancellation);
+            return answer;
+        } finally {
+            // Only in-flight duplicates share the turn; the next identical message is a new turn
+            flights.remove(key, flight);
+            flight.turnCancellation.close();
+            flight.result.complete(answer != null && shareable.test(answer) ? answer : null);
+        }
+    }
+
+    /**
+     * Drops expired cluster claims and answers; called by the dedup cleanup scheduler.
+     */
+    public void purgeExpired() {
+        if (!properties.getCluster().isEnabled()) {
+            return;
+        }
+        try {
+            int purged = clusterStore.purge(properties.getCluster().getLease(), properties.getWindow());
+            log.debug("Purged {} expired chat dedup claims", purged);
+        } catch (Exception e) {
+            log.warn("Chat dedup purge failed", e);
+        }
+    }
+
+    /* ==================== CLUSTER ==================== */
+
+    private String runClaimed(String key, Flight flight, Function<CancellationToken, String> turn,
+                              Predicate<String> shareable) {
+        ChatDedupProperties.Cluster cluster = properties.getCluster();
+        boolean claimed;
+        try {
+            claimed = clusterStore.tryClaim(key, nodeId, cluster.getLease());
+        } catch (Exception e) {
+            log.warn("Chat dedup claim failed, answering locally", e);
+            return turn.apply(flight.turnCancellation);
+        }
+
+        if (!claimed) {
+            String remote = awaitRemote(key, flight.turnCancellation);
+            if (remote != null) {
+                count("cluster_attached");
+                return remote;
+            }
+            // Owner failed or gave up → answer here
+            return turn.apply(flight.turnCancellation);
+        }
+
+        try {
+            String answer = turn.apply(flight.turnCancellation);
+            if (shareable.test(answer)) {
+                publish(() -> clusterStore.complete(key, nodeId, answer));
+            } else {
+                publish(() -> clusterStore.release(key, nodeId));
+            }
+            return answer;
+        } catch (RuntimeException e) {
+            publish(() -> clusterStore.release(key, nodeId));
+            throw e;
+        }
+    }
+
+    private String awaitRemote(String key, CancellationToken cancellation) {
+        ChatDedupProperties.Cluster cluster = properties.getCluster();
+        long deadline = System.nanoTime() + cluster.getLease().toNanos();
+        while (System.nanoTime() < deadline) {
+            cancellation.throwIfCancelled();
+            ChatDedupStore.Entry entry;
+            try {
+                entry = clusterStore.poll(key);
+            } catch (Exception e) {
+                log.warn("Chat dedup poll failed, answering locally", e);
+                return null;
+            }
+            switch (entry.state()) {
+                case DONE -> {
+                    return entry.response();
+                }
+                case MISSING -> {
+                    return null;
+                }
+                default -> sleep(cluster.getPollInterval(), cancellation);
+            }
+        }
+        return null;
+    }
+
+    private static void publish(Runnable write) {
+        try {
+            write.run();
+        } catch (Exception e) {
+            log.warn("Chat dedup update failed; waiting nodes will time out and answer themselves", e);
+        }
+    }
+
+    /* ==================== HELPERS ==================== */
+
+    private static String await(Flight flight, CancellationToken clientCancellation) {
+        return clientCancellation.callInterruptibly(() -> {
+            try {
+                return flight.result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an identical chat turn", e);
+            }
+        });
+    }
+
+    private static void sleep(Duration interval, CancellationToken cancellation) {
+        try {
+            Thread.sleep(interval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TurnCancelledException(cancellation.isCancelled() ? cancellation.reason() : "interrupted");
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("chat.dedup", "result", result).increment();
+    }
+
+    static String dedupKey(ChatRequest request) {
+        String message = request.getUserMessage() == null ? "" : request.getUserMessage().strip().replaceAll("\\s+", " ");
+        String raw = request.getUserId() + ":" + request.getConversationId() + ":" + message;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
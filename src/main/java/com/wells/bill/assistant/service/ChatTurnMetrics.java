@@ -0,0 +1,63 @@
+package com.wells.bill.assistant.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Chat turn metrics by answering path:
+ * - chat.turn.latency{path=fast|cache|llm} → end-to-end turn time per path
+ * - chat.fastpath{result=hit|miss,intent}   → fast-path hit rate
+ * - chat.response_cache{result=hit|miss|skip} → semantic response cache hit rate
+ * - chat.deadline.exceeded{stage=orchestrator|llm|tool|db|mail} → turns / calls cut off by the request deadline
+ */
+@Component
+public class ChatTurnMetrics {
+
+    public static final String FAST_PATH = "fast";
+    public static final String CACHE_PATH = "cache";
+    public static final String LLM_PATH = "llm";
+
+    public static final String DEADLINE_EXCEEDED = "chat.deadline.exceeded";
+
+    private final MeterRegistry meterRegistry;
+
+    public ChatTurnMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T time(String path, Supplier<T> turn) {
+        return turnTimer(path).record(turn);
+    }
+
+    public void record(String path, long nanos) {
+        turnTimer(path).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFastPath(boolean hit, String intent) {
+        meterRegistry.counter(
+                "chat.fastpath",
+                "result", hit ? "hit" : "miss",
+                "intent", intent
+        ).increment();
+    }
+
+    public void recordResponseCache(String result) {
+        meterRegistry.counter("chat.response_cache", "result", result).increment();
+    }
+
+    public void recordDeadlineExceeded(String stage) {
+        meterRegistry.counter(DEADLINE_EXCEEDED, "stage", stage).increment();
+    }
+
+    private Timer turnTimer(String path) {
+        return Timer.builder("chat.turn.latency")
+                .description("End-to-end chat turn latency by answering path")
+                .tag("path", path)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.model.LlmPriority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Folds older chat turns into a short running summary.
+ * <p>
+ * Uses its own ChatClient without the default advisors: the summary call must not
+ * read or write chat memory itself.
+ */
+@Slf4j
+@Service
+public class ConversationSummarizer {
+
+    private static final String SYSTEM_PROMPT = """
+            You maintain a running summary of a conversation between a user and a bill payment assistant.
+            Merge the previous summary with the new messages into one updated summary.
+            Keep: provider names, amounts, due dates, bill and payment states, pending actions and user preferences.
+            Drop: greetings, repeated lists, formatting and anything already resolved.
+            Answer with the summary only, at most %d words.
+            """;
+
+    private final ChatClient chatClient;
+    private final LlmDispatcher llmDispatcher;
+
+    public ConversationSummarizer(ChatClient.Builder builder, LlmDispatcher llmDispatcher) {
+        this.chatClient = builder.build();
+        this.llmDispatcher = llmDispatcher;
+    }
+
+    public String summarize(String previousSummary, List<Message> messages, int maxTokens) {
+        String transcript = messages.stream()
+                .map(m -> m.getMessageType().getValue() + ": " + m.getText())
+                .collect(Collectors.joining("\n"));
+
+        String user = """
+                Previous summary:
+                %s
+
+                New messages:
+                %s
+                """.formatted(previousSummary == null || previousSummary.isBlank() ? "(none)" : previousSummary, transcript);
+
+        // Background housekeeping → lowest admission class; ~0.75 words per token
+        String summary = llmDispatcher.execute(LlmPriority.ANALYTICS, "conversation-summary", () -> chatClient.prompt()
+                .system(SYSTEM_PROMPT.formatted(maxTokens * 3 / 4))
+                .user(user)
+                .call()
+                .content());
+
+        return truncate(summary == null ? "" : summary.trim(), maxTokens);
+    }
+
+    static String truncate(String text, int maxTokens) {
+        int maxChars = maxTokens * 4;
+        return text.length() <= maxChars ? text : text.substring(0, maxChars);
+    }
+}
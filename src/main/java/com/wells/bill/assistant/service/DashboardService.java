@@ -0,0 +1,120 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.entity.BillEntity;
+import com.wells.bill.assistant.entity.PaymentEntity;
+import com.wells.bill.assistant.model.AccountOverview;
+import com.wells.bill.assistant.model.BillCategory;
+import com.wells.bill.assistant.model.BillStatus;
+import com.wells.bill.assistant.repository.BillRepository;
+import com.wells.bill.assistant.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.*;
+
+/**
+ * Pre-aggregated account overview: five small indexed queries instead of
+ * loading every bill and payment and letting the model add them up.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    static final int MAX_NEXT_DUES = 10;
+    private static final int MAX_RECENT_FAILURES = 5;
+    private static final Duration FAILURE_LOOKBACK = Duration.ofDays(30);
+
+    private final Clock clock;
+    private final BillRepository billRepository;
+    private final PaymentRepository paymentRepository;
+
+    @Transactional(readOnly = true)
+    public AccountOverview overview(UUID userId, int nextDuesLimit) {
+        LocalDate today = LocalDate.now(clock);
+        YearMonth month = YearMonth.from(today);
+        Instant monthStart = month.atDay(1).atStartOfDay(clock.getZone()).toInstant();
+        int limit = Math.clamp(nextDuesLimit, 1, MAX_NEXT_DUES);
+
+        // Bills by status
+        Map<BillStatus, AccountOverview.StatusTotal> byStatus = new EnumMap<>(BillStatus.class);
+        BigDecimal outstanding = BigDecimal.ZERO;
+        for (Object[] row : billRepository.summarizeByStatus(userId)) {
+            BillStatus status = (BillStatus) row[0];
+            BigDecimal amount = toBigDecimal(row[2]);
+            byStatus.put(status, new AccountOverview.StatusTotal(((Number) row[1]).longValue(), amount));
+            if (status != null && BillService.UNPAID_STATUSES.contains(status)) {
+                outstanding = outstanding.add(amount);
+            }
+        }
+
+        // Overdue
+        long overdueCount = 0;
+        BigDecimal overdueTotal = BigDecimal.ZERO;
+        List<Object[]> overdue = billRepository.summarizeOverdue(userId, BillService.UNPAID_STATUSES, today);
+        if (!overdue.isEmpty()) {
+            overdueCount = ((Number) overdue.getFirst()[0]).longValue();
+            overdueTotal = toBigDecimal(overdue.getFirst()[1]);
+        }
+
+        // Next dues
+        List<AccountOverview.UpcomingDue> nextDues = billRepository
+                .findUpcomingDues(userId, BillService.UNPAID_STATUSES, today, PageRequest.of(0, limit))
+                .stream()
+                .map(DashboardService::toUpcomingDue)
+                .toList();
+
+        // Month-to-date payments by category
+        Map<String, BigDecimal> paidByCategory = new TreeMap<>();
+        BigDecimal paidTotal = BigDecimal.ZERO;
+        for (Object[] row : paymentRepository.sumSuccessfulByCategorySince(userId, monthStart)) {
+            String category = row[0] == null ? "OTHER" : ((BillCategory) row[0]).name();
+            BigDecimal amount = toBigDecimal(row[1]);
+            paidByCategory.merge(category, amount, BigDecimal::add);
+            paidTotal = paidTotal.add(amount);
+        }
+
+        // Recent failures
+        List<AccountOverview.FailedPayment> failures = paymentRepository
+                .findRecentFailures(userId, clock.instant().minus(FAILURE_LOOKBACK), PageRequest.of(0, MAX_RECENT_FAILURES))
+                .stream()
+                .map(p -> toFailedPayment(p, clock.getZone()))
+                .toList();
+
+        log.info("Account overview for userId={}: statuses={}, overdue={}, nextDues={}, failures={}",
+                userId, byStatus.size(), overdueCount, nextDues.size(), failures.size());
+
+        return new AccountOverview(
+                today, month,
+                byStatus, outstanding, overdueCount, overdueTotal, nextDues,
+                paidByCategory, paidTotal, failures
+        );
+    }
+
+    private static AccountOverview.UpcomingDue toUpcomingDue(BillEntity bill) {
+        return new AccountOverview.UpcomingDue(
+                bill.getProviderName(), bill.getBillCategory(), bill.getAmountDue(), bill.getCurrency(), bill.getDueDate());
+    }
+
+    private static AccountOverview.FailedPayment toFailedPayment(PaymentEntity payment, ZoneId zone) {
+        Instant when = payment.getUpdatedAt() != null ? payment.getUpdatedAt() : payment.getCreatedAt();
+        return new AccountOverview.FailedPayment(
+                payment.getProviderName(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                when == null ? null : LocalDate.ofInstant(when, zone),
+                payment.getFailureReason());
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
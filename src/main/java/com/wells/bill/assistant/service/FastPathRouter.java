@@ -0,0 +1,204 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.model.BillDetail;
+import com.wells.bill.assistant.model.BillStatus;
+import com.wells.bill.assistant.model.ChatRequest;
+import com.wells.bill.assistant.tools.BillQueryTool;
+import com.wells.bill.assistant.util.ConversationContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Answers templated questions ("show unpaid bills", "what's due this week", "total overdue")
+ * straight from the deterministic BillQueryTool methods, without a Gemini round trip.
+ * <p>
+ * Patterns are anchored to the whole message, so only short, unambiguous requests hit;
+ * anything else falls through to the LLM. Both the user message and the templated reply
+ * are written to chat memory so follow-up turns keep their context.
+ */
+@Slf4j
+@Service
+public class FastPathRouter {
+
+    private static final String NONE = "none";
+
+    // answer(tool, today)
+    private record FastIntent(Pattern pattern, BiFunction<BillQueryTool, LocalDate, String> answer) {
+    }
+
+    private static final String POLITE = "(please\\s+)?";
+    private static final String END = "(\\s+please)?[?.!\\s]*$";
+
+    // Checked in order; first match wins
+    private static final Map<String, FastIntent> INTENTS = new LinkedHashMap<>();
+
+    static {
+        INTENTS.put("unpaid_bills", new FastIntent(Pattern.compile(
+                "^" + POLITE + "((show|list|display|get|give)\\s+(me\\s+)?)?(all\\s+)?(my\\s+)?(all\\s+)?unpaid bills" + END),
+                (tool, today) -> renderBills(tool.listUnpaidBills(), "unpaid bills", today)));
+
+        INTENTS.put("due_this_week", new FastIntent(Pattern.compile(
+                "^" + POLITE + "(what('s|\\s+is|\\s+are)\\s+|which bills are\\s+|(show|list)\\s+(me\\s+)?(my\\s+)?)?(bills\\s+)?due this week" + END),
+                (tool, today) -> renderBills(tool.listBillsDueInNextNDays(7), "bills due in the next 7 days", today)));
+
+        INTENTS.put("due_soon", new FastIntent(Pattern.compile(
+                "^" + POLITE + "(what('s|\\s+is|\\s+are)\\s+|which bills are\\s+|(show|list)\\s+(me\\s+)?(my\\s+)?)?(bills\\s+)?due soon" + END),
+                (tool, today) -> renderBills(tool.listBillsDueSoon(), "bills due soon", today)));
+
+        INTENTS.put("total_overdue", new FastIntent(Pattern.compile(
+                "^(what('s|\\s+is)\\s+)?(my\\s+)?(the\\s+)?total overdue(\\s+amount)?" + END),
+                (tool, today) -> renderTotal(tool.listUnpaidBills().stream()
+                        .filter(b -> isOverdue(b, today))
+                        .toList(), "overdue")));
+
+        INTENTS.put("total_outstanding", new FastIntent(Pattern.compile(
+                "^(what('s|\\s+is)\\s+)?(my\\s+)?(the\\s+)?total (outstanding|unpaid|due)(\\s+amount)?" + END
+                        + "|^how much do i owe" + END),
+                (tool, today) -> renderTotal(tool.listUnpaidBills(), "outstanding")));
+    }
+
+    private final BillQueryTool billQueryTool;
+    private final ChatMemory chatMemory;
+    private final ChatTurnMetrics chatTurnMetrics;
+    private final Clock clock;
+
+    public FastPathRouter(BillQueryTool billQueryTool,
+                          @Qualifier("chatMemory") ChatMemory chatMemory,
+                          ChatTurnMetrics chatTurnMetrics,
+                          Clock clock) {
+        this.billQueryTool = billQueryTool;
+        this.chatMemory = chatMemory;
+        this.chatTurnMetrics = chatTurnMetrics;
+        this.clock = clock;
+    }
+
+    /**
+     * Templated reply when the message is a recognized canned intent, empty otherwise.
+     */
+    public Optional<String> tryAnswer(ChatRequest request) {
+        String intent = match(request.getUserMessage());
+        if (intent == null) {
+            chatTurnMetrics.recordFastPath(false, NONE);
+            return Optional.empty();
+        }
+
+        try {
+            String reply = chatTurnMetrics.time(ChatTurnMetrics.FAST_PATH, () ->
+                    ConversationContextHolder.callWith(
+                            request.getUserId(),
+                            request.getConversationId(),
+                            () -> INTENTS.get(intent).answer().apply(billQueryTool, LocalDate.now(clock))
+                    ));
+
+            chatMemory.add(String.valueOf(request.getConversationId()), List.of(
+                    new UserMessage(request.getUserMessage()),
+                    new AssistantMessage(reply)
+            ));
+
+            chatTurnMetrics.recordFastPath(true, intent);
+            log.info("Fast path answered conversationId= {} with intent={}", request.getConversationId(), intent);
+            return Optional.of(reply);
+        } catch (Exception e) {
+            // Never fail the turn here; the LLM path can still answer
+            log.warn("Fast path intent={} failed, falling through to LLM", intent, e);
+            chatTurnMetrics.recordFastPath(false, intent);
+            return Optional.empty();
+        }
+    }
+
+    static String match(String userMessage) {
+        if (userMessage == null) {
+            return null;
+        }
+        String text = userMessage.toLowerCase(Locale.ROOT).trim();
+        for (Map.Entry<String, FastIntent> intent : INTENTS.entrySet()) {
+            if (intent.getValue().pattern().matcher(text).find()) {
+                return intent.getKey();
+            }
+        }
+        return null;
+    }
+
+    /* ==================== TEMPLATES ==================== */
+
+    static String renderBills(List<BillDetail> bills, String label, LocalDate today) {
+        if (bills.isEmpty()) {
+            return "You have no " + label + ". 🎉";
+        }
+
+        List<BillDetail> sorted = bills.stream()
+                .sorted(Comparator.comparing(BillDetail::dueDate, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        StringBuilder sb = new StringBuilder("You have ")
+                .append(sorted.size()).append(' ').append(label).append(":\n");
+        for (BillDetail bill : sorted) {
+            sb.append("- ")
+                    .append(bill.providerName() != null ? bill.providerName() : "Unknown provider")
+                    .append(bill.billCategory() != null ? " (" + bill.billCategory().name() + ")" : "")
+                    .append(": ")
+                    .append(formatAmount(bill))
+                    .append(bill.dueDate() != null ? ", due " + bill.dueDate() : "")
+                    .append(isOverdue(bill, today) ? " ⚠️ overdue" : "")
+                    .append('\n');
+        }
+        return sb.toString().trim();
+    }
+
+    static String renderTotal(List<BillDetail> bills, String label) {
+        if (bills.isEmpty()) {
+            return "You have nothing " + label + ". 🎉";
+        }
+
+        // Bills can be in different currencies; never add them together
+        Map<String, BigDecimal> totals = bills.stream()
+                .filter(b -> b.amountDue() != null && b.amountDue().amount() != null)
+                .collect(Collectors.groupingBy(
+                        FastPathRouter::currencyCode,
+                        TreeMap::new,
+                        Collectors.reducing(BigDecimal.ZERO, b -> b.amountDue().amount(), BigDecimal::add)
+                ));
+
+        String amounts = totals.entrySet().stream()
+                .map(e -> (e.getKey().isEmpty() ? "" : e.getKey() + " ") + e.getValue().toPlainString())
+                .collect(Collectors.joining(" + "));
+
+        return "Your total %s amount is %s across %d bill%s.".formatted(
+                label, amounts, bills.size(), bills.size() == 1 ? "" : "s");
+    }
+
+    /**
+     * Unpaid and past its due date, same rule as the dashboard's summarizeOverdue.
+     * The OVERDUE status is only set by the nightly scheduler (and only from VERIFIED),
+     * so it lags and misses UPLOADED/INGESTED bills.
+     */
+    static boolean isOverdue(BillDetail bill, LocalDate today) {
+        return BillService.UNPAID_STATUSES.contains(bill.status())
+                && bill.dueDate() != null
+                && bill.dueDate().isBefore(today);
+    }
+
+    private static String formatAmount(BillDetail bill) {
+        if (bill.amountDue() == null || bill.amountDue().amount() == null) {
+            return "amount unknown";
+        }
+        String code = currencyCode(bill);
+        return (code.isEmpty() ? "" : code + " ") + bill.amountDue().amount().toPlainString();
+    }
+
+    private static String currencyCode(BillDetail bill) {
+        return bill.amountDue().currency() != null ? bill.amountDue().currency().getCurrencyCode() : "";
+    }
+}
@@ -0,0 +1,105 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.builder.BillFilterTemplates;
+import com.wells.bill.assistant.config.RetrievalProperties;
+import com.wells.bill.assistant.model.QueryFilters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.rag.retrieval.search.DocumentRetriever;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Two-stage retrieval for the chat path.
+ * <p>
+ * Stage 1 ranks the user's bills on bill_summary_store (one vector per bill), stage 2
+ * fetches chunks only from the selected bills and keeps at most
+ * {@code chunksPerBill} per bill, so the prompt context stays small and is not
+ * dominated by near-duplicate boilerplate from a single provider.
+ * Falls back to a flat chunk search when no summary matches, and tops the result up
+ * from a flat search when fewer than {@code summaryTopK} summaries match, so bills
+ * without a summary yet (ingested before summaries existed, awaiting backfill) are
+ * never hidden behind a partial match.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HierarchicalBillRetriever {
+
+    private final VectorStore vectorStore;
+    private final BillSummaryIndex billSummaryIndex;
+    private final QueryUnderstandingService queryUnderstandingService;
+    private final RetrievalMetrics retrievalMetrics;
+    private final RetrievalProperties properties;
+
+    /**
+     * Per-turn retriever; self-querying filters apply to both stages.
+     */
+    public DocumentRetriever forUser(UUID userId, String userMessage) {
+        QueryFilters filters = queryUnderstandingService.extract(userId, userMessage);
+        Filter.Expression filter = queryUnderstandingService.toFilterExpression(userId, filters);
+
+        return query -> retrievalMetrics.timeRetrieval(() -> retrieve(query.text(), filter, filters.isEmpty()));
+    }
+
+    private List<Document> retrieve(String query, Filter.Expression filter, boolean unfiltered) {
+        List<UUID> billIds = billSummaryIndex.selectBills(query, filter, properties.getSummaryTopK());
+
+        if (billIds.isEmpty()) {
+            retrievalMetrics.recordPath("flat");
+            return flatSearch(query, filter, unfiltered);
+        }
+
+        // Oversample so the per-bill cap still leaves each selected bill represented
+        List<Document> candidates = vectorStore.similaritySearch(SearchRequest.builder()
+                .query(query)
+                .filterExpression(BillFilterTemplates.BILLS.bind(Map.of(BillFilterTemplates.BILL_IDS, billIds)))
+                .topK(billIds.size() * properties.getChunksPerBill() * 2)
+                .build());
+
+        if (billIds.size() < properties.getSummaryTopK()) {
+            // Some matching bills may have no summary row → add the best flat hits from other bills
+            retrievalMetrics.recordPath("hierarchical_partial");
+            Set<String> selectedBills = new HashSet<>();
+            billIds.forEach(id -> selectedBills.add(id.toString()));
+            List<Document> merged = new ArrayList<>(candidates);
+            for (Document chunk : flatSearch(query, filter, unfiltered)) {
+                if (!selectedBills.contains(String.valueOf(chunk.getMetadata().get("billId")))) {
+                    merged.add(chunk);
+                }
+            }
+            candidates = merged;
+        } else {
+            retrievalMetrics.recordPath("hierarchical");
+        }
+
+        List<Document> selected = capPerBill(candidates, properties.getChunksPerBill());
+        log.debug("Hierarchical retrieval selected {} chunks from {} bills", selected.size(), billIds.size());
+        return selected;
+    }
+
+    private List<Document> flatSearch(String query, Filter.Expression filter, boolean unfiltered) {
+        return vectorStore.similaritySearch(SearchRequest.builder()
+                .query(query)
+                .filterExpression(filter)
+                .topK(unfiltered ? properties.getDefaultTopK() : properties.getFilteredTopK())
+                .build());
+    }
+
+    static List<Document> capPerBill(List<Document> rankedChunks, int perBill) {
+        Map<Object, Integer> taken = new HashMap<>();
+        List<Document> selected = new ArrayList<>();
+        for (Document chunk : rankedChunks) {
+            Object billId = chunk.getMetadata().get("billId");
+            if (taken.merge(billId, 1, Integer::sum) <= perBill) {
+                selected.add(chunk);
+            }
+        }
+        return selected;
+    }
+}
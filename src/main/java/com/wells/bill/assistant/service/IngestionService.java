@@ -1,13 +1,16 @@
 package com.wells.bill.assistant.service;
 
 import com.wells.bill.assistant.entity.BillEntity;
+import com.wells.bill.assistant.event.BillUpdatedEvent;
 import com.wells.bill.assistant.model.BillStatus;
 import com.wells.bill.assistant.repository.BillRepository;
+import com.wells.bill.assistant.util.BillMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
@@ -23,6 +26,8 @@ public class IngestionService {
 
     private final VectorStore vectorStore;
     private final BillRepository billRepository;
+    private final BillSummaryIndex billSummaryIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Ingests a bill document and links vector chunks to BillEntity.
@@ -55,7 +60,8 @@ public class IngestionService {
                 putIfNotNull(metadata, "chunkIndex", i);
                 putIfNotNull(metadata, "ingestedAt", now.toString());
                 putIfNotNull(metadata, "ingestionVersion", "v1");
-                putIfNotNull(metadata, "billStatus", bill.getStatus().toString());
+                // Tag with the post-ingestion status; later transitions are synced by VectorStoreSyncService
+                putIfNotNull(metadata, "billStatus", BillStatus.INGESTED.toString());
                 putIfNotNull(metadata, "billCategory", null != bill.getBillCategory() ? bill.getBillCategory().name() : "Unknown");
                 putIfNotNull(metadata, "amountDue", bill.getAmountDue().toString());
                 putIfNotNull(metadata, "dueDate", bill.getDueDate().toString());
@@ -87,6 +93,10 @@ public class IngestionService {
             bill.setIngestedAt(now);
             bill.setStatus(BillStatus.INGESTED);
 
+            // One summary vector per bill → first stage of hierarchical retrieval
+            billSummaryIndex.index(BillMapper.toDetail(bill));
+            eventPublisher.publishEvent(new BillUpdatedEvent(bill.getId(), bill.getUserId()));
+
             log.info("Successfully ingested bill: {} into: {} chunks", billId, mutableDocuments.size());
             return mutableDocuments.size();
         } catch (Exception e) {
@@ -0,0 +1,250 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.LlmDispatcherProperties;
+import com.wells.bill.assistant.exception.LlmOverloadedException;
+import com.wells.bill.assistant.model.LlmPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Single admission point for every LLM call in the app.
+ * <p>
+ * - at most {@code maxConcurrent} calls in flight
+ * - waiting calls are served by priority class, and round-robin across users within a class
+ * - a call that waits past its class deadline fails instead of piling up
+ * - when the queue is full, the newest call of the lowest queued class is shed
+ * (or the incoming call, if nothing queued ranks below it)
+ * <p>
+ * Callers block while queued; on virtual threads that is cheap.
+ * Metrics: llm.dispatcher.in_flight, llm.dispatcher.queued, llm.dispatcher.wait{priority},
+ * llm.dispatcher.rejected{priority,reason}.
+ */
+@Slf4j
+@Service
+public class LlmDispatcher {
+
+    private final LlmDispatcherProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // priority → user key → that user's waiting tickets (LinkedHashMap order = round-robin order)
+    private final Map<LlmPriority, LinkedHashMap<String, Deque<Ticket>>> waiting = new EnumMap<>(LlmPriority.class);
+    private int inFlight;
+    private int queued;
+    private long enqueued;
+
+    private static final class Ticket {
+        private final LlmPriority priority;
+        private final String userKey;
+        private final CompletableFuture<Void> admitted = new CompletableFuture<>();
+        // Arrival order across all users; set under the lock when queued
+        private long sequence;
+
+        private Ticket(LlmPriority priority, String userKey) {
+            this.priority = priority;
+            this.userKey = userKey;
+        }
+    }
+
+    /**
+     * Held for the duration of one LLM call; closing it admits the next waiter.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public LlmDispatcher(LlmDispatcherProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (LlmPriority priority : LlmPriority.values()) {
+            waiting.put(priority, new LinkedHashMap<>());
+        }
+
+        Gauge.builder("llm.dispatcher.in_flight", this, d -> d.inFlight)
+                .description("LLM calls currently running")
+                .register(meterRegistry);
+        Gauge.builder("llm.dispatcher.queued", this, d -> d.queued)
+                .description("LLM calls waiting for admission")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(LlmPriority priority, String userKey, Supplier<T> call) {
+        try (Permit ignored = acquire(priority, userKey)) {
+            return call.get();
+        }
+    }
+
+    public Permit acquire(LlmPriority priority, String userKey) {
+        long start = System.nanoTime();
+        Ticket ticket = new Ticket(priority, userKey == null ? "anonymous" : userKey);
+
+        lock.lock();
+        try {
+            if (queued == 0 && inFlight < properties.getMaxConcurrent()) {
+                inFlight++;
+                recordWait(priority, start);
+                return this::release;
+            }
+            enqueue(ticket);
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            ticket.admitted.get(properties.queueTimeoutFor(priority).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (abandon(ticket)) {
+                throw reject(priority, "deadline", "The assistant is busy right now. Please try again in a moment.");
+            }
+            // Admitted between the timeout and the abandon attempt → proceed
+        } catch (ExecutionException e) {
+            // Shed while queued
+            throw (LlmOverloadedException) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (abandon(ticket)) {
+                throw reject(priority, "interrupted", "The request was cancelled while waiting for the assistant.");
+            }
+        }
+
+        recordWait(priority, start);
+        return this::release;
+    }
+
+    int queuedCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ==================== QUEUE ==================== */
+
+    private void enqueue(Ticket ticket) {
+        if (queued >= properties.getMaxQueued()) {
+            Ticket victim = lowestQueuedBelow(ticket.priority);
+            if (victim == null) {
+                throw reject(ticket.priority, "queue_full", "The assistant is overloaded. Please try again shortly.");
+            }
+            remove(victim);
+            victim.admitted.completeExceptionally(
+                    reject(victim.priority, "shed", "The assistant is prioritising other requests. Please try again shortly."));
+        }
+
+        ticket.sequence = enqueued++;
+        waiting.get(ticket.priority)
+                .computeIfAbsent(ticket.userKey, k -> new ArrayDeque<>())
+                .addLast(ticket);
+        queued++;
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            Ticket next = nextTicket();
+            if (next != null) {
+                inFlight++;
+                next.admitted.complete(null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Highest class first; within a class, the user at the head goes to the back
+    private Ticket nextTicket() {
+        for (LlmPriority priority : LlmPriority.values()) {
+            LinkedHashMap<String, Deque<Ticket>> users = waiting.get(priority);
+            Iterator<Map.Entry<String, Deque<Ticket>>> it = users.entrySet().iterator();
+            if (!it.hasNext()) {
+                continue;
+            }
+            Map.Entry<String, Deque<Ticket>> head = it.next();
+            Ticket ticket = head.getValue().pollFirst();
+            it.remove();
+            if (!head.getValue().isEmpty()) {
+                users.put(head.getKey(), head.getValue());
+            }
+            queued--;
+            return ticket;
+        }
+        return null;
+    }
+
+    // Most recently queued ticket of the lowest class the incoming call outranks
+    private Ticket lowestQueuedBelow(LlmPriority incoming) {
+        LlmPriority[] priorities = LlmPriority.values();
+        for (int i = priorities.length - 1; i >= 0; i--) {
+            LlmPriority priority = priorities[i];
+            if (!incoming.outranks(priority)) {
+                return null;
+            }
+            Ticket newest = null;
+            for (Deque<Ticket> tickets : waiting.get(priority).values()) {
+                Ticket last = tickets.peekLast();
+                if (last != null && (newest == null || last.sequence > newest.sequence)) {
+                    newest = last;
+                }
+            }
+            if (newest != null) {
+                return newest;
+            }
+        }
+        return null;
+    }
+
+    private boolean abandon(Ticket ticket) {
+        lock.lock();
+        try {
+            if (ticket.admitted.isDone()) {
+                return false;
+            }
+            remove(ticket);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Ticket ticket) {
+        LinkedHashMap<String, Deque<Ticket>> users = waiting.get(ticket.priority);
+        Deque<Ticket> tickets = users.get(ticket.userKey);
+        if (tickets != null && tickets.remove(ticket)) {
+            queued--;
+            if (tickets.isEmpty()) {
+                users.remove(ticket.userKey);
+            }
+        }
+    }
+
+    /* ==================== METRICS ==================== */
+
+    private LlmOverloadedException reject(LlmPriority priority, String reason, String message) {
+        meterRegistry.counter("llm.dispatcher.rejected", "priority", priority.name(), "reason", reason).increment();
+        log.warn("LLM call rejected: priority={}, reason={}, inFlight={}, queued={}", priority, reason, inFlight, queued);
+        return new LlmOverloadedException(message, priority);
+    }
+
+    private void recordWait(LlmPriority priority, long startNanos) {
+        Timer.builder("llm.dispatcher.wait")
+                .description("Time an LLM call waited for admission")
+                .tag("priority", priority.name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,229 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.ModelRoutingProperties;
+import com.wells.bill.assistant.exception.LlmOverloadedException;
+import com.wells.bill.assistant.exception.TurnCancelledException;
+import com.wells.bill.assistant.model.ModelTier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the chat model per request and escalates to the large one when the fast
+ * model's output fails validation.
+ * <p>
+ * Chat turns go FAST only when the message is short, its intent class is simple
+ * (listing, totals, an action, a code) and few tools are routed; anything asking
+ * why / compare / plan, or needing document retrieval, goes LARGE. Extraction
+ * callers (bill parsing) start on FAST and rely on escalation.
+ * <p>
+ * Escalation re-runs the whole call, so it is refused when that would repeat side
+ * effects: for payment / confirmation intents, and whenever the caller reports that a
+ * tool already ran during the failed attempt.
+ * <p>
+ * Metrics per model: llm.model.latency{model,tier,caller,outcome},
+ * llm.model.tokens{model,type}, llm.model.cost{model}, llm.model.escalations{caller},
+ * llm.model.escalations.refused{caller}.
+ * Calls whose turn was abandoned by the client are recorded with outcome=abandoned, their
+ * time in llm.model.wasted{model} and their spend in llm.model.wasted.tokens{model,type} /
+ * llm.model.wasted.cost{model}. A call cancelled mid-flight has no response and so no usage;
+ * it still counts there, with zero tokens.
+ */
+@Slf4j
+@Component
+public class ModelRouter {
+
+    /**
+     * @param escalate whether a failed FAST attempt may be re-run on LARGE
+     */
+    public record ModelChoice(ModelTier tier, String reason, boolean escalate) {
+
+        public ModelChoice(ModelTier tier, String reason) {
+            this(tier, reason, tier == ModelTier.FAST);
+        }
+    }
+
+    public enum CallOutcome {
+        SUCCESS, FAILURE, ABANDONED
+    }
+
+    private static final Pattern REASONING = Pattern.compile(
+            "\\b(why|compare|comparison|analy[sz]e|should i|recommend|plan|strategy|reason|difference|versus|vs)\\b");
+
+    private final ModelRoutingProperties properties;
+    private final RetrievalIntentClassifier intentClassifier;
+    private final MeterRegistry meterRegistry;
+
+    public ModelRouter(ModelRoutingProperties properties,
+                       RetrievalIntentClassifier intentClassifier,
+                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.intentClassifier = intentClassifier;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ModelChoice chooseForChat(String userMessage, int toolCount) {
+        if (!properties.isEnabled()) {
+            return new ModelChoice(ModelTier.LARGE, "routing_disabled");
+        }
+        String text = userMessage == null ? "" : userMessage.toLowerCase(Locale.ROOT).trim();
+
+        if (text.length() > properties.getFastMaxMessageChars()) {
+            return new ModelChoice(ModelTier.LARGE, "long_message");
+        }
+        if (REASONING.matcher(text).find()) {
+            return new ModelChoice(ModelTier.LARGE, "reasoning");
+        }
+        if (toolCount > properties.getFastMaxTools()) {
+            return new ModelChoice(ModelTier.LARGE, "many_tools");
+        }
+        String intent = intentClassifier.classify(text).reason();
+        if (!properties.getFastIntents().contains(intent)) {
+            return new ModelChoice(ModelTier.LARGE, "intent_" + intent);
+        }
+        return new ModelChoice(ModelTier.FAST, "intent_" + intent, !properties.getNoEscalationIntents().contains(intent));
+    }
+
+    /**
+     * Initial tier for structured extraction (JSON out of bill text).
+     */
+    public ModelTier chooseForExtraction() {
+        return properties.isEnabled() ? ModelTier.FAST : ModelTier.LARGE;
+    }
+
+    /**
+     * Runtime options for a tier; tool callbacks are merged in by ChatClient.
+     */
+    public ChatOptions options(ModelTier tier) {
+        ModelRoutingProperties.Model model = properties.model(tier);
+        return ToolCallingChatOptions.builder()
+                .model(model.getName())
+                .temperature(model.getTemperature())
+                .build();
+    }
+
+    /**
+     * Runs {@code call} on {@code tier}; if the call fails or {@code validate} rejects the
+     * response on the FAST model, runs it once more on LARGE.
+     *
+     * @param validate maps the response to the caller's result, throwing when it is unusable
+     */
+    public <T> T call(String caller, ModelTier tier,
+                      Function<ChatOptions, ChatResponse> call,
+                      Function<ChatResponse, T> validate) {
+        return call(caller, tier, call, validate, () -> true);
+    }
+
+    /**
+     * Same, but the LARGE re-run only happens when {@code mayEscalate} still agrees after
+     * the FAST attempt failed (e.g. no tool ran during it); otherwise the failure is rethrown.
+     */
+    public <T> T call(String caller, ModelTier tier,
+                      Function<ChatOptions, ChatResponse> call,
+                      Function<ChatResponse, T> validate,
+                      BooleanSupplier mayEscalate) {
+        try {
+            return attempt(caller, tier, call, validate);
+        } catch (LlmOverloadedException | TurnCancelledException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (tier != ModelTier.FAST) {
+                throw e;
+            }
+            if (!mayEscalate.getAsBoolean()) {
+                log.info("Not escalating {} to LARGE model after a failed FAST attempt: {}", caller, e.getMessage());
+                meterRegistry.counter("llm.model.escalations.refused", "caller", caller).increment();
+                throw e;
+            }
+            log.info("Escalating {} from FAST to LARGE model: {}", caller, e.getMessage());
+            meterRegistry.counter("llm.model.escalations", "caller", caller).increment();
+            return attempt(caller, ModelTier.LARGE, call, validate);
+        }
+    }
+
+    /**
+     * Latency / token / cost accounting for calls made outside {@link #call} (streaming).
+     */
+    public void record(String caller, ModelTier tier, long nanos, ChatResponse response, boolean success) {
+        record(caller, tier, nanos, response, success ? CallOutcome.SUCCESS : CallOutcome.FAILURE);
+    }
+
+    public void record(String caller, ModelTier tier, long nanos, ChatResponse response, CallOutcome outcome) {
+        String model = modelName(tier);
+        Timer.builder("llm.model.latency")
+                .description("Chat model call latency by model and caller")
+                .tag("model", model)
+                .tag("tier", tier.name())
+                .tag("caller", caller)
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        Usage usage = response == null || response.getMetadata() == null ? null : response.getMetadata().getUsage();
+        long input = usage == null || usage.getPromptTokens() == null ? 0 : usage.getPromptTokens();
+        long output = usage == null || usage.getCompletionTokens() == null ? 0 : usage.getCompletionTokens();
+        BigDecimal cost = cost(tier, input, output);
+        if (usage != null) {
+            meterRegistry.counter("llm.model.tokens", "model", model, "type", "input").increment(input);
+            meterRegistry.counter("llm.model.tokens", "model", model, "type", "output").increment(output);
+            meterRegistry.counter("llm.model.cost", "model", model).increment(cost.doubleValue());
+        }
+
+        if (outcome == CallOutcome.ABANDONED) {
+            // Paid for (or at least waited for), never delivered
+            Timer.builder("llm.model.wasted")
+                    .description("Time spent on model calls whose turn was abandoned")
+                    .tag("model", model)
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("llm.model.wasted.tokens", "model", model, "type", "input").increment(input);
+            meterRegistry.counter("llm.model.wasted.tokens", "model", model, "type", "output").increment(output);
+            meterRegistry.counter("llm.model.wasted.cost", "model", model).increment(cost.doubleValue());
+        }
+    }
+
+    private BigDecimal cost(ModelTier tier, long input, long output) {
+        ModelRoutingProperties.Model config = properties.model(tier);
+        return config.getCostPer1kInputTokens().multiply(BigDecimal.valueOf(input))
+                .add(config.getCostPer1kOutputTokens().multiply(BigDecimal.valueOf(output)))
+                .divide(BigDecimal.valueOf(1000), 8, RoundingMode.HALF_UP);
+    }
+
+    private <T> T attempt(String caller, ModelTier tier,
+                          Function<ChatOptions, ChatResponse> call,
+                          Function<ChatResponse, T> validate) {
+        long start = System.nanoTime();
+        ChatResponse response = null;
+        CallOutcome outcome = CallOutcome.FAILURE;
+        try {
+            response = call.apply(options(tier));
+            T result = validate.apply(response);
+            outcome = CallOutcome.SUCCESS;
+            return result;
+        } catch (TurnCancelledException e) {
+            outcome = CallOutcome.ABANDONED;
+            throw e;
+        } finally {
+            record(caller, tier, System.nanoTime() - start, response, outcome);
+        }
+    }
+
+    private String modelName(ModelTier tier) {
+        String name = properties.model(tier).getName();
+        return name == null ? "default" : name;
+    }
+}
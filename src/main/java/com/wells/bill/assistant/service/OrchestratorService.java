@@ -1,16 +1,39 @@
 package com.wells.bill.assistant.service;
 
+import com.wells.bill.assistant.exception.LlmOverloadedException;
+import com.wells.bill.assistant.exception.TurnCancelledException;
 import com.wells.bill.assistant.model.ChatRequest;
-import com.wells.bill.assistant.tools.BillQueryTool;
-import com.wells.bill.assistant.tools.PaymentIntentTool;
-import com.wells.bill.assistant.tools.PaymentInsightTool;
-import com.wells.bill.assistant.tools.PaymentQueryTool;
+import com.wells.bill.assistant.model.ChatStreamEvent;
+import com.wells.bill.assistant.model.LlmPriority;
+import com.wells.bill.assistant.model.ModelTier;
+import com.wells.bill.assistant.service.RetrievalIntentClassifier.RetrievalDecision;
+import com.wells.bill.assistant.store.TurnChatMemory;
+import com.wells.bill.assistant.tools.ChatToolCallbacks;
+import com.wells.bill.assistant.tools.ToolRouter;
+import com.wells.bill.assistant.util.CancellationToken;
 import com.wells.bill.assistant.util.ConversationContextHolder;
+import com.wells.bill.assistant.util.Deadline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.rag.advisor.RetrievalAugmentationAdvisor;
+import org.springframework.ai.rag.generation.augmentation.ContextualQueryAugmenter;
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.wells.bill.assistant.util.CustomPromptTemple.systemPrompt;
 
@@ -20,49 +43,350 @@ import static com.wells.bill.assistant.util.CustomPromptTemple.systemPrompt;
 public class OrchestratorService {
 
     private static final String DEFAULT_RESPONSE = "I’m sorry, I couldn’t process your request safely. Please try again.";
+    private static final String DEADLINE_RESPONSE = "I’m sorry, this is taking longer than expected, so I stopped before finishing. Please try again in a moment.";
+    private static final String DEADLINE_NOTICE = "\n\n(I stopped here because this was taking too long. Ask again if you need the rest.)";
 
     private final ChatClient chatClient;
-    private final BillQueryTool billQueryTool;
-    private final PaymentQueryTool paymentQueryTool;
-    private final PaymentInsightTool paymentInsightTool;
-    private final PaymentIntentTool paymentIntentTool;
+    private final RetrievalMetrics retrievalMetrics;
+    private final RetrievalIntentClassifier retrievalIntentClassifier;
+    private final HierarchicalBillRetriever hierarchicalBillRetriever;
+    private final ChatToolCallbacks chatToolCallbacks;
+    private final ToolRouter toolRouter;
+    private final UserDataSnapshotService userDataSnapshotService;
+    private final FastPathRouter fastPathRouter;
+    private final ChatTurnMetrics chatTurnMetrics;
+    private final LlmDispatcher llmDispatcher;
+    private final ModelRouter modelRouter;
+    private final SemanticResponseCache responseCache;
+    private final AbandonedTurnRecorder abandonedTurnRecorder;
+    private final ChatRequestCoalescer chatRequestCoalescer;
+    private final ChatMemory chatMemory;
 
     public String processMessage(ChatRequest request) {
+        return processMessage(request, new CancellationToken());
+    }
+
+    /**
+     * Answers one turn; once {@code cancellation} fires the model call is interrupted,
+     * pending tool calls are skipped and {@link TurnCancelledException} is thrown.
+     * When it fires because the turn's deadline passed, a short apology is returned instead.
+     */
+    public String processMessage(ChatRequest request, CancellationToken cancellation) {
+        log.info("Processing request for conversationId= {}, message= {}", request.getConversationId(), request.getUserMessage());
+
+        try {
+            // 🔁 Double-clicks / client retries of the same message share one turn
+            // A fallback answer is never handed to the duplicates, they try for themselves
+            return chatRequestCoalescer.execute(request, cancellation,
+                    turnCancellation -> Deadline.callWith(turnCancellation.deadline(), () -> answer(request, turnCancellation)),
+                    answer -> !DEFAULT_RESPONSE.equals(answer));
+        } catch (TurnCancelledException e) {
+            if (CancellationToken.DEADLINE_EXCEEDED.equals(e.getReason())) {
+                return DEADLINE_RESPONSE;
+            }
+            throw e;
+        }
+    }
+
+    private String answer(ChatRequest request, CancellationToken cancellation) {
+        // ⚡ Canned intents are answered from tools directly, no LLM round trip
+        Optional<String> fastReply = fastPathRouter.tryAnswer(request);
+        if (fastReply.isPresent()) {
+            return fastReply.get();
+        }
+
+        // ♻️ Same question since the user's data last changed → previous answer
+        SemanticResponseCache.Lookup cached = responseCache.lookup(request);
+        if (cached.hit()) {
+            return cached.answer();
+        }
+
+        return chatTurnMetrics.time(ChatTurnMetrics.LLM_PATH, () -> processWithLlm(request, cached, cancellation));
+    }
+
+    private String processWithLlm(ChatRequest request, SemanticResponseCache.Lookup cached, CancellationToken cancellation) {
         String conversationId = String.valueOf(request.getConversationId());
-        String userId = String.valueOf(request.getUserId());
         String userMessage = request.getUserMessage();
         try {
-            log.info("Processing request for conversationId= {}, message= {}", conversationId, userMessage);
+            cancellation.throwIfCancelled();
 
-            ConversationContextHolder.set(
+            // One lazily loaded view of the user's bills / payments shared by every tool call in this turn
+            userDataSnapshotService.open(request.getUserId(), request.getConversationId());
+
+            // Only the tool schemas this turn can plausibly need; invoked names decide cacheability
+            Set<String> invokedTools = ConcurrentHashMap.newKeySet();
+            List<ToolCallback> tools = toolRouter.route(
                     request.getUserId(),
-                    request.getConversationId()
+                    request.getConversationId(),
+                    userMessage,
+                    invokedTools::add
             );
 
-            Object[] tools = new Object[]{billQueryTool, paymentIntentTool, paymentQueryTool, paymentInsightTool};
-
-            String response = chatClient
-                    .prompt()
-                    .system(systemPrompt(userId))
-                    .user(userMessage)
-                    .tools(tools)
-                    .advisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, conversationId))
-                    .call()
-                    .content();
+            // Fast model for simple turns; an empty or failed fast answer is retried on the large one
+            ModelRouter.ModelChoice model = modelRouter.chooseForChat(userMessage, tools.size());
+            log.info("Model routing for conversationId= {}: tier={}, reason={}, budget={}",
+                    conversationId, model.tier(), model.reason(), cancellation.deadline());
 
-            if (response == null || response.isBlank()) {
-                log.info("Empty LLM response for conversationId={}", conversationId);
-                return DEFAULT_RESPONSE;
+            // Only the last model attempt's question / answer reach chat memory
+            TurnChatMemory turnMemory = new TurnChatMemory(chatMemory);
+            String response;
+            try {
+                // Cancellation (client gone or deadline passed) interrupts the admission wait or the model HTTP call, never a running tool
+                response = cancellation.callInterruptibly(() -> llmDispatcher.execute(
+                        LlmPriority.INTERACTIVE,
+                        String.valueOf(request.getUserId()),
+                        () -> modelRouter.call(
+                                "chat",
+                                model.tier(),
+                                options -> callModel(request, tools, options, cancellation, turnMemory),
+                                answer -> {
+                                    // An answer nobody will read counts as wasted spend
+                                    cancellation.throwIfCancelled();
+                                    return requireAnswer(answer);
+                                },
+                                // Re-running the turn after a tool ran would repeat it (OTP mail, payment)
+                                () -> model.escalate() && invokedTools.isEmpty()
+                        )
+                ));
+            } finally {
+                // Before the cancellation handling below, which looks for the question in memory
+                turnMemory.commit();
             }
 
             log.info("LLM response for conversationId= {} is: {}", conversationId, response);
+            responseCache.store(cached, response, invokedTools);
             return response;
+        } catch (TurnCancelledException e) {
+            recordCancelled(request, "sync", cancellation, e.getReason());
+            throw e;
+        } catch (LlmOverloadedException e) {
+            // Shed by admission control → surfaced as 503 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             log.error("Error processing message for conversationId={}", conversationId, e);
             return DEFAULT_RESPONSE;
         } finally {
-            // 🧹 ALWAYS clear to avoid leaks
-            ConversationContextHolder.clear();
+            userDataSnapshotService.close(request.getConversationId());
+        }
+    }
+
+    private ChatResponse callModel(ChatRequest request, List<ToolCallback> tools, ChatOptions options,
+                                   CancellationToken cancellation, TurnChatMemory turnMemory) {
+        turnMemory.newAttempt();
+        try {
+            return prompt(request, tools, options, cancellation, turnMemory).call().chatResponse();
+        } catch (RuntimeException e) {
+            // Interrupted HTTP call or a skipped tool: abandoned, not a model failure to escalate
+            cancellation.throwIfCancelled();
+            throw e;
+        }
+    }
+
+    /**
+     * Streaming variant: tokens as they arrive, a progress event per tool call,
+     * then a single done (or turn_error) event.
+     * Tools run on Reactor threads, so the conversation binding travels with the tool context.
+     */
+    public Flux<ChatStreamEvent> streamMessage(ChatRequest request) {
+        return streamMessage(request, new CancellationToken());
+    }
+
+    /**
+     * Cancelling the subscription (client gone) aborts the model stream; {@code cancellation}
+     * stops pending tool calls on the Reactor threads and names the reason. When the turn's
+     * deadline passes the model stream is stopped too, but the tokens already sent are kept
+     * and the stream ends with a note that the answer was cut short.
+     */
+    public Flux<ChatStreamEvent> streamMessage(ChatRequest request, CancellationToken cancellation) {
+        String conversationId = String.valueOf(request.getConversationId());
+        log.info("Streaming request for conversationId= {}, message= {}", conversationId, request.getUserMessage());
+
+        Optional<String> fastReply = Deadline.callWith(cancellation.deadline(), () -> fastPathRouter.tryAnswer(request));
+        if (fastReply.isPresent()) {
+            return Flux.just(ChatStreamEvent.token(fastReply.get()), ChatStreamEvent.done());
+        }
+
+        SemanticResponseCache.Lookup cached = Deadline.callWith(cancellation.deadline(), () -> responseCache.lookup(request));
+        if (cached.hit()) {
+            return Flux.just(ChatStreamEvent.token(cached.answer()), ChatStreamEvent.done());
         }
+
+        Sinks.Many<ChatStreamEvent> toolEvents = Sinks.many().unicast().onBackpressureBuffer();
+        Set<String> invokedTools = ConcurrentHashMap.newKeySet();
+        List<ToolCallback> tools = toolRouter.route(
+                request.getUserId(),
+                request.getConversationId(),
+                request.getUserMessage(),
+                toolName -> {
+                    invokedTools.add(toolName);
+                    toolEvents.tryEmitNext(ChatStreamEvent.tool(chatToolCallbacks.progressMessage(toolName)));
+                }
+        );
+
+        StringBuilder answer = new StringBuilder();
+        ModelRouter.ModelChoice model = modelRouter.chooseForChat(request.getUserMessage(), tools.size());
+        log.info("Model routing for conversationId= {}: tier={}, reason={}", conversationId, model.tier(), model.reason());
+        TurnChatMemory turnMemory = new TurnChatMemory(chatMemory);
+
+        // Completes the token stream on cancellation; only the deadline case gets to emit afterwards
+        Mono<Void> cancelled = Mono.create(sink -> cancellation.onCancel(sink::success));
+
+        // One snapshot per turn, however many model attempts; released exactly once
+        Flux<String> modelTokens = Flux.using(
+                () -> {
+                    userDataSnapshotService.open(request.getUserId(), request.getConversationId());
+                    return request.getConversationId();
+                },
+                snapshot -> streamTokens(request, tools, model.tier(), cancellation, turnMemory)
+                        // Escalate only while nothing has reached the client yet and no tool has run
+                        .onErrorResume(e -> model.tier() == ModelTier.FAST
+                                        && model.escalate()
+                                        && answer.isEmpty()
+                                        && invokedTools.isEmpty()
+                                        && !cancellation.isCancelled()
+                                        && !(e instanceof LlmOverloadedException),
+                                e -> {
+                                    log.info("Escalating stream for conversationId= {} to LARGE model: {}", conversationId, e.getMessage());
+                                    return streamTokens(request, tools, ModelTier.LARGE, cancellation, turnMemory);
+                                }),
+                userDataSnapshotService::close
+        );
+
+        Flux<ChatStreamEvent> tokens = modelTokens
+                .takeUntilOther(cancelled)
+                // Before the completion / error handling below, which may look for the question in memory
+                .doOnTerminate(turnMemory::commit)
+                .filter(chunk -> !chunk.isEmpty())
+                .doOnNext(answer::append)
+                .map(ChatStreamEvent::token)
+                .doFinally(signal -> toolEvents.tryEmitComplete());
+
+        return Flux.merge(toolEvents.asFlux(), tokens)
+                .concatWith(Flux.defer(() -> {
+                    if (cancellation.isDeadlineExceeded()) {
+                        return deadlineExceeded(request, cancellation, answer);
+                    }
+                    if (answer.isEmpty()) {
+                        log.info("Empty LLM stream for conversationId={}", conversationId);
+                        return Flux.just(ChatStreamEvent.token(DEFAULT_RESPONSE), ChatStreamEvent.done());
+                    }
+                    log.info("LLM streamed response for conversationId= {} is: {}", conversationId, answer);
+                    responseCache.store(cached, answer.toString(), invokedTools);
+                    return Flux.just(ChatStreamEvent.done());
+                }))
+                .doOnCancel(() -> {
+                    cancellation.cancel(CancellationToken.CLIENT_DISCONNECTED);
+                    turnMemory.commit();
+                    abandonedTurnRecorder.record(request, "stream", cancellation.reason());
+                })
+                .onErrorResume(e -> {
+                    if (e instanceof TurnCancelledException) {
+                        // Deadline → partial answer; otherwise the subscriber is already gone (see doOnCancel)
+                        return cancellation.isDeadlineExceeded()
+                                ? deadlineExceeded(request, cancellation, answer)
+                                : Flux.empty();
+                    }
+                    if (e instanceof LlmOverloadedException overloaded) {
+                        return Flux.just(ChatStreamEvent.error(overloaded.getMessage()));
+                    }
+                    log.error("Error streaming message for conversationId={}", conversationId, e);
+                    return Flux.just(ChatStreamEvent.error(DEFAULT_RESPONSE));
+                });
+    }
+
+    private Flux<String> streamTokens(ChatRequest request, List<ToolCallback> tools, ModelTier tier,
+                                      CancellationToken cancellation, TurnChatMemory turnMemory) {
+        return Flux.using(
+                // Slot held until the stream completes, errors or is cancelled
+                () -> llmDispatcher.acquire(LlmPriority.INTERACTIVE, String.valueOf(request.getUserId())),
+                permit -> {
+                    turnMemory.newAttempt();
+                    long start = System.nanoTime();
+                    AtomicReference<ChatResponse> last = new AtomicReference<>();
+                    return prompt(request, tools, modelRouter.options(tier), cancellation, turnMemory).stream().chatResponse()
+                            .doOnNext(last::set)
+                            .doOnComplete(() -> modelRouter.record("chat_stream", tier, System.nanoTime() - start, last.get(),
+                                    ModelRouter.CallOutcome.SUCCESS))
+                            .doOnError(e -> modelRouter.record("chat_stream", tier, System.nanoTime() - start, last.get(),
+                                    cancellation.isCancelled() ? ModelRouter.CallOutcome.ABANDONED : ModelRouter.CallOutcome.FAILURE))
+                            .doOnCancel(() -> modelRouter.record("chat_stream", tier, System.nanoTime() - start, last.get(),
+                                    ModelRouter.CallOutcome.ABANDONED))
+                            .map(OrchestratorService::text);
+                },
+                LlmDispatcher.Permit::close
+        );
+    }
+
+    private Flux<ChatStreamEvent> deadlineExceeded(ChatRequest request, CancellationToken cancellation,
+                                                   CharSequence partial) {
+        recordCancelled(request, "stream", cancellation, cancellation.reason());
+        return Flux.just(
+                ChatStreamEvent.token(partial.isEmpty() ? DEADLINE_RESPONSE : DEADLINE_NOTICE),
+                ChatStreamEvent.done()
+        );
+    }
+
+    private void recordCancelled(ChatRequest request, String path, CancellationToken cancellation, String reason) {
+        if (CancellationToken.DEADLINE_EXCEEDED.equals(reason)) {
+            String stage = cancellation.cancelledStage() == null ? CancellationToken.STAGE_ORCHESTRATOR : cancellation.cancelledStage();
+            chatTurnMetrics.recordDeadlineExceeded(stage);
+            log.warn("Deadline exceeded for conversationId= {} during {}", request.getConversationId(), stage);
+        }
+        // The question stays in memory, marked as unanswered
+        abandonedTurnRecorder.record(request, path, reason);
+    }
+
+    private static String requireAnswer(ChatResponse response) {
+        String answer = text(response);
+        if (answer.isBlank()) {
+            throw new IllegalStateException("Empty model response");
+        }
+        return answer;
+    }
+
+    private static String text(ChatResponse response) {
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            return "";
+        }
+        String text = response.getResult().getOutput().getText();
+        return text == null ? "" : text;
+    }
+
+    private ChatClient.ChatClientRequestSpec prompt(ChatRequest request, List<ToolCallback> tools, ChatOptions options,
+                                                    CancellationToken cancellation, ChatMemory memory) {
+        String conversationId = String.valueOf(request.getConversationId());
+        String userMessage = request.getUserMessage();
+
+        ChatClient.ChatClientRequestSpec prompt = chatClient
+                .prompt()
+                .options(options)
+                .system(systemPrompt(String.valueOf(request.getUserId())))
+                .user(userMessage)
+                .toolCallbacks(tools)
+                // Ids and cancellation travel with the request, not the calling thread → safe on virtual / Reactor threads
+                .toolContext(ConversationContextHolder.toolContext(request.getUserId(), request.getConversationId(), cancellation))
+                .advisors(MessageChatMemoryAdvisor.builder(memory).build())
+                .advisors(advisorSpec -> advisorSpec.param(ChatMemory.CONVERSATION_ID, conversationId));
+
+        // 🔎 RAG only when the turn asks about bill documents; tool-only turns skip embedding + search
+        RetrievalDecision decision = retrievalIntentClassifier.classify(userMessage);
+        retrievalMetrics.recordDecision(decision);
+        log.info("Retrieval decision for conversationId= {}: retrieve={}, reason={}",
+                conversationId, decision.retrieve(), decision.reason());
+
+        if (decision.retrieve()) {
+            prompt = prompt.advisors(retrievalAdvisor(request.getUserId(), userMessage));
+        }
+        return prompt;
+    }
+
+    private RetrievalAugmentationAdvisor retrievalAdvisor(UUID userId, String userMessage) {
+        // Summaries pick the bills, chunks come only from those bills
+        return RetrievalAugmentationAdvisor.builder()
+                .documentRetriever(hierarchicalBillRetriever.forUser(userId, userMessage))
+                .queryAugmenter(ContextualQueryAugmenter.builder()
+                        .allowEmptyContext(true)
+                        .build())
+                .build();
     }
 }
@@ -2,6 +2,7 @@ package com.wells.bill.assistant.service;
 
 import com.wells.bill.assistant.model.BillStatus;
 import com.wells.bill.assistant.entity.PaymentEntity;
+import com.wells.bill.assistant.event.PaymentStatusChangedEvent;
 import com.wells.bill.assistant.model.PaymentStatus;
 import com.wells.bill.assistant.model.PaymentType;
 import com.wells.bill.assistant.exception.DuplicatePaymentException;
@@ -11,6 +12,7 @@ import com.wells.bill.assistant.util.PaymentStateMachine;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,6 +37,7 @@ public class PaymentService {
     private final BillService billService;
     private final PaymentRepository paymentRepository;
     private final PaymentExecutionService paymentExecutionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Step 1: Create payment intent
@@ -66,6 +69,7 @@ public class PaymentService {
         PaymentEntity payment = createPaymentEntity(req, bill);
 
         PaymentEntity saved = paymentRepository.save(payment);
+        publishStatusChange(saved, null);
 
         log.info("Payment intent created with paymentId= {} for billId= {}", saved.getId(), saved.getBillId());
         return toIntentResponse(saved);
@@ -180,8 +184,10 @@ public class PaymentService {
             }
         } catch (Exception ex) {
             log.error("Error executing payment paymentId= {}", payment.getId(), ex);
+            PaymentStatus previous = payment.getStatus();
             payment.setStatus(PaymentStatus.FAILED);
             payment.setFailureReason(ex.getMessage());
+            publishStatusChange(payment, previous);
             throw ex;
         }
         return toPaymentResponse(payment);
@@ -254,11 +260,22 @@ public class PaymentService {
     }
 
     private void transition(PaymentEntity payment, PaymentStatus next) {
+        PaymentStatus previous = payment.getStatus();
         PaymentStateMachine.validateTransition(
-                payment.getStatus(),
+                previous,
                 next
         );
         payment.setStatus(next);
+        publishStatusChange(payment, previous);
+    }
+
+    private void publishStatusChange(PaymentEntity payment, PaymentStatus previous) {
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(
+                payment.getId(),
+                payment.getUserId(),
+                previous,
+                payment.getStatus()
+        ));
     }
 
     // -------------------- Mappers --------------------
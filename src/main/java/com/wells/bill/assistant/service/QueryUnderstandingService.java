@@ -0,0 +1,244 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.builder.BillFilterTemplates;
+import com.wells.bill.assistant.builder.FilterExpressionBuilder;
+import com.wells.bill.assistant.model.BillCategory;
+import com.wells.bill.assistant.model.DateRange;
+import com.wells.bill.assistant.model.QueryFilters;
+import com.wells.bill.assistant.repository.BillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.stereotype.Service;
+
+import java.time.*;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Self-querying stage in front of vector search.
+ * <p>
+ * Turns temporal phrases, bill categories and the user's own provider names into
+ * chunk metadata filters (dueDate range, billCategory, providerName), so the ANN
+ * search only ranks the user's relevant bills instead of every chunk they own.
+ * Extraction is deliberately conservative: only unambiguous phrases become filters.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueryUnderstandingService {
+
+    /* ==================== TEMPORAL PATTERNS ==================== */
+
+    private static final Pattern RELATIVE_DAYS = Pattern.compile(
+            "\\b(last|past|previous|next|coming)\\s+(\\d{1,3})\\s+days?\\b");
+
+    private static final Pattern RELATIVE_PERIOD = Pattern.compile(
+            "\\b(this|last|previous|next)\\s+(week|month|year)\\b");
+
+    private static final Pattern MONTH_NAME = Pattern.compile(
+            "\\b(?:(in|last|this|next|for|of|during)\\s+)?"
+                    + "(january|february|march|april|may|june|july|august|september|october|november|december"
+                    + "|jan|feb|mar|apr|jun|jul|aug|sep|sept|oct|nov|dec)\\b"
+                    + "(?:\\s+(\\d{4}))?");
+
+    private static final Pattern YEAR_ONLY = Pattern.compile("\\b(?:in|for|during)\\s+(20\\d{2})\\b");
+
+    /* ==================== CATEGORY SYNONYMS ==================== */
+
+    private static final Map<BillCategory, Pattern> CATEGORY_PATTERNS = new LinkedHashMap<>();
+
+    static {
+        CATEGORY_PATTERNS.put(BillCategory.ELECTRICITY, Pattern.compile("\\b(electricity|electric|power|kwh)\\b"));
+        CATEGORY_PATTERNS.put(BillCategory.WATER, Pattern.compile("\\bwater\\b"));
+        CATEGORY_PATTERNS.put(BillCategory.LPG, Pattern.compile("\\b(lpg|cylinder)\\b"));
+        CATEGORY_PATTERNS.put(BillCategory.GAS, Pattern.compile("\\b(gas|png)\\b"));
+        CATEGORY_PATTERNS.put(BillCategory.MOBILE, Pattern.compile("\\b(mobile|phone|postpaid|prepaid)\\b"));
+        CATEGORY_PATTERNS.put(BillCategory.BROADBAND, Pattern.compile("\\b(broadband|wifi|wi-fi|fiber|fibre)\\b"));
+        CATEGORY_PATTERNS.put(BillCategory.INTERNET, Pattern.compile("\\binternet\\b"));
+        CATEGORY_PATTERNS.put(BillCategory.DTH, Pattern.compile("\\b(dth|satellite tv|cable tv)\\b"));
+        CATEGORY_PATTERNS.put(BillCategory.MUNICIPAL, Pattern.compile("\\b(municipal|property tax)\\b"));
+    }
+
+    private final Clock clock;
+    private final BillRepository billRepository;
+
+    public QueryFilters extract(UUID userId, String userMessage) {
+        if (userMessage == null || userMessage.isBlank()) {
+            return QueryFilters.none();
+        }
+
+        String text = userMessage.toLowerCase(Locale.ROOT);
+        LocalDate today = LocalDate.now(clock);
+
+        QueryFilters filters = new QueryFilters(
+                extractDueDateRange(text, today),
+                extractCategory(text),
+                extractProvider(text, billRepository.findDistinctProviderNames(userId))
+        );
+
+        log.debug("Extracted query filters for userId={}: {}", userId, filters);
+        return filters;
+    }
+
+    /**
+     * userId scope AND every extracted filter, as a typed expression for SearchRequest.
+     */
+    public Filter.Expression toFilterExpression(UUID userId, QueryFilters filters) {
+        if (filters == null || filters.isEmpty()) {
+            return BillFilterTemplates.USER_SCOPE.bind(Map.of(BillFilterTemplates.USER_ID, userId));
+        }
+
+        FilterExpressionBuilder builder = FilterExpressionBuilder.start()
+                .eq(BillFilterTemplates.USER_ID, userId);
+
+        if (filters.dueDateRange() != null) {
+            builder.gte("dueDate", filters.dueDateRange().start())
+                    .lte("dueDate", filters.dueDateRange().end());
+        }
+        if (filters.billCategory() != null) {
+            builder.eq("billCategory", filters.billCategory());
+        }
+        if (filters.providerName() != null) {
+            builder.eq("providerName", filters.providerName());
+        }
+        return builder.buildExpression();
+    }
+
+    /* ==================== EXTRACTION ==================== */
+
+    static DateRange extractDueDateRange(String text, LocalDate today) {
+
+        Matcher days = RELATIVE_DAYS.matcher(text);
+        if (days.find()) {
+            int n = Integer.parseInt(days.group(2));
+            return switch (days.group(1)) {
+                case "next", "coming" -> new DateRange(today, today.plusDays(n));
+                default -> new DateRange(today.minusDays(n), today);
+            };
+        }
+
+        Matcher period = RELATIVE_PERIOD.matcher(text);
+        if (period.find()) {
+            int offset = switch (period.group(1)) {
+                case "last", "previous" -> -1;
+                case "next" -> 1;
+                default -> 0;
+            };
+            return switch (period.group(2)) {
+                case "week" -> {
+                    LocalDate monday = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).plusWeeks(offset);
+                    yield new DateRange(monday, monday.plusDays(6));
+                }
+                case "month" -> monthRange(YearMonth.from(today).plusMonths(offset));
+                default -> {
+                    int year = today.getYear() + offset;
+                    yield new DateRange(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+                }
+            };
+        }
+
+        Matcher month = MONTH_NAME.matcher(text);
+        while (month.find()) {
+            String qualifier = month.group(1);
+            String name = month.group(2);
+            String year = month.group(3);
+
+            // "may" / short forms are too ambiguous without a qualifier or a year
+            if (qualifier == null && year == null && (name.equals("may") || name.length() <= 4)) {
+                continue;
+            }
+
+            Month m = parseMonth(name);
+            YearMonth current = YearMonth.from(today);
+
+            if (year != null) {
+                return monthRange(YearMonth.of(Integer.parseInt(year), m));
+            }
+
+            YearMonth thisYear = YearMonth.of(today.getYear(), m);
+            YearMonth resolved = switch (qualifier == null ? "" : qualifier) {
+                case "last" -> thisYear.isBefore(current) ? thisYear : thisYear.minusYears(1);
+                case "next" -> thisYear.isAfter(current) ? thisYear : thisYear.plusYears(1);
+                // bills are mostly looked up in the past: a month later than now means last year
+                default -> thisYear.isAfter(current) ? thisYear.minusYears(1) : thisYear;
+            };
+            return monthRange(resolved);
+        }
+
+        Matcher yearOnly = YEAR_ONLY.matcher(text);
+        if (yearOnly.find()) {
+            int year = Integer.parseInt(yearOnly.group(1));
+            return new DateRange(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+        }
+
+        return null;
+    }
+
+    static BillCategory extractCategory(String text) {
+        for (Map.Entry<BillCategory, Pattern> entry : CATEGORY_PATTERNS.entrySet()) {
+            if (entry.getValue().matcher(text).find()) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The provider named in the text, or null when none or more than one could be meant;
+     * the result becomes an exact metadata filter, so guessing would silently drop documents.
+     * A whole-name match wins ("tata power" → "TATA POWER", not "TATA POWER DDL"); among
+     * whole-name matches the most specific one wins. A shared first word alone only counts
+     * when a single provider has it.
+     */
+    static String extractProvider(String text, List<String> knownProviders) {
+        List<String> phraseMatches = new ArrayList<>();
+        List<String> tokenMatches = new ArrayList<>();
+        for (String provider : knownProviders) {
+            if (provider == null || provider.isBlank() || "Unknown".equalsIgnoreCase(provider)) {
+                continue;
+            }
+
+            String lower = provider.toLowerCase(Locale.ROOT).trim();
+            String firstToken = lower.split("\\s+")[0];
+
+            if (containsWord(text, lower)) {
+                phraseMatches.add(provider);
+            } else if (firstToken.length() >= 4 && containsWord(text, firstToken)) {
+                tokenMatches.add(provider);
+            }
+        }
+
+        if (!phraseMatches.isEmpty()) {
+            // "tata power ddl" also contains "tata power": keep only names not inside a longer match
+            List<String> specific = phraseMatches.stream()
+                    .filter(name -> phraseMatches.stream().noneMatch(other -> other.length() > name.length()
+                            && containsWord(other.toLowerCase(Locale.ROOT), name.toLowerCase(Locale.ROOT).trim())))
+                    .toList();
+            return specific.size() == 1 ? specific.getFirst() : null;
+        }
+        return tokenMatches.size() == 1 ? tokenMatches.getFirst() : null;
+    }
+
+    /* ==================== HELPERS ==================== */
+
+    private static boolean containsWord(String text, String phrase) {
+        return Pattern.compile("\\b" + Pattern.quote(phrase) + "\\b").matcher(text).find();
+    }
+
+    private static DateRange monthRange(YearMonth month) {
+        return new DateRange(month.atDay(1), month.atEndOfMonth());
+    }
+
+    private static Month parseMonth(String name) {
+        String prefix = name.substring(0, 3).toUpperCase(Locale.ROOT);
+        for (Month m : Month.values()) {
+            if (m.name().startsWith(prefix)) {
+                return m;
+            }
+        }
+        throw new IllegalArgumentException("Unknown month: " + name);
+    }
+}
@@ -0,0 +1,90 @@
+package com.wells.bill.assistant.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Cheap, rule-based decision on whether a chat turn needs RAG over bill documents.
+ * <p>
+ * Turns that only act on or list structured data (pay, confirm, list unpaid, totals…)
+ * are answered by tools straight from Postgres, so the query embedding + vector search
+ * + prompt stuffing is skipped. Anything that asks about document content, or that no
+ * rule recognizes, still retrieves.
+ */
+@Component
+public class RetrievalIntentClassifier {
+
+    public record RetrievalDecision(boolean retrieve, String reason) {
+
+        static RetrievalDecision retrieve(String reason) {
+            return new RetrievalDecision(true, reason);
+        }
+
+        static RetrievalDecision skip(String reason) {
+            return new RetrievalDecision(false, reason);
+        }
+    }
+
+    // Questions about what is printed on the bill → need the document chunks
+    private static final Pattern DOCUMENT_QUESTION = Pattern.compile(
+            "\\b(why|what does|what is on|breakdown|line items?|charges?|usage|consumption|units?|kwh|meter|"
+                    + "tariff|tax|gst|late fee|surcharge|plan|data usage|address|say|mentioned|according to)\\b"
+    );
+
+    // Questions about past bills / payments ("what did I pay for water last March") → documents,
+    // checked before the imperative payment rule so they never reach the pay tool
+    private static final Pattern HISTORY_QUESTION = Pattern.compile(
+            "\\b(did|have) i (already )?(pay|paid|spend|spent)\\b|\\bpaid\\b|"
+                    + "\\b(last|in|for|since|during) (jan(uary)?|feb(ruary)?|march|apr(il)?|may|june?|july?|aug(ust)?|"
+                    + "sep(t|tember)?|oct(ober)?|nov(ember)?|dec(ember)?)\\b"
+    );
+
+    // Tool-only intents, checked in order; first match wins
+    private static final Map<String, Pattern> TOOL_ONLY_INTENTS = new LinkedHashMap<>();
+
+    static {
+        TOOL_ONLY_INTENTS.put("confirmation_code", Pattern.compile("^\\s*\\d{6}\\s*$"));
+        TOOL_ONLY_INTENTS.put("small_talk", Pattern.compile(
+                "^(hi|hello|hey|thanks|thank you|ok|okay|bye|good (morning|afternoon|evening))\\b[\\s!.]*$"));
+        TOOL_ONLY_INTENTS.put("payment_action", Pattern.compile(
+                "\\b(pay|schedule|confirm|cancel|resend|approve)\\b"));
+        TOOL_ONLY_INTENTS.put("verify_action", Pattern.compile(
+                "\\b(verify|mark .*verified)\\b"));
+        TOOL_ONLY_INTENTS.put("bill_listing", Pattern.compile(
+                "\\b(list|show|display|which)\\b.*\\bbills?\\b|\\b(unpaid|overdue|due soon|due this|due next|due in)\\b"));
+        TOOL_ONLY_INTENTS.put("payment_listing", Pattern.compile(
+                "\\b(recent|latest|last|my)\\s+payments?\\b|\\bpayment (status|summary|history)\\b"));
+        TOOL_ONLY_INTENTS.put("overview", Pattern.compile(
+                "\\b(overview|dashboard|how am i doing|how'?m i doing|where do i stand)\\b"));
+        TOOL_ONLY_INTENTS.put("totals", Pattern.compile(
+                "\\b(total|summary|outstanding|how much do i owe|spend|spent|forecast)\\b"));
+    }
+
+    public RetrievalDecision classify(String userMessage) {
+        if (userMessage == null || userMessage.isBlank()) {
+            return RetrievalDecision.skip("empty");
+        }
+
+        String text = userMessage.toLowerCase(Locale.ROOT).trim();
+
+        if (DOCUMENT_QUESTION.matcher(text).find()) {
+            return RetrievalDecision.retrieve("document_question");
+        }
+
+        if (HISTORY_QUESTION.matcher(text).find()) {
+            return RetrievalDecision.retrieve("history_question");
+        }
+
+        for (Map.Entry<String, Pattern> intent : TOOL_ONLY_INTENTS.entrySet()) {
+            if (intent.getValue().matcher(text).find()) {
+                return RetrievalDecision.skip(intent.getKey());
+            }
+        }
+
+        return RetrievalDecision.retrieve("default");
+    }
+}
@@ -0,0 +1,63 @@
+package com.wells.bill.assistant.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Chat-path retrieval metrics:
+ * - chat.retrieval.decisions{decision,reason}  → how often RAG runs / is skipped
+ * - chat.retrieval.latency                      → query embedding + vector search per retrieval
+ * - chat.retrieval.path{path}                   → hierarchical (summary → chunks) vs flat chunk search
+ * - chat.retrieval.saved.ms                     → skipped turns × mean retrieval latency
+ */
+@Component
+public class RetrievalMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer retrievalTimer;
+    private final AtomicLong skipped = new AtomicLong();
+
+    public RetrievalMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.retrievalTimer = Timer.builder("chat.retrieval.latency")
+                .description("Query embedding + vector search time per retrieving chat turn")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        Gauge.builder("chat.retrieval.saved.ms", this, RetrievalMetrics::estimatedSavedMillis)
+                .description("Estimated retrieval time avoided by skipping RAG")
+                .register(meterRegistry);
+    }
+
+    public void recordDecision(RetrievalIntentClassifier.RetrievalDecision decision) {
+        if (!decision.retrieve()) {
+            skipped.incrementAndGet();
+        }
+        meterRegistry.counter(
+                "chat.retrieval.decisions",
+                "decision", decision.retrieve() ? "retrieve" : "skip",
+                "reason", decision.reason()
+        ).increment();
+    }
+
+    public void recordPath(String path) {
+        meterRegistry.counter("chat.retrieval.path", "path", path).increment();
+    }
+
+    /**
+     * Times one retrieval on the chat path (all vector searches it issues).
+     */
+    public <T> T timeRetrieval(Supplier<T> retrieval) {
+        return retrievalTimer.record(retrieval);
+    }
+
+    private double estimatedSavedMillis() {
+        return skipped.get() * retrievalTimer.mean(TimeUnit.MILLISECONDS);
+    }
+}
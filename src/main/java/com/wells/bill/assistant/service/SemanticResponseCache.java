@@ -0,0 +1,303 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.ResponseCacheProperties;
+import com.wells.bill.assistant.event.BillStatusChangedEvent;
+import com.wells.bill.assistant.event.BillUpdatedEvent;
+import com.wells.bill.assistant.event.PaymentStatusChangedEvent;
+import com.wells.bill.assistant.model.ChatRequest;
+import com.wells.bill.assistant.model.QueryFilters;
+import com.wells.bill.assistant.store.UserDataVersionStore;
+import com.wells.bill.assistant.tools.ToolGroup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Per-user cache of final chat answers, matched by question embedding similarity.
+ * <p>
+ * Only turns whose tools were all read-only are stored, and any bill or payment
+ * change for the user drops that user's entries. A hit also needs the same extracted
+ * filters (due date range, category, provider) as the cached question, so
+ * "when is my water bill due" never answers "when is my gas bill due" however close
+ * the embeddings are. Actions, confirmation codes, small talk and follow-ups that
+ * lean on the conversation ("and that one?") are never looked up.
+ * <p>
+ * Entries are tied to the user's data version in Postgres ({@link UserDataVersionStore}),
+ * read on every lookup, so a bill or payment change made on another node drops them
+ * too; the local change events only make that immediate on this node. A turn that
+ * started before an invalidation cannot store its (possibly stale) answer afterwards:
+ * every user bucket carries a generation and a store is dropped when the bucket it was
+ * looked up in is gone or the data version moved on.
+ * <p>
+ * Answers that depend on today's date ("due in 3 days", "overdue", "tomorrow") live for
+ * at most {@code relativeDateTtl} and never past midnight.
+ */
+@Slf4j
+@Service
+public class SemanticResponseCache {
+
+    // Intents that act on or depend on conversation state rather than asking about data
+    private static final Set<String> UNCACHEABLE_INTENTS = Set.of(
+            "empty", "confirmation_code", "small_talk", "payment_action", "verify_action");
+
+    private static final Pattern FOLLOW_UP = Pattern.compile(
+            "\\b(it|its|that|this one|those|them|these|same|again|above|previous one|"
+                    + "(the )?(first|second|third|last|other) one)\\b");
+
+    private static final Pattern RELATIVE_DATE = Pattern.compile(
+            "\\b(today|tonight|tomorrow|yesterday|(this|next|last) (week|month)|in \\d+ days?|"
+                    + "\\d+ days? (ago|left|late|overdue|from now|away)|due soon|overdue)\\b");
+
+    public record Lookup(UUID userId, long generation, String dataVersion, String question, float[] embedding,
+                         QueryFilters filters, String answer) {
+
+        static final Lookup SKIP = new Lookup(null, 0, null, null, null, null, null);
+
+        public boolean hit() {
+            return answer != null;
+        }
+    }
+
+    private record Entry(float[] embedding, QueryFilters filters, String question, String answer, Instant expiresAt) {
+    }
+
+    private static final class UserEntries {
+        private final long generation;
+        private final String dataVersion;
+        private final Deque<Entry> entries = new ArrayDeque<>();
+
+        private UserEntries(long generation, String dataVersion) {
+            this.generation = generation;
+            this.dataVersion = dataVersion;
+        }
+    }
+
+    private final EmbeddingModel embeddingModel;
+    private final QueryUnderstandingService queryUnderstandingService;
+    private final RetrievalIntentClassifier retrievalIntentClassifier;
+    private final ChatMemory chatMemory;
+    private final ChatTurnMetrics chatTurnMetrics;
+    private final UserDataVersionStore dataVersions;
+    private final ResponseCacheProperties properties;
+    private final Clock clock;
+
+    private final AtomicLong generations = new AtomicLong();
+    private final Map<UUID, UserEntries> users;
+
+    public SemanticResponseCache(EmbeddingModel embeddingModel,
+                                 QueryUnderstandingService queryUnderstandingService,
+                                 RetrievalIntentClassifier retrievalIntentClassifier,
+                                 @Qualifier("chatMemory") ChatMemory chatMemory,
+                                 ChatTurnMetrics chatTurnMetrics,
+                                 UserDataVersionStore dataVersions,
+                                 ResponseCacheProperties properties,
+                                 Clock clock) {
+        this.embeddingModel = embeddingModel;
+        this.queryUnderstandingService = queryUnderstandingService;
+        this.retrievalIntentClassifier = retrievalIntentClassifier;
+        this.chatMemory = chatMemory;
+        this.chatTurnMetrics = chatTurnMetrics;
+        this.dataVersions = dataVersions;
+        this.properties = properties;
+        this.clock = clock;
+
+        int maxUsers = properties.getMaxUsers();
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(Math.min(maxUsers, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, UserEntries> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /* ==================== LOOKUP ==================== */
+
+    /**
+     * Cached answer for a question close enough to one asked before; on a miss the
+     * returned lookup is handed back to {@link #store} once the LLM has answered.
+     */
+    public Lookup lookup(ChatRequest request) {
+        long start = System.nanoTime();
+        UUID userId = request.getUserId();
+        String question = request.getUserMessage();
+
+        if (!properties.isEnabled() || userId == null || !cacheable(question)) {
+            chatTurnMetrics.recordResponseCache("skip");
+            return Lookup.SKIP;
+        }
+
+        try {
+            // Data changed anywhere in the cluster → start the user over
+            String dataVersion = dataVersions.current(userId);
+            long generation = users.compute(userId, (id, bucket) ->
+                    bucket != null && bucket.dataVersion.equals(dataVersion)
+                            ? bucket
+                            : new UserEntries(generations.incrementAndGet(), dataVersion)).generation;
+            float[] embedding = embeddingModel.embed(question);
+            QueryFilters filters = queryUnderstandingService.extract(userId, question);
+
+            Entry best = findBest(userId, generation, embedding, filters);
+            if (best == null) {
+                chatTurnMetrics.recordResponseCache("miss");
+                return new Lookup(userId, generation, dataVersion, question, embedding, filters, null);
+            }
+
+            chatMemory.add(String.valueOf(request.getConversationId()), List.of(
+                    new UserMessage(question),
+                    new AssistantMessage(best.answer())
+            ));
+
+            chatTurnMetrics.recordResponseCache("hit");
+            chatTurnMetrics.record(ChatTurnMetrics.CACHE_PATH, System.nanoTime() - start);
+            log.info("Response cache hit for conversationId= {}, cached question= {}", request.getConversationId(), best.question());
+            return new Lookup(userId, generation, dataVersion, question, embedding, filters, best.answer());
+        } catch (Exception e) {
+            // Never fail the turn here; the LLM path can still answer
+            log.warn("Response cache lookup failed for userId={}, falling through to LLM", userId, e);
+            chatTurnMetrics.recordResponseCache("skip");
+            return Lookup.SKIP;
+        }
+    }
+
+    /**
+     * Keeps the answer of a missed lookup when every tool the turn invoked was read-only.
+     */
+    public void store(Lookup lookup, String answer, Collection<String> invokedTools) {
+        if (lookup == null || lookup.embedding() == null || lookup.hit() || answer == null || answer.isBlank()) {
+            return;
+        }
+
+        if (!invokedTools.stream().map(ToolGroup::of).allMatch(ToolGroup::isReadOnly)) {
+            log.debug("Not caching answer for userId={}: turn invoked state-changing tools {}", lookup.userId(), invokedTools);
+            return;
+        }
+
+        UserEntries bucket = users.get(lookup.userId());
+        if (bucket == null || bucket.generation != lookup.generation() || !dataUnchanged(lookup)) {
+            log.debug("Not caching answer for userId={}: data changed during the turn", lookup.userId());
+            return;
+        }
+
+        Entry entry = new Entry(lookup.embedding(), lookup.filters(), lookup.question(), answer,
+                expiresAt(lookup.question(), answer));
+        synchronized (bucket) {
+            bucket.entries.addFirst(entry);
+            while (bucket.entries.size() > properties.getMaxEntriesPerUser()) {
+                bucket.entries.removeLast();
+            }
+        }
+    }
+
+    /* ==================== INVALIDATION ==================== */
+
+    public void invalidate(UUID userId) {
+        if (userId != null && users.remove(userId) != null) {
+            log.debug("Invalidated cached responses for userId={}", userId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillStatusChanged(BillStatusChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillUpdated(BillUpdatedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    /* ==================== HELPERS ==================== */
+
+    boolean cacheable(String question) {
+        if (question == null || question.isBlank()) {
+            return false;
+        }
+        if (UNCACHEABLE_INTENTS.contains(retrievalIntentClassifier.classify(question).reason())) {
+            return false;
+        }
+        return !FOLLOW_UP.matcher(question.toLowerCase(Locale.ROOT)).find();
+    }
+
+    // Another node may have changed the data while this turn was running
+    private boolean dataUnchanged(Lookup lookup) {
+        try {
+            return lookup.dataVersion().equals(dataVersions.current(lookup.userId()));
+        } catch (Exception e) {
+            log.warn("Could not re-check data version for userId={}, not caching", lookup.userId(), e);
+            return false;
+        }
+    }
+
+    private Instant expiresAt(String question, String answer) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(properties.getTtl());
+        if (isDateRelative(question) || isDateRelative(answer)) {
+            Instant midnight = LocalDate.ofInstant(now, clock.getZone()).plusDays(1).atStartOfDay(clock.getZone()).toInstant();
+            Instant relative = now.plus(properties.getRelativeDateTtl());
+            expiresAt = Collections.min(List.of(expiresAt, relative, midnight));
+        }
+        return expiresAt;
+    }
+
+    static boolean isDateRelative(String text) {
+        return text != null && RELATIVE_DATE.matcher(text.toLowerCase(Locale.ROOT)).find();
+    }
+
+    private Entry findBest(UUID userId, long generation, float[] embedding, QueryFilters filters) {
+        UserEntries bucket = users.get(userId);
+        if (bucket == null || bucket.generation != generation) {
+            return null;
+        }
+
+        Instant now = clock.instant();
+        Entry best = null;
+        double bestScore = properties.getSimilarityThreshold();
+
+        synchronized (bucket) {
+            bucket.entries.removeIf(e -> !e.expiresAt().isAfter(now));
+            for (Entry entry : bucket.entries) {
+                if (!Objects.equals(entry.filters(), filters)) {
+                    continue;
+                }
+                double score = cosine(entry.embedding(), embedding);
+                if (score >= bestScore) {
+                    best = entry;
+                    bestScore = score;
+                }
+            }
+        }
+        return best;
+    }
+
+    static double cosine(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return 0;
+        }
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return normA == 0 || normB == 0 ? 0 : dot / Math.sqrt(normA * normB);
+    }
+}
@@ -1,5 +1,7 @@
 package com.wells.bill.assistant.service;
 
+import com.wells.bill.assistant.config.ChatDeadlineProperties;
+import com.wells.bill.assistant.util.Deadline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.SimpleMailMessage;
@@ -15,6 +17,8 @@ import java.time.LocalDate;
 public class SendEmailService {
 
     private final JavaMailSender mailSender;
+    private final ChatDeadlineProperties deadlineProperties;
+    private final ChatTurnMetrics chatTurnMetrics;
 
     public void sendPaymentConfirmationTokenEmail(
             String providerName,
@@ -63,6 +67,14 @@ public class SendEmailService {
         message.setSubject(subject);
         message.setText(body);
 
+        // SMTP I/O itself is bounded by the mail.smtp.*timeout properties
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.remaining().compareTo(deadlineProperties.getMinMailBudget()) < 0) {
+            chatTurnMetrics.recordDeadlineExceeded("mail");
+            log.warn("Skipping confirmation email to {}: {} left in the request budget", userEmail, deadline.remaining());
+            throw new IllegalStateException("Unable to send confirmation email in time");
+        }
+
         try {
             log.info("Sending payment confirmation email to {}", userEmail);
             mailSender.send(message);
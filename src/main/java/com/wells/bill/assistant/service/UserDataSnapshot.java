@@ -0,0 +1,87 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.model.BillDetail;
+import com.wells.bill.assistant.model.PaymentResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The user's bills and payments as seen by one chat turn.
+ * <p>
+ * Each list is loaded on first use and then shared by every tool call in the turn;
+ * unpaid bills, provider lookups and id lookups are derived in memory instead of
+ * issuing another query. Provider matching mirrors the repositories'
+ * case-insensitive {@code LIKE %name%}.
+ */
+public class UserDataSnapshot {
+
+    private final UUID userId;
+    private final BillService billService;
+    private final PaymentService paymentService;
+
+    private final AtomicReference<List<BillDetail>> bills = new AtomicReference<>();
+    private final AtomicReference<List<PaymentResponse>> payments = new AtomicReference<>();
+
+    UserDataSnapshot(UUID userId, BillService billService, PaymentService paymentService) {
+        this.userId = userId;
+        this.billService = billService;
+        this.paymentService = paymentService;
+    }
+
+    public UUID userId() {
+        return userId;
+    }
+
+    public List<BillDetail> allBills() {
+        return load(bills, () -> billService.getBills(userId, Pageable.unpaged()).getContent());
+    }
+
+    public List<BillDetail> unpaidBills() {
+        return allBills().stream()
+                .filter(b -> BillService.UNPAID_STATUSES.contains(b.status()))
+                .toList();
+    }
+
+    public List<BillDetail> billsByProvider(String providerName) {
+        return allBills().stream()
+                .filter(b -> matchesProvider(b.providerName(), providerName))
+                .toList();
+    }
+
+    public Map<UUID, BillDetail> billsByIds(Set<UUID> billIds) {
+        return allBills().stream()
+                .filter(b -> billIds.contains(b.id()))
+                .collect(Collectors.toMap(BillDetail::id, b -> b));
+    }
+
+    public List<PaymentResponse> payments() {
+        return load(payments, () -> paymentService.getPaymentsForUser(userId));
+    }
+
+    public List<PaymentResponse> paymentsByProvider(String providerName) {
+        return payments().stream()
+                .filter(p -> matchesProvider(p.getProviderName(), providerName))
+                .toList();
+    }
+
+    private static <T> List<T> load(AtomicReference<List<T>> holder, Supplier<List<T>> loader) {
+        List<T> loaded = holder.get();
+        if (loaded == null) {
+            // Two racing tool calls may both load; the first result wins and both see the same list
+            holder.compareAndSet(null, List.copyOf(loader.get()));
+            loaded = holder.get();
+        }
+        return loaded;
+    }
+
+    private static boolean matchesProvider(String actual, String requested) {
+        if (actual == null || requested == null) {
+            return false;
+        }
+        return actual.toLowerCase(Locale.ROOT).contains(requested.toLowerCase(Locale.ROOT));
+    }
+}
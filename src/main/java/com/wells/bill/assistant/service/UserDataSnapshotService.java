@@ -0,0 +1,117 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.event.BillStatusChangedEvent;
+import com.wells.bill.assistant.event.PaymentStatusChangedEvent;
+import com.wells.bill.assistant.util.ConversationContextHolder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-turn {@link UserDataSnapshot}s, keyed by conversationId.
+ * <p>
+ * OrchestratorService opens a snapshot when a turn starts and closes it when the turn
+ * ends; tools reach it through the bound conversation. Concurrent turns on the same
+ * conversation (two tabs, a retry) share one snapshot, reference counted, so one turn
+ * ending never drops or replaces the snapshot another turn is still using. State-changing tools and bill
+ * and payment change events drop the snapshot so the next read in the same turn reloads.
+ * Outside an open turn every call gets a fresh, uncached snapshot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserDataSnapshotService {
+
+    private final BillService billService;
+    private final PaymentService paymentService;
+
+    // Only read / written inside ConcurrentHashMap compute callbacks for its key
+    private static final class OpenTurns {
+        private UserDataSnapshot snapshot;
+        private int turns;
+
+        OpenTurns(UserDataSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    private final Map<UUID, OpenTurns> openTurns = new ConcurrentHashMap<>();
+
+    public void open(UUID userId, UUID conversationId) {
+        openTurns.compute(conversationId, (id, current) -> {
+            OpenTurns turns = current != null ? current : new OpenTurns(newSnapshot(userId));
+            if (!turns.snapshot.userId().equals(userId)) {
+                turns.snapshot = newSnapshot(userId);
+            }
+            turns.turns++;
+            return turns;
+        });
+    }
+
+    public void close(UUID conversationId) {
+        openTurns.computeIfPresent(conversationId, (id, current) -> --current.turns == 0 ? null : current);
+    }
+
+    /**
+     * Snapshot for the conversation bound to the current tool call.
+     */
+    public UserDataSnapshot forUser(UUID userId) {
+        UUID conversationId = ConversationContextHolder.getConversationId();
+        if (conversationId == null) {
+            return newSnapshot(userId);
+        }
+
+        UserDataSnapshot[] snapshot = new UserDataSnapshot[1];
+        openTurns.computeIfPresent(conversationId, (id, current) -> {
+            if (!current.snapshot.userId().equals(userId)) {
+                current.snapshot = newSnapshot(userId);
+            }
+            snapshot[0] = current.snapshot;
+            return current;
+        });
+
+        return snapshot[0] != null ? snapshot[0] : newSnapshot(userId);
+    }
+
+    /**
+     * Called by state-changing tools right after they write.
+     */
+    public void invalidate(UUID conversationId) {
+        if (conversationId != null) {
+            openTurns.computeIfPresent(conversationId, (id, current) -> {
+                current.snapshot = newSnapshot(current.snapshot.userId());
+                return current;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillStatusChanged(BillStatusChangedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    // A payment made from another tab (or by the scheduler) mid-turn
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        invalidateUser(event.userId());
+    }
+
+    private void invalidateUser(UUID userId) {
+        openTurns.replaceAll((conversationId, current) -> {
+            if (current.snapshot.userId().equals(userId)) {
+                current.snapshot = newSnapshot(userId);
+            }
+            return current;
+        });
+        log.debug("Invalidated turn snapshots for userId={}", userId);
+    }
+
+    private UserDataSnapshot newSnapshot(UUID userId) {
+        return new UserDataSnapshot(userId, billService, paymentService);
+    }
+}
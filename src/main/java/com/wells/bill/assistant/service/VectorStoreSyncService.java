@@ -0,0 +1,247 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.builder.BillFilterTemplates;
+import com.wells.bill.assistant.config.VectorStoreSyncProperties;
+import com.wells.bill.assistant.event.BillStatusChangedEvent;
+import com.wells.bill.assistant.model.BillStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps vector_store chunks in line with the bill lifecycle.
+ * <p>
+ * Status changes are only recorded on the request path; the scheduler drains them:
+ * - CANCELLED bills → chunks deleted in batches (billId in [...])
+ * - any other status → billStatus metadata rewritten in one JDBC batch
+ * - orphan compaction → chunks whose billId has no live bill row are removed
+ * - reconciliation → chunks whose billStatus differs from the bill row are re-tagged,
+ *   which recovers status changes queued in memory but lost in a crash or failed flush
+ * Per-bill summaries in bill_summary_store follow the same lifecycle.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VectorStoreSyncService {
+
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE vector_store
+               SET metadata = jsonb_set(metadata, '{billStatus}', to_jsonb(?::text))
+             WHERE metadata->>'billId' = ?
+            """;
+
+    private static final String UPDATE_SUMMARY_STATUS_SQL = """
+            UPDATE bill_summary_store
+               SET metadata = jsonb_set(metadata, '{billStatus}', to_jsonb(?::text))
+             WHERE metadata->>'billId' = ?
+            """;
+
+    private static final String DELETE_ORPHAN_SUMMARIES_SQL = """
+            DELETE FROM bill_summary_store
+             WHERE id IN (
+                   SELECT s.id
+                     FROM bill_summary_store s
+                    WHERE NOT EXISTS (
+                          SELECT 1
+                            FROM bills b
+                           WHERE b.id = s.id
+                             AND b.status <> 'CANCELLED'
+                      )
+                    LIMIT ?
+             )
+            """;
+
+    private static final String DELETE_ORPHANS_SQL = """
+            DELETE FROM vector_store
+             WHERE id IN (
+                   SELECT v.id
+                     FROM vector_store v
+                    WHERE v.metadata->>'billId' IS NOT NULL
+                      AND NOT EXISTS (
+                          SELECT 1
+                            FROM bills b
+                           WHERE b.id::text = v.metadata->>'billId'
+                             AND b.status <> 'CANCELLED'
+                      )
+                    LIMIT ?
+             )
+            """;
+
+    // Bills table is the source of truth; bounded per statement like compaction
+    private static final String RECONCILE_STATUS_SQL = """
+            UPDATE vector_store v
+               SET metadata = jsonb_set(v.metadata, '{billStatus}', to_jsonb(b.status::text))
+              FROM bills b
+             WHERE b.id::text = v.metadata->>'billId'
+               AND v.id IN (
+                   SELECT c.id
+                     FROM vector_store c
+                     JOIN bills cb ON cb.id::text = c.metadata->>'billId'
+                    WHERE cb.status <> 'CANCELLED'
+                      AND c.metadata->>'billStatus' IS DISTINCT FROM cb.status
+                    LIMIT ?
+             )
+            """;
+
+    private static final String RECONCILE_SUMMARY_STATUS_SQL = """
+            UPDATE bill_summary_store s
+               SET metadata = jsonb_set(s.metadata, '{billStatus}', to_jsonb(b.status::text))
+              FROM bills b
+             WHERE b.id = s.id
+               AND s.id IN (
+                   SELECT c.id
+                     FROM bill_summary_store c
+                     JOIN bills cb ON cb.id = c.id
+                    WHERE cb.status <> 'CANCELLED'
+                      AND c.metadata->>'billStatus' IS DISTINCT FROM cb.status
+                    LIMIT ?
+             )
+            """;
+
+    private final VectorStore vectorStore;
+    private final BillSummaryIndex billSummaryIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final VectorStoreSyncProperties properties;
+
+    // billId → latest status seen; last write wins between flushes
+    private final Map<UUID, BillStatus> pendingStatusUpdates = new ConcurrentHashMap<>();
+    private final Set<UUID> pendingDeletes = ConcurrentHashMap.newKeySet();
+
+    /* =====================================================
+     * 1️⃣ RECORD (request path, after commit)
+     * ===================================================== */
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillStatusChanged(BillStatusChangedEvent event) {
+        if (event.status() == BillStatus.CANCELLED) {
+            pendingStatusUpdates.remove(event.billId());
+            pendingDeletes.add(event.billId());
+        } else {
+            pendingStatusUpdates.put(event.billId(), event.status());
+        }
+        log.debug("Queued vector sync for billId={} status={}", event.billId(), event.status());
+    }
+
+    /* =====================================================
+     * 2️⃣ FLUSH (scheduler)
+     * ===================================================== */
+
+    public void flushPending() {
+        flushDeletes();
+        flushStatusUpdates();
+    }
+
+    private void flushDeletes() {
+        List<UUID> billIds = drain(pendingDeletes);
+        for (List<UUID> batch : partition(billIds)) {
+            try {
+                vectorStore.delete(BillFilterTemplates.BILLS.bind(Map.of(BillFilterTemplates.BILL_IDS, batch)));
+                billSummaryIndex.delete(batch);
+                log.info("Deleted vector chunks for {} cancelled bills", batch.size());
+            } catch (Exception e) {
+                log.error("Vector chunk delete failed for {} bills, re-queued", batch.size(), e);
+                pendingDeletes.addAll(batch);
+            }
+        }
+    }
+
+    private void flushStatusUpdates() {
+        if (pendingStatusUpdates.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, BillStatus> snapshot = new HashMap<>();
+        for (UUID billId : new ArrayList<>(pendingStatusUpdates.keySet())) {
+            BillStatus status = pendingStatusUpdates.remove(billId);
+            if (status != null) {
+                snapshot.put(billId, status);
+            }
+        }
+
+        for (List<UUID> batch : partition(new ArrayList<>(snapshot.keySet()))) {
+            List<Object[]> args = batch.stream()
+                    .map(id -> new Object[]{snapshot.get(id).name(), id.toString()})
+                    .toList();
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, args);
+                jdbcTemplate.batchUpdate(UPDATE_SUMMARY_STATUS_SQL, args);
+                log.info("Updated billStatus metadata for {} bills", batch.size());
+            } catch (Exception e) {
+                log.error("Vector metadata update failed for {} bills, re-queued", batch.size(), e);
+                batch.forEach(id -> pendingStatusUpdates.putIfAbsent(id, snapshot.get(id)));
+            }
+        }
+    }
+
+    /* =====================================================
+     * 3️⃣ COMPACTION (scheduler)
+     * ===================================================== */
+
+    /**
+     * Removes chunks whose billId no longer maps to a live bill.
+     * Runs in bounded statements so a large backlog never holds one long lock.
+     */
+    public int compactOrphans() {
+        int chunks = compact(DELETE_ORPHANS_SQL);
+        int summaries = compact(DELETE_ORPHAN_SUMMARIES_SQL);
+
+        log.info("Vector store compaction removed {} orphaned chunks and {} orphaned summaries", chunks, summaries);
+        return chunks + summaries;
+    }
+
+    /* =====================================================
+     * 4️⃣ RECONCILIATION (scheduler)
+     * ===================================================== */
+
+    /**
+     * Re-tags chunks and summaries whose billStatus no longer matches the bill row.
+     * Cancelled bills are left to orphan compaction.
+     */
+    public int reconcileStatuses() {
+        int chunks = compact(RECONCILE_STATUS_SQL);
+        int summaries = compact(RECONCILE_SUMMARY_STATUS_SQL);
+        if (chunks + summaries > 0) {
+            log.warn("Vector store reconciliation re-tagged {} chunks and {} summaries", chunks, summaries);
+        }
+        return chunks + summaries;
+    }
+
+    private int compact(String sql) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, properties.getCompactionBatchSize());
+            total += deleted;
+        } while (deleted >= properties.getCompactionBatchSize());
+        return total;
+    }
+
+    /* =====================================================
+     * Internal Helpers
+     * ===================================================== */
+
+    private static List<UUID> drain(Set<UUID> source) {
+        List<UUID> drained = new ArrayList<>();
+        for (UUID id : new ArrayList<>(source)) {
+            if (source.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private List<List<UUID>> partition(List<UUID> ids) {
+        int size = Math.max(1, properties.getBatchSize());
+        List<List<UUID>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += size) {
+            batches.add(ids.subList(i, Math.min(i + size, ids.size())));
+        }
+        return batches;
+    }
+}
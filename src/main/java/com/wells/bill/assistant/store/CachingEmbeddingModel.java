@@ -0,0 +1,210 @@
+package com.wells.bill.assistant.store;
+
+import com.wells.bill.assistant.config.QueryEmbeddingProperties;
+import com.wells.bill.assistant.util.Deadline;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Front end for single-text embeddings (the chat-path query embedding done inside
+ * vector-store similarity searches).
+ * <p>
+ * Recent query vectors are kept in a bounded LRU keyed by normalised text, so repeated
+ * messages ("hi", "list my bills") and the summary + chunk searches of one turn embed
+ * once. The model always sees the original text of the first request for a key; the
+ * normalisation only decides what counts as the same question. Concurrent misses are
+ * held for a few milliseconds and sent as one batched request; identical in-flight texts
+ * share the same result. A caller waits at most {@code maxWait}, or what is left of its
+ * chat turn's {@link Deadline} when that is shorter.
+ * <p>
+ * Multi-text requests (ingestion) pass straight through to the model.
+ * Metrics: embedding.query.cache{result=hit|miss|coalesced|timeout}, embedding.query.batch.size,
+ * embedding.query.latency, embedding.query.calls.
+ */
+@Slf4j
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final QueryEmbeddingProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, float[]> cache;
+    private final Map<String, CompletableFuture<float[]>> inFlight = new HashMap<>();
+    // key → text sent to the model, in arrival order
+    private final Map<String, String> pending = new LinkedHashMap<>();
+    private final Object lock = new Object();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "query-embedding-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CachingEmbeddingModel(EmbeddingModel delegate, QueryEmbeddingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        int maxEntries = properties.getCacheSize();
+        this.cache = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public float[] embed(String text) {
+        return Timer.builder("embedding.query.latency")
+                .description("Query embedding time including cache lookups and batch waits")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(() -> lookup(normalize(text), text));
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        return delegate.call(request);
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+
+    /* ==================== CACHE + COALESCING ==================== */
+
+    private float[] lookup(String key, String text) {
+        CompletableFuture<float[]> future;
+        Map<String, String> fullBatch = null;
+
+        synchronized (lock) {
+            float[] cached = cache.get(key);
+            if (cached != null) {
+                count("hit");
+                return cached;
+            }
+
+            future = inFlight.get(key);
+            if (future != null) {
+                count("coalesced");
+            } else {
+                count("miss");
+                future = new CompletableFuture<>();
+                inFlight.put(key, future);
+                pending.put(key, text == null ? "" : text);
+
+                if (pending.size() >= properties.getMaxBatchSize()) {
+                    fullBatch = drainPending();
+                } else if (pending.size() == 1) {
+                    timer.schedule(this::flushPending, properties.getBatchWindow().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        if (fullBatch != null) {
+            embedBatch(fullBatch);
+        }
+        return await(future);
+    }
+
+    private void flushPending() {
+        Map<String, String> batch;
+        synchronized (lock) {
+            batch = drainPending();
+        }
+        if (!batch.isEmpty()) {
+            // Off the timer thread so the next window is not delayed by this remote call
+            batchExecutor.execute(() -> embedBatch(batch));
+        }
+    }
+
+    private Map<String, String> drainPending() {
+        Map<String, String> batch = new LinkedHashMap<>(pending);
+        pending.clear();
+        return batch;
+    }
+
+    private void embedBatch(Map<String, String> batch) {
+        List<String> keys = new ArrayList<>(batch.keySet());
+        List<String> texts = new ArrayList<>(batch.values());
+        DistributionSummary.builder("embedding.query.batch.size")
+                .description("Query texts per batched embedding call")
+                .register(meterRegistry)
+                .record(texts.size());
+        meterRegistry.counter("embedding.query.calls").increment();
+
+        try {
+            EmbeddingResponse response = delegate.call(new EmbeddingRequest(texts, null));
+            synchronized (lock) {
+                for (int i = 0; i < keys.size(); i++) {
+                    float[] vector = response.getResults().get(i).getOutput();
+                    cache.put(keys.get(i), vector);
+                    inFlight.remove(keys.get(i)).complete(vector);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Batched query embedding of {} texts failed: {}", texts.size(), e.getMessage());
+            synchronized (lock) {
+                for (String key : keys) {
+                    CompletableFuture<float[]> future = inFlight.remove(key);
+                    if (future != null) {
+                        future.completeExceptionally(e);
+                    }
+                }
+            }
+        }
+    }
+
+    // Per caller: the shared future is left alone so other waiters keep their own budget
+    private float[] await(CompletableFuture<float[]> future) {
+        Deadline deadline = Deadline.current();
+        Duration wait = deadline == null ? properties.getMaxWait() : deadline.remaining(properties.getMaxWait());
+        try {
+            return future.get(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            count("timeout");
+            throw new IllegalStateException("Query embedding did not complete within " + wait.toMillis() + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a query embedding", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("embedding.query.cache", "result", result).increment();
+    }
+
+    // Case and whitespace do not change what the user is asking for
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        batchExecutor.shutdown();
+    }
+}
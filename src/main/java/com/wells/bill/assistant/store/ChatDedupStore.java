@@ -0,0 +1,98 @@
+package com.wells.bill.assistant.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cluster-wide claims on chat turns in {@code chat_request_dedup}.
+ * <p>
+ * The first node to claim a dedup key runs the turn and publishes the answer; other
+ * nodes poll for it. A claim expires after the lease (owner died mid-turn). A published
+ * answer is only read by nodes that were already waiting: the next claim on the key takes
+ * it over right away, and it is purged after the dedup window.
+ * All times come from the database clock so nodes never disagree about expiry.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatDedupStore {
+
+    public enum State {
+        PENDING, DONE, MISSING
+    }
+
+    public record Entry(State state, String response) {
+
+        static final Entry MISSING = new Entry(State.MISSING, null);
+    }
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO chat_request_dedup (dedup_key, node_id, status, created_at)
+            VALUES (?, ?, 'PENDING', now())
+            ON CONFLICT (dedup_key) DO UPDATE
+               SET node_id = EXCLUDED.node_id,
+                   status = 'PENDING',
+                   response = NULL,
+                   created_at = now(),
+                   completed_at = NULL
+             WHERE chat_request_dedup.status = 'DONE'
+                OR chat_request_dedup.created_at < now() - ? * INTERVAL '1 millisecond'
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE chat_request_dedup
+               SET status = 'DONE', response = ?, completed_at = now()
+             WHERE dedup_key = ? AND node_id = ?
+            """;
+
+    private static final String RELEASE_SQL = """
+            DELETE FROM chat_request_dedup
+             WHERE dedup_key = ? AND node_id = ?
+            """;
+
+    private static final String POLL_SQL = """
+            SELECT status, response
+              FROM chat_request_dedup
+             WHERE dedup_key = ?
+            """;
+
+    private static final String PURGE_SQL = """
+            DELETE FROM chat_request_dedup
+             WHERE (status = 'DONE' AND completed_at < now() - ? * INTERVAL '1 millisecond')
+                OR created_at < now() - ? * INTERVAL '1 millisecond'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return true when this node now owns the key (new, finished, or the previous claim expired)
+     */
+    public boolean tryClaim(String dedupKey, String nodeId, Duration lease) {
+        return jdbcTemplate.update(CLAIM_SQL, dedupKey, nodeId, lease.toMillis()) == 1;
+    }
+
+    public void complete(String dedupKey, String nodeId, String response) {
+        jdbcTemplate.update(COMPLETE_SQL, response, dedupKey, nodeId);
+    }
+
+    /**
+     * Gives the key up after a failed turn or a fallback answer so a waiting node answers it itself.
+     */
+    public void release(String dedupKey, String nodeId) {
+        jdbcTemplate.update(RELEASE_SQL, dedupKey, nodeId);
+    }
+
+    public Entry poll(String dedupKey) {
+        List<Entry> rows = jdbcTemplate.query(POLL_SQL,
+                (rs, rowNum) -> new Entry(State.valueOf(rs.getString("status")), rs.getString("response")),
+                dedupKey);
+        return rows.isEmpty() ? Entry.MISSING : rows.getFirst();
+    }
+
+    public int purge(Duration lease, Duration window) {
+        return jdbcTemplate.update(PURGE_SQL, window.toMillis(), lease.toMillis());
+    }
+}
@@ -0,0 +1,251 @@
+package com.wells.bill.assistant.store;
+
+import com.wells.bill.assistant.config.ChatMemoryProperties;
+import com.wells.bill.assistant.service.ConversationSummarizer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Chat memory that sends a running summary plus the last few turns verbatim,
+ * instead of a raw window of up to {@code maxMessages} messages.
+ * <p>
+ * Stored shape per conversation: [summary?] + unsummarized messages.
+ * When enough older messages pile up behind the verbatim tail, a summary refresh is
+ * scheduled off the request path; until it lands, {@link #get} still returns a bounded
+ * window. Prompt tokens are published as chat.memory.prompt.tokens{mode=raw|compacted},
+ * where raw is what the plain message window would have sent.
+ * <p>
+ * Every read-modify-write of a conversation (append, compaction write-back, clear) runs
+ * under a striped per-conversation lock; the summarizer call itself runs outside it.
+ * Storage is capped: with compaction off the stored messages are trimmed to the prompt
+ * window, and if compaction keeps failing to {@code maxStoredMessages}.
+ */
+@Slf4j
+public class CompactingChatMemory implements ChatMemory {
+
+    static final String SUMMARY_MARKER = "conversationSummary";
+    private static final String SUMMARY_PREFIX = "Summary of the earlier conversation:\n";
+    private static final int LOCK_STRIPES = 64;
+
+    private final ChatMemoryRepository repository;
+    private final ConversationSummarizer summarizer;
+    private final ChatMemoryProperties properties;
+    private final ChatMemoryProperties.Compaction compaction;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore summaryPermits;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // ReentrantLock, not synchronized: callers are virtual threads
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    private final DistributionSummary rawTokens;
+    private final DistributionSummary compactedTokens;
+
+    public CompactingChatMemory(ChatMemoryRepository repository,
+                                ConversationSummarizer summarizer,
+                                ChatMemoryProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.summarizer = summarizer;
+        this.properties = properties;
+        this.compaction = properties.getCompaction();
+        this.summaryPermits = new Semaphore(Math.max(1, compaction.getMaxConcurrentSummaries()));
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        this.rawTokens = promptTokens(meterRegistry, "raw");
+        this.compactedTokens = promptTokens(meterRegistry, "compacted");
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        List<Message> stored = locked(conversationId, () -> {
+            List<Message> updated = new ArrayList<>(repository.findByConversationId(conversationId));
+            updated.addAll(messages);
+            updated = capped(conversationId, updated);
+            repository.saveAll(conversationId, updated);
+            return updated;
+        });
+
+        if (compaction.isEnabled() && unsummarized(stored).size() - compaction.getKeepRecentMessages() >= compaction.getCompactAfterMessages()) {
+            scheduleCompaction(conversationId);
+        }
+    }
+
+    @Override
+    public List<Message> get(String conversationId) {
+        List<Message> stored = repository.findByConversationId(conversationId);
+        List<Message> unsummarized = unsummarized(stored);
+
+        // What the plain window memory would have sent
+        rawTokens.record(estimateTokens(tail(unsummarized, properties.getMaxMessages())));
+
+        if (!compaction.isEnabled()) {
+            List<Message> window = tail(unsummarized, properties.getMaxMessages());
+            compactedTokens.record(estimateTokens(window));
+            return window;
+        }
+
+        List<Message> result = new ArrayList<>();
+        summaryOf(stored).ifPresent(result::add);
+        // Summary refresh still pending → bounded by the same window as before
+        result.addAll(tail(unsummarized, properties.getMaxMessages()));
+
+        compactedTokens.record(estimateTokens(result));
+        return result;
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        locked(conversationId, () -> {
+            repository.deleteByConversationId(conversationId);
+            return null;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /* ==================== COMPACTION ==================== */
+
+    private void scheduleCompaction(String conversationId) {
+        if (!inFlight.add(conversationId)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                summaryPermits.acquire();
+                try {
+                    compact(conversationId);
+                } finally {
+                    summaryPermits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("Conversation compaction failed for conversationId={}", conversationId, e);
+            } finally {
+                inFlight.remove(conversationId);
+            }
+        });
+    }
+
+    private void compact(String conversationId) {
+        List<Message> snapshot = repository.findByConversationId(conversationId);
+        List<Message> unsummarized = unsummarized(snapshot);
+        int foldCount = unsummarized.size() - compaction.getKeepRecentMessages();
+        if (foldCount <= 0) {
+            return;
+        }
+
+        String previous = summaryOf(snapshot).map(this::summaryText).orElse(null);
+        String summary = summarizer.summarize(previous, unsummarized.subList(0, foldCount), compaction.getSummaryMaxTokens());
+
+        // Appends made while we summarized keep the folded prefix at the head; anything else (clear, trim) aborts
+        int prefix = snapshot.size() - unsummarized.size() + foldCount;
+        boolean written = locked(conversationId, () -> {
+            List<Message> current = repository.findByConversationId(conversationId);
+            if (current.size() < prefix || !current.subList(0, prefix).equals(snapshot.subList(0, prefix))) {
+                return false;
+            }
+
+            List<Message> compacted = new ArrayList<>();
+            compacted.add(summaryMessage(summary));
+            compacted.addAll(current.subList(prefix, current.size()));
+            repository.saveAll(conversationId, compacted);
+            return true;
+        });
+
+        if (written) {
+            log.info("Compacted conversationId={}: folded {} messages into summary", conversationId, foldCount);
+        } else {
+            log.debug("Conversation {} changed during compaction, skipping", conversationId);
+        }
+    }
+
+    /* ==================== HELPERS ==================== */
+
+    private <T> T locked(String conversationId, Supplier<T> action) {
+        ReentrantLock lock = locks[Math.floorMod(conversationId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Oldest unsummarized messages go first; the summary (if any) is kept
+    private List<Message> capped(String conversationId, List<Message> stored) {
+        int cap = compaction.isEnabled() ? properties.getMaxStoredMessages() : properties.getMaxMessages();
+        List<Message> unsummarized = unsummarized(stored);
+        int excess = unsummarized.size() - Math.max(1, cap);
+        if (excess <= 0) {
+            return stored;
+        }
+
+        List<Message> trimmed = new ArrayList<>();
+        summaryOf(stored).ifPresent(trimmed::add);
+        trimmed.addAll(unsummarized.subList(excess, unsummarized.size()));
+        log.debug("Trimmed {} oldest messages of conversationId={}", excess, conversationId);
+        return trimmed;
+    }
+
+    private static Optional<Message> summaryOf(List<Message> stored) {
+        return stored.isEmpty() || !isSummary(stored.getFirst()) ? Optional.empty() : Optional.of(stored.getFirst());
+    }
+
+    private static List<Message> unsummarized(List<Message> stored) {
+        return !stored.isEmpty() && isSummary(stored.getFirst()) ? stored.subList(1, stored.size()) : stored;
+    }
+
+    private static boolean isSummary(Message message) {
+        // JDBC tier keeps only type + text, so the prefix is the durable marker
+        return message instanceof SystemMessage && message.getText() != null && message.getText().startsWith(SUMMARY_PREFIX);
+    }
+
+    private String summaryText(Message summary) {
+        return summary.getText().substring(SUMMARY_PREFIX.length());
+    }
+
+    private static Message summaryMessage(String summary) {
+        return SystemMessage.builder()
+                .text(SUMMARY_PREFIX + summary)
+                .metadata(Map.of(SUMMARY_MARKER, true))
+                .build();
+    }
+
+    private static List<Message> tail(List<Message> messages, int max) {
+        return new ArrayList<>(messages.subList(Math.max(0, messages.size() - max), messages.size()));
+    }
+
+    static int estimateTokens(List<Message> messages) {
+        return messages.stream()
+                .mapToInt(m -> m.getText() == null ? 0 : m.getText().length() / 4)
+                .sum();
+    }
+
+    private static DistributionSummary promptTokens(MeterRegistry meterRegistry, String mode) {
+        return DistributionSummary.builder("chat.memory.prompt.tokens")
+                .description("Estimated chat memory tokens added to the prompt per turn")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+}
@@ -1,73 +1,229 @@
 package com.wells.bill.assistant.store;
 
+import com.wells.bill.assistant.config.ContextCacheProperties;
 import com.wells.bill.assistant.entity.ContextEntity;
 import com.wells.bill.assistant.exception.ContextMismatchException;
 import com.wells.bill.assistant.model.Context;
 import com.wells.bill.assistant.repository.ContextRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Resolves the cookie context to its conversation.
+ * <p>
+ * - contexts are served from a bounded in-process LRU of snapshots; a miss, a snapshot
+ * older than {@code revalidateAfter} or an idle-expired context goes to Postgres
+ * - an access only records its time in memory; {@link #flushTouches()} (scheduler +
+ * shutdown) writes the latest time per context in one JDBC batch, without a version bump
+ * - only creating a context or resetting an expired conversation writes the entity,
+ * so concurrent tabs no longer race on {@code @Version}
+ * <p>
+ * A touch lost on a hard crash at most makes a context look idle a few seconds early.
+ */
 @Slf4j
 @Component
-@Transactional
-@RequiredArgsConstructor
 public class ContextStore {
 
     private static final long EXPIRY_MS = 10 * 60 * 1000;
 
+    // Never moves lastAccessTime backwards (another node may have written a later access)
+    private static final String TOUCH_SQL = """
+            UPDATE user_context
+               SET last_access_time = ?
+             WHERE context_id = ? AND last_access_time < ?
+            """;
+
+    private record Snapshot(UUID contextId, UUID userId, UUID conversationId, long lastAccessTime, long verifiedAt) {
+
+        static Snapshot of(ContextEntity entity, long lastAccessTime, long now) {
+            return new Snapshot(entity.getContextId(), entity.getUserId(), entity.getConversationId(), lastAccessTime, now);
+        }
+
+        Snapshot touched(long now) {
+            return new Snapshot(contextId, userId, conversationId, Math.max(lastAccessTime, now), verifiedAt);
+        }
+
+        Context context() {
+            return new Context(contextId, conversationId, userId);
+        }
+    }
+
     private final Clock clock;
     private final ContextRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ContextCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, Snapshot> cache;
+    // contextId → latest access time not yet written
+    private final Map<UUID, Long> pendingTouches = new ConcurrentHashMap<>();
+
+    public ContextStore(Clock clock,
+                        ContextRepository repository,
+                        JdbcTemplate jdbcTemplate,
+                        ContextCacheProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.clock = clock;
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        int maxEntries = Math.max(1, properties.getMaxEntries());
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Snapshot> eldest) {
+                // Pending touches live in their own map, so eviction loses nothing
+                return size() > maxEntries;
+            }
+        });
+
+        Gauge.builder("context.touch.pending", pendingTouches, Map::size)
+                .description("Context access times waiting to be written")
+                .register(meterRegistry);
+    }
 
     public Context resolveContext(UUID contextId, UUID userId) {
         long now = clock.millis();
 
-        ContextEntity entity = repository.findById(contextId)
+        Snapshot cached = cache.get(contextId);
+        if (cached != null && isFresh(cached, now)) {
+            checkOwner(cached.userId(), userId, contextId);
+            count("hit");
+            return touch(cached, now).context();
+        }
+
+        count("miss");
+        Snapshot loaded = repository.findById(contextId)
                 .map(existing -> refresh(existing, userId, now))
                 .orElseGet(() -> create(contextId, userId, now));
+        cache.put(contextId, loaded);
+        return loaded.context();
+    }
 
-        return new Context(
-                entity.getContextId(),
-                entity.getConversationId(),
-                entity.getUserId()
-        );
+    /**
+     * Writes the coalesced access times to Postgres in batches.
+     * Failed batches are re-queued for the next run.
+     */
+    public int flushTouches() {
+        if (pendingTouches.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, Long> drained = new HashMap<>();
+        for (UUID contextId : new ArrayList<>(pendingTouches.keySet())) {
+            Long time = pendingTouches.remove(contextId);
+            if (time != null) {
+                drained.put(contextId, time);
+            }
+        }
+
+        int written = 0;
+        List<UUID> ids = new ArrayList<>(drained.keySet());
+        int batchSize = Math.max(1, properties.getFlushBatchSize());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            List<Object[]> args = batch.stream()
+                    .map(id -> new Object[]{drained.get(id), id, drained.get(id)})
+                    .toList();
+            try {
+                jdbcTemplate.batchUpdate(TOUCH_SQL, args);
+                written += batch.size();
+            } catch (Exception e) {
+                log.error("Context touch flush failed for {} contexts, re-queued", batch.size(), e);
+                batch.forEach(id -> pendingTouches.merge(id, drained.get(id), Math::max));
+            }
+        }
+        log.debug("Flushed lastAccessTime for {} contexts", written);
+        return written;
     }
 
-    private ContextEntity refresh(ContextEntity entity, UUID userId, long now) {
-        if (!entity.getUserId().equals(userId)) {
-            log.warn("Context ownership mismatch: contextId={}", entity.getContextId());
-            throw new ContextMismatchException("Context ownership mismatch");
+    @PreDestroy
+    public void shutdown() {
+        flushTouches();
+    }
+
+    /* ==================== HELPERS ==================== */
+
+    private Snapshot refresh(ContextEntity entity, UUID userId, long now) {
+        checkOwner(entity.getUserId(), userId, entity.getContextId());
+
+        // This node's unflushed accesses count as activity too
+        long lastAccess = Math.max(entity.getLastAccessTime(), pendingTouches.getOrDefault(entity.getContextId(), 0L));
+        if (!isExpired(lastAccess, now)) {
+            recordTouch(entity.getContextId(), now);
+            return Snapshot.of(entity, now, now);
         }
 
-        if (isExpired(entity, now)) {
+        try {
             entity.resetConversation(now);
-        } else {
-            entity.touch(now);
+            ContextEntity saved = repository.save(entity);
+            pendingTouches.remove(saved.getContextId());
+            return Snapshot.of(saved, now, now);
+        } catch (OptimisticLockingFailureException e) {
+            // Another request reset it first → use its conversation
+            log.info("Context reset raced, reloading: {}", entity.getContextId());
+            ContextEntity current = repository.findById(entity.getContextId())
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Context disappeared during reset for contextId=" + entity.getContextId()
+                    ));
+            recordTouch(current.getContextId(), now);
+            return Snapshot.of(current, now, now);
         }
-
-        return repository.save(entity);
     }
 
-    private ContextEntity create(UUID contextId, UUID userId, long now) {
+    private Snapshot create(UUID contextId, UUID userId, long now) {
         try {
-            return repository.save(
-                    new ContextEntity(contextId, userId, UUID.randomUUID(), now)
-            );
+            return Snapshot.of(repository.save(new ContextEntity(contextId, userId, UUID.randomUUID(), now)), now, now);
         } catch (DataIntegrityViolationException e) {
             log.warn("Context already exists, reloading: {}", contextId);
-            return repository.findById(contextId)
+            ContextEntity existing = repository.findById(contextId)
                     .orElseThrow(() -> new IllegalStateException(
                             "Context creation race failed for contextId=" + contextId
                     ));
+            checkOwner(existing.getUserId(), userId, contextId);
+            recordTouch(contextId, now);
+            return Snapshot.of(existing, now, now);
         }
     }
 
-    private boolean isExpired(ContextEntity entity, long now) {
-        return now - entity.getLastAccessTime() > EXPIRY_MS;
+    private Snapshot touch(Snapshot cached, long now) {
+        recordTouch(cached.contextId(), now);
+        Snapshot touched = cache.computeIfPresent(cached.contextId(), (id, current) -> current.touched(now));
+        return touched == null ? cached : touched;
+    }
+
+    private void recordTouch(UUID contextId, long now) {
+        pendingTouches.merge(contextId, now, Math::max);
+    }
+
+    private boolean isFresh(Snapshot snapshot, long now) {
+        return now - snapshot.verifiedAt() <= properties.getRevalidateAfter().toMillis()
+                && !isExpired(snapshot.lastAccessTime(), now);
+    }
+
+    private static void checkOwner(UUID owner, UUID userId, UUID contextId) {
+        if (!owner.equals(userId)) {
+            log.warn("Context ownership mismatch: contextId={}", contextId);
+            throw new ContextMismatchException("Context ownership mismatch");
+        }
+    }
+
+    private static boolean isExpired(long lastAccessTime, long now) {
+        return now - lastAccessTime > EXPIRY_MS;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("context.cache", "result", result).increment();
     }
 }
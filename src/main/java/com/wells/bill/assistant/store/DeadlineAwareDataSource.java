@@ -0,0 +1,110 @@
+package com.wells.bill.assistant.store;
+
+import com.wells.bill.assistant.service.ChatTurnMetrics;
+import com.wells.bill.assistant.util.Deadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Turns the chat turn's {@link Deadline} into JDBC statement timeouts.
+ * <p>
+ * Every statement created while a deadline is bound gets a query timeout of the remaining
+ * budget, capped at {@code maxStatement}; with the budget already gone no connection is
+ * handed out at all. JPA, JdbcTemplate and the vector store all go through here. Outside
+ * a chat turn (schedulers, ingestion) nothing changes. Statements cut off this way count
+ * as chat.deadline.exceeded{stage=db}.
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource {
+
+    // Postgres: "canceling statement due to statement timeout / user request"
+    private static final String QUERY_CANCELED = "57014";
+
+    private final Duration maxStatement;
+    private final MeterRegistry meterRegistry;
+
+    public DeadlineAwareDataSource(DataSource target, Duration maxStatement, MeterRegistry meterRegistry) {
+        super(target);
+        this.maxStatement = maxStatement;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkBudget();
+        return bounded(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        checkBudget();
+        return bounded(super.getConnection(username, password));
+    }
+
+    private void checkBudget() throws SQLTimeoutException {
+        Deadline deadline = Deadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            exceeded();
+            throw new SQLTimeoutException("Request deadline exceeded before the query started");
+        }
+    }
+
+    private Connection bounded(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        return boundedStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    // Proxied as the declared type (Statement / PreparedStatement / CallableStatement)
+    private Object boundedStatement(Statement statement, Class<?> type) throws SQLException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return statement;
+        }
+        // JDBC timeouts are whole seconds; round up so a short budget is not "no timeout"
+        long seconds = Math.max(1, (deadline.remaining(maxStatement).toMillis() + 999) / 1000);
+        statement.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, seconds));
+
+        return Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    try {
+                        return invoke(statement, method, args);
+                    } catch (SQLException e) {
+                        if (e instanceof SQLTimeoutException || QUERY_CANCELED.equals(e.getSQLState())) {
+                            exceeded();
+                        }
+                        throw e;
+                    }
+                });
+    }
+
+    private void exceeded() {
+        meterRegistry.counter(ChatTurnMetrics.DEADLINE_EXCEEDED, "stage", "db").increment();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
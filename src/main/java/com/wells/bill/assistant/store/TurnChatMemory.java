@@ -0,0 +1,83 @@
+package com.wells.bill.assistant.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chat memory as seen by one chat turn whose model call may be re-run on another model.
+ * <p>
+ * The memory advisor writes the user message before the model call and the answer after
+ * it, so a failed FAST attempt followed by the LARGE one would store the question twice
+ * (plus whatever the failed attempt answered). Here each attempt writes into a buffer:
+ * {@link #newAttempt()} drops the previous attempt's buffer, and {@link #commit()} writes
+ * the last attempt's messages through once the turn is over, answered or not.
+ * Reads see the stored conversation followed by the current attempt's messages.
+ */
+@Slf4j
+public class TurnChatMemory implements ChatMemory {
+
+    private record Pending(String conversationId, List<Message> messages) {
+    }
+
+    private final ChatMemory delegate;
+    private final List<Pending> pending = new ArrayList<>();
+
+    public TurnChatMemory(ChatMemory delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Starts a model attempt; whatever the previous attempt buffered is discarded.
+     */
+    public synchronized void newAttempt() {
+        if (!pending.isEmpty()) {
+            log.debug("Discarding {} memory writes of a retried model attempt", pending.size());
+            pending.clear();
+        }
+    }
+
+    /**
+     * Writes the current attempt's messages to chat memory; later calls are no-ops until
+     * the next write.
+     */
+    public void commit() {
+        List<Pending> toWrite;
+        synchronized (this) {
+            toWrite = List.copyOf(pending);
+            pending.clear();
+        }
+        for (Pending write : toWrite) {
+            delegate.add(write.conversationId(), write.messages());
+        }
+    }
+
+    @Override
+    public synchronized void add(String conversationId, List<Message> messages) {
+        pending.add(new Pending(conversationId, List.copyOf(messages)));
+    }
+
+    @Override
+    public List<Message> get(String conversationId) {
+        List<Message> messages = new ArrayList<>(delegate.get(conversationId));
+        synchronized (this) {
+            for (Pending write : pending) {
+                if (write.conversationId().equals(conversationId)) {
+                    messages.addAll(write.messages());
+                }
+            }
+        }
+        return messages;
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        synchronized (this) {
+            pending.removeIf(write -> write.conversationId().equals(conversationId));
+        }
+        delegate.clear(conversationId);
+    }
+}
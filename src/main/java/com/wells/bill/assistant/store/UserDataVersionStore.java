@@ -0,0 +1,34 @@
+package com.wells.bill.assistant.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Cluster-wide version of a user's bill and payment data.
+ * <p>
+ * Derived from the rows themselves (count + latest {@code updated_at} per table), so any
+ * insert, update or delete on any node changes it without extra writes. Every bill and
+ * payment change goes through the entities, whose {@code @PreUpdate} moves
+ * {@code updated_at}. Both lookups use the {@code user_id} indexes.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDataVersionStore {
+
+    private static final String VERSION_SQL = """
+            SELECT concat_ws(':',
+                   (SELECT COUNT(*) FROM bills WHERE user_id = ?),
+                   (SELECT COALESCE(MAX(updated_at)::text, '-') FROM bills WHERE user_id = ?),
+                   (SELECT COUNT(*) FROM payments WHERE user_id = ?),
+                   (SELECT COALESCE(MAX(COALESCE(updated_at, created_at))::text, '-') FROM payments WHERE user_id = ?))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public String current(UUID userId) {
+        return jdbcTemplate.queryForObject(VERSION_SQL, String.class, userId, userId, userId, userId);
+    }
+}
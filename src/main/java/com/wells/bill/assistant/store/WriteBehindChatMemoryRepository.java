@@ -0,0 +1,198 @@
+package com.wells.bill.assistant.store;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Two-tier chat memory: bounded in-process LRU in front of a JDBC repository.
+ * <p>
+ * - reads hit the in-process tier; a miss loads from JDBC once and caches
+ * - writes update the in-process tier and record the conversation's latest messages
+ * as a pending write
+ * - {@link #flush()} (scheduler + shutdown) writes pending conversations in batches,
+ * one JDBC write per conversation no matter how many turns happened in between
+ * <p>
+ * Pending writes live in their own map, independent of the LRU: eviction never drops
+ * unflushed messages, a flush never reorders the LRU, and a pending write is only
+ * cleared once it is stored (and only if no newer write replaced it meanwhile).
+ * Loss on a hard crash is bounded by the flush interval.
+ * <p>
+ * Not coherent across nodes: each node has its own in-process tier, so a conversation
+ * must be served by one node (the conversation cookie gives sticky routing) or another
+ * node can read messages up to a flush interval old and overwrite newer ones.
+ */
+@Slf4j
+public class WriteBehindChatMemoryRepository implements ChatMemoryRepository {
+
+    private final ChatMemoryRepository delegate;
+    private final int flushBatchSize;
+
+    private final Map<String, List<Message>> cache;
+    // conversationId → latest messages not yet written to JDBC
+    private final Map<String, List<Message>> pendingWrites = new ConcurrentHashMap<>();
+    private final Set<String> pendingDeletes = ConcurrentHashMap.newKeySet();
+
+    private final MeterRegistry meterRegistry;
+    private final Timer flushTimer;
+
+    public WriteBehindChatMemoryRepository(ChatMemoryRepository delegate,
+                                           int maxCachedConversations,
+                                           int flushBatchSize,
+                                           MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.flushBatchSize = Math.max(1, flushBatchSize);
+        this.meterRegistry = meterRegistry;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Message>> eldest) {
+                // Unflushed messages stay in pendingWrites
+                return size() > maxCachedConversations;
+            }
+        });
+
+        this.flushTimer = Timer.builder("chat.memory.flush.latency")
+                .description("Write-behind flush of dirty conversations to JDBC")
+                .register(meterRegistry);
+        Gauge.builder("chat.memory.dirty", pendingWrites, Map::size)
+                .description("Conversations waiting for write-behind")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<String> findConversationIds() {
+        Set<String> ids = new LinkedHashSet<>(delegate.findConversationIds());
+        ids.addAll(pendingWrites.keySet());
+        ids.removeAll(pendingDeletes);
+        return new ArrayList<>(ids);
+    }
+
+    @Override
+    public List<Message> findByConversationId(String conversationId) {
+        List<Message> cached = cache.get(conversationId);
+        if (cached == null) {
+            cached = pendingWrites.get(conversationId);
+        }
+        if (cached != null) {
+            hit("hit");
+            return new ArrayList<>(cached);
+        }
+        if (pendingDeletes.contains(conversationId)) {
+            hit("hit");
+            return new ArrayList<>();
+        }
+
+        hit("miss");
+        List<Message> loaded = List.copyOf(delegate.findByConversationId(conversationId));
+        cache.putIfAbsent(conversationId, loaded);
+        return new ArrayList<>(loaded);
+    }
+
+    @Override
+    public void saveAll(String conversationId, List<Message> messages) {
+        List<Message> copy = List.copyOf(messages);
+        // Same lock as the LRU, so the two tiers never disagree about the latest messages
+        synchronized (cache) {
+            pendingDeletes.remove(conversationId);
+            pendingWrites.put(conversationId, copy);
+            cache.put(conversationId, copy);
+        }
+    }
+
+    @Override
+    public void deleteByConversationId(String conversationId) {
+        synchronized (cache) {
+            cache.remove(conversationId);
+            pendingWrites.remove(conversationId);
+            pendingDeletes.add(conversationId);
+        }
+    }
+
+    /**
+     * Writes pending conversations and pending deletes to the JDBC tier.
+     * Failed conversations stay pending and are retried on the next run.
+     */
+    public int flush() {
+        return flushTimer.record(() -> {
+            int written = 0;
+
+            for (String conversationId : drain(pendingDeletes, flushBatchSize)) {
+                try {
+                    delegate.deleteByConversationId(conversationId);
+                    written++;
+                } catch (Exception e) {
+                    log.error("Chat memory delete failed for conversationId={}, re-queued", conversationId, e);
+                    pendingDeletes.add(conversationId);
+                }
+            }
+
+            for (Map.Entry<String, List<Message>> pending : snapshot(pendingWrites, flushBatchSize)) {
+                String conversationId = pending.getKey();
+                try {
+                    delegate.saveAll(conversationId, pending.getValue());
+                    // A newer write that arrived meanwhile stays pending
+                    pendingWrites.remove(conversationId, pending.getValue());
+                    written++;
+                } catch (Exception e) {
+                    log.error("Chat memory write-behind failed for conversationId={}, retrying next run", conversationId, e);
+                }
+            }
+
+            if (written > 0) {
+                log.debug("Flushed {} chat memory conversations", written);
+            }
+            return written;
+        });
+    }
+
+    /**
+     * Graceful shutdown: drain everything before the DataSource goes away.
+     */
+    @PreDestroy
+    public void flushAll() {
+        int total = 0;
+        while (!pendingWrites.isEmpty() || !pendingDeletes.isEmpty()) {
+            int flushed = flush();
+            if (flushed == 0) {
+                break;
+            }
+            total += flushed;
+        }
+        log.info("Chat memory shutdown flush wrote {} conversations, {} left dirty", total, pendingWrites.size());
+    }
+
+    private void hit(String result) {
+        meterRegistry.counter("chat.memory.cache", "result", result).increment();
+    }
+
+    private static List<Map.Entry<String, List<Message>>> snapshot(Map<String, List<Message>> source, int max) {
+        List<Map.Entry<String, List<Message>>> entries = new ArrayList<>();
+        for (Map.Entry<String, List<Message>> entry : source.entrySet()) {
+            if (entries.size() >= max) {
+                break;
+            }
+            entries.add(Map.entry(entry.getKey(), entry.getValue()));
+        }
+        return entries;
+    }
+
+    private static List<String> drain(Set<String> source, int max) {
+        List<String> drained = new ArrayList<>();
+        for (String id : new ArrayList<>(source)) {
+            if (drained.size() >= max) {
+                break;
+            }
+            if (source.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+}
@@ -6,12 +6,12 @@ import com.wells.bill.assistant.model.BillDetail;
 import com.wells.bill.assistant.model.BillExplanation;
 import com.wells.bill.assistant.model.BillStatus;
 import com.wells.bill.assistant.service.BillService;
+import com.wells.bill.assistant.service.UserDataSnapshotService;
 import com.wells.bill.assistant.util.ConversationContextHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -28,6 +28,7 @@ import java.util.stream.Collectors;
 public class BillQueryTool {
 
     private final BillService billService;
+    private final UserDataSnapshotService snapshots;
 
     /* =====================================================
      * 1️⃣ READ-ONLY BILL QUERIES (SAFE FOR AI)
@@ -50,7 +51,8 @@ public class BillQueryTool {
 
     @Tool(
             name = "listAllBills",
-            description = "List all bills for a given user. Use pagination at the UI layer if needed."
+            description = "List all bills for a given user. Use pagination at the UI layer if needed.",
+            resultConverter = BillTableResultConverter.class
     )
     public List<BillDetail> listAllBills() {
         UUID userId = ConversationContextHolder.getUserId();
@@ -62,7 +64,7 @@ public class BillQueryTool {
 
         log.info("BillAssistantTool: listAllBills for userId={} and conversationId={}", userId, conversationId);
 
-        return billService.getBills(userId, Pageable.unpaged()).getContent();
+        return snapshots.forUser(userId).allBills();
     }
 
     @Tool(
@@ -70,7 +72,8 @@ public class BillQueryTool {
             description = """
                     List all unpaid bills for a user.
                     Includes bills in UPLOADED, INGESTED, VERIFIED, or OVERDUE states.
-                    """
+                    """,
+            resultConverter = BillTableResultConverter.class
     )
     public List<BillDetail> listUnpaidBills() {
         UUID userId = ConversationContextHolder.getUserId();
@@ -82,7 +85,7 @@ public class BillQueryTool {
 
         log.info("BillAssistantTool: listUnpaidBills for userId={} and conversationId={}", userId, conversationId);
 
-        return billService.getUnpaidBills(userId);
+        return snapshots.forUser(userId).unpaidBills();
     }
 
     @Tool(
@@ -90,7 +93,8 @@ public class BillQueryTool {
             description = """
                     Find unpaid bills that are due soon.
                     Useful for reminders and alerts.
-                    """
+                    """,
+            resultConverter = BillTableResultConverter.class
     )
     public List<BillDetail> listBillsDueSoon() {
         UUID userId = ConversationContextHolder.getUserId();
@@ -104,7 +108,7 @@ public class BillQueryTool {
 
         LocalDate endDate = LocalDate.now().plusDays(15);
 
-        return billService.getUnpaidBills(userId)
+        return snapshots.forUser(userId).unpaidBills()
                 .stream()
                 .filter(b -> b.dueDate() != null && b.dueDate().isBefore(endDate))
                 .toList();
@@ -115,7 +119,8 @@ public class BillQueryTool {
             description = """
                     Find unpaid bills that are due within the next N days.
                     Useful for reminders and alerts.
-                    """
+                    """,
+            resultConverter = BillTableResultConverter.class
     )
     public List<BillDetail> listBillsDueInNextNDays(@ToolParam(description = "Number of days from today") int days) {
         UUID userId = ConversationContextHolder.getUserId();
@@ -129,7 +134,7 @@ public class BillQueryTool {
 
         LocalDate endDate = LocalDate.now().plusDays(days);
 
-        return billService.getUnpaidBills(userId)
+        return snapshots.forUser(userId).unpaidBills()
                 .stream()
                 .filter(b -> b.dueDate() != null && b.dueDate().isBefore(endDate))
                 .toList();
@@ -140,7 +145,8 @@ public class BillQueryTool {
             description = """
                     Find unpaid bills that are due after next N days.
                     Useful for reminders and alerts.
-                    """
+                    """,
+            resultConverter = BillTableResultConverter.class
     )
     public List<BillDetail> listBillsDueAfter(@ToolParam(description = "Number of days from today") int days) {
         UUID userId = ConversationContextHolder.getUserId();
@@ -154,7 +160,7 @@ public class BillQueryTool {
 
         LocalDate starDate = LocalDate.now().plusDays(days);
 
-        return billService.getUnpaidBills(userId)
+        return snapshots.forUser(userId).unpaidBills()
                 .stream()
                 .filter(b -> b.dueDate() != null && b.dueDate().isAfter(starDate))
                 .toList();
@@ -165,7 +171,8 @@ public class BillQueryTool {
             description = """
                     Group all unpaid bills by provider name (vendor).
                     Helps summarize spending by service provider.
-                    """
+                    """,
+            resultConverter = BillTableResultConverter.class
     )
     public Map<String, List<BillDetail>> groupUnpaidBillsByProvider() {
         UUID userId = ConversationContextHolder.getUserId();
@@ -177,7 +184,7 @@ public class BillQueryTool {
 
         log.info("BillAssistantTool: groupUnpaidBillsByProvider for userId={}, conversationId={}", userId, conversationId);
 
-        return billService.getUnpaidBills(userId)
+        return snapshots.forUser(userId).unpaidBills()
                 .stream()
                 .collect(Collectors.groupingBy(
                         b -> b.providerName() != null
@@ -208,6 +215,7 @@ public class BillQueryTool {
 
         log.info("BillAssistantTool: Marking BillAsVerified for providerName={}, userId={}, conversationId={}", providerName, userId, conversationId);
         BillDetail billDetail = billService.markVerified(getDetails(userId, providerName).id(), userId);
+        snapshots.invalidate(conversationId);
         log.info("Marked billId={} as VERIFIED", billDetail.id());
         return "Bill from provider '%s' has been marked as VERIFIED.".formatted(billDetail.providerName());
     }
@@ -494,7 +502,7 @@ public class BillQueryTool {
 
         log.info("BillAssistantTool: forecasting monthly spend for userId={}, conversationId={}", userId, conversationId);
 
-        List<BillDetail> unpaid = billService.getUnpaidBills(userId);
+        List<BillDetail> unpaid = snapshots.forUser(userId).unpaidBills();
 
         if (unpaid.isEmpty()) {
             return "No unpaid bills found. Unable to forecast spending.";
@@ -534,7 +542,7 @@ public class BillQueryTool {
         log.info("BillAssistantTool: detecting anomaly for providerName={}, userId={}, conversationId={}", providerName, userId, conversationId);
 
         BillDetail current = getDetails(userId, providerName);
-        List<BillDetail> unpaid = billService.getUnpaidBills(userId);
+        List<BillDetail> unpaid = snapshots.forUser(userId).unpaidBills();
 
         List<String> signals = new ArrayList<>();
         int score = 0;
@@ -613,7 +621,7 @@ public class BillQueryTool {
     }
 
     private BillDetail getDetails(UUID userId, String providerName) {
-        List<BillDetail> bills = billService.findBillsByProviderName(userId, providerName);
+        List<BillDetail> bills = snapshots.forUser(userId).billsByProvider(providerName);
         if (bills.size() > 1) {
             log.warn("Multiple bills found for provider name={}", providerName);
         } else if (bills.isEmpty()) {
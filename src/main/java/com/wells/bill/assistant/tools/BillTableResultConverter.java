@@ -0,0 +1,162 @@
+package com.wells.bill.assistant.tools;
+
+import com.wells.bill.assistant.model.BillDetail;
+import com.wells.bill.assistant.model.BillStatus;
+import com.wells.bill.assistant.model.Money;
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Renders bill tool results for the model as a compact pipe table instead of full
+ * BillDetail JSON (ids, audit timestamps, ingestion and confidence fields are dropped).
+ * <p>
+ * Rows are ordered by due date and cut off at a per-result token budget; the summary
+ * line always covers every bill, so totals stay correct when rows are truncated.
+ * Only bill lists are tabled: a single bill, and results that are not bills, fall back
+ * to the default JSON conversion so every detail (billing period, consumer, payment id)
+ * stays available.
+ */
+public class BillTableResultConverter implements ToolCallResultConverter {
+
+    static final int DEFAULT_TOKEN_BUDGET = 800;
+    // Same rough ratio ChatToolCallbacks uses for schemas
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final String HEADER = "provider | category | amount | due | status";
+
+    private static final Comparator<BillDetail> BY_DUE_DATE = Comparator
+            .comparing(BillDetail::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(BillDetail::providerName, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final ToolCallResultConverter fallback = new DefaultToolCallResultConverter();
+    private final int tokenBudget;
+
+    // Instantiated reflectively by Spring AI for @Tool(resultConverter = ...)
+    public BillTableResultConverter() {
+        this(DEFAULT_TOKEN_BUDGET);
+    }
+
+    BillTableResultConverter(int tokenBudget) {
+        this.tokenBudget = tokenBudget;
+    }
+
+    @Override
+    public String convert(Object result, Type returnType) {
+        if (result instanceof Collection<?> collection && allBills(collection)) {
+            return render(bills(collection), null);
+        }
+        if (result instanceof Map<?, ?> map && map.values().stream().allMatch(v -> v instanceof Collection<?> c && allBills(c))) {
+            List<BillDetail> all = new ArrayList<>();
+            map.values().forEach(v -> all.addAll(bills((Collection<?>) v)));
+            return render(all, map.size());
+        }
+        return fallback.convert(result, returnType);
+    }
+
+    /* ==================== RENDERING ==================== */
+
+    private String render(List<BillDetail> bills, Integer groups) {
+        if (bills.isEmpty()) {
+            return "No bills found.";
+        }
+
+        List<BillDetail> sorted = new ArrayList<>(bills);
+        sorted.sort(BY_DUE_DATE);
+
+        String summary = summary(sorted, groups);
+        StringBuilder table = new StringBuilder(HEADER).append('\n');
+        int budgetChars = tokenBudget * CHARS_PER_TOKEN - summary.length() - table.length();
+
+        int shown = 0;
+        for (BillDetail bill : sorted) {
+            String row = row(bill);
+            // Always show at least one row, however small the budget
+            if (shown > 0 && row.length() + 1 > budgetChars) {
+                break;
+            }
+            table.append(row).append('\n');
+            budgetChars -= row.length() + 1;
+            shown++;
+        }
+
+        StringBuilder out = new StringBuilder(table);
+        if (shown < sorted.size()) {
+            List<BillDetail> omitted = sorted.subList(shown, sorted.size());
+            out.append("… ").append(omitted.size()).append(" more bills not shown (")
+                    .append(totals(omitted)).append(")\n");
+        }
+        return out.append(summary).toString();
+    }
+
+    static String row(BillDetail bill) {
+        return String.join(" | ",
+                valueOr(bill.providerName(), "Unknown"),
+                bill.billCategory() == null ? "-" : bill.billCategory().name(),
+                amount(bill.amountDue()),
+                bill.dueDate() == null ? "-" : bill.dueDate().toString(),
+                bill.status() == null ? "-" : bill.status().name());
+    }
+
+    private static String summary(List<BillDetail> bills, Integer groups) {
+        StringBuilder summary = new StringBuilder("Summary: ")
+                .append(bills.size()).append(bills.size() == 1 ? " bill" : " bills");
+        if (groups != null) {
+            summary.append(" across ").append(groups).append(groups == 1 ? " provider" : " providers");
+        }
+        summary.append(", total ").append(totals(bills));
+
+        bills.stream()
+                .map(BillDetail::dueDate)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .ifPresent(d -> summary.append(", earliest due ").append(d));
+
+        long overdue = bills.stream().filter(b -> b.status() == BillStatus.OVERDUE).count();
+        if (overdue > 0) {
+            summary.append(", ").append(overdue).append(" overdue");
+        }
+        return summary.toString();
+    }
+
+    // Per currency, so mixed-currency bills are never summed together
+    private static String totals(List<BillDetail> bills) {
+        Map<String, BigDecimal> byCurrency = new TreeMap<>();
+        for (BillDetail bill : bills) {
+            Money money = bill.amountDue();
+            if (money == null || money.amount() == null) {
+                continue;
+            }
+            String currency = money.currency() == null ? "" : money.currency().getCurrencyCode();
+            byCurrency.merge(currency, money.amount(), BigDecimal::add);
+        }
+        if (byCurrency.isEmpty()) {
+            return "amount unknown";
+        }
+        StringJoiner joiner = new StringJoiner(" + ");
+        byCurrency.forEach((currency, amount) -> joiner.add((currency + " " + amount.toPlainString()).trim()));
+        return joiner.toString();
+    }
+
+    private static String amount(Money money) {
+        if (money == null || money.amount() == null) {
+            return "-";
+        }
+        String currency = money.currency() == null ? "" : money.currency().getCurrencyCode() + " ";
+        return currency + money.amount().toPlainString();
+    }
+
+    private static String valueOr(String value, String fallback) {
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    private static boolean allBills(Collection<?> collection) {
+        return collection.stream().allMatch(BillDetail.class::isInstance);
+    }
+
+    private static List<BillDetail> bills(Collection<?> collection) {
+        return collection.stream().map(BillDetail.class::cast).toList();
+    }
+}
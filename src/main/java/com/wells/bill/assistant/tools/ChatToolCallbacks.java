@@ -0,0 +1,88 @@
+package com.wells.bill.assistant.tools;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Tool callbacks for the chat path, resolved once at startup instead of
+ * re-scanning the @Tool beans on every request.
+ * Each request gets the routed subset wrapped in {@link ContextBoundToolCallback}.
+ */
+@Slf4j
+@Component
+public class ChatToolCallbacks {
+
+    private static final String DEFAULT_PROGRESS = "Working on it…";
+    // Rough chars-per-token ratio for JSON schema + English descriptions
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final List<ToolCallback> callbacks = new ArrayList<>();
+    // tool name → user-facing progress message for streaming clients
+    private final Map<String, String> progressMessages = new HashMap<>();
+    // tool name → estimated prompt tokens for its name + description + input schema
+    private final Map<String, Integer> schemaTokens = new HashMap<>();
+
+    public ChatToolCallbacks(BillQueryTool billQueryTool,
+                             PaymentIntentTool paymentIntentTool,
+                             PaymentQueryTool paymentQueryTool,
+                             PaymentInsightTool paymentInsightTool,
+                             DashboardTool dashboardTool) {
+        register(billQueryTool, "Looking up your bills…");
+        register(paymentIntentTool, "Preparing your payment…");
+        register(paymentQueryTool, "Checking your payments…");
+        register(paymentInsightTool, "Analysing your payment history…");
+        register(dashboardTool, "Putting together your overview…");
+        log.info("Registered {} chat tool callbacks (~{} schema tokens)",
+                callbacks.size(), schemaTokens(EnumSet.allOf(ToolGroup.class)));
+    }
+
+    /**
+     * @param groups   tool groups routed for this turn
+     * @param onInvoke receives the tool name right before each invocation
+     */
+    public List<ToolCallback> bind(UUID userId, UUID conversationId, Set<ToolGroup> groups, Consumer<String> onInvoke) {
+        List<ToolCallback> bound = new ArrayList<>(callbacks.size());
+        for (ToolCallback callback : callbacks) {
+            if (groups.contains(ToolGroup.of(callback.getToolDefinition().name()))) {
+                bound.add(new ContextBoundToolCallback(callback, userId, conversationId, onInvoke));
+            }
+        }
+        return bound;
+    }
+
+    public int schemaTokens(Set<ToolGroup> groups) {
+        return schemaTokens.entrySet().stream()
+                .filter(e -> groups.contains(ToolGroup.of(e.getKey())))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+
+    public String progressMessage(String toolName) {
+        return progressMessages.getOrDefault(toolName, DEFAULT_PROGRESS);
+    }
+
+    private void register(Object toolBean, String progressMessage) {
+        ToolCallback[] resolved = MethodToolCallbackProvider.builder()
+                .toolObjects(toolBean)
+                .build()
+                .getToolCallbacks();
+
+        for (ToolCallback callback : resolved) {
+            ToolDefinition definition = callback.getToolDefinition();
+            // Fails fast at startup if a new @Tool was not assigned to a group
+            ToolGroup.of(definition.name());
+
+            callbacks.add(callback);
+            progressMessages.put(definition.name(), progressMessage);
+            schemaTokens.put(definition.name(),
+                    (definition.name().length() + definition.description().length() + definition.inputSchema().length())
+                            / CHARS_PER_TOKEN);
+        }
+    }
+}
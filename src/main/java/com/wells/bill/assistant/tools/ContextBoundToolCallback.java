@@ -0,0 +1,83 @@
+package com.wells.bill.assistant.tools;
+
+import com.wells.bill.assistant.util.CancellationToken;
+import com.wells.bill.assistant.util.ConversationContextHolder;
+import com.wells.bill.assistant.util.Deadline;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Binds the conversation to whatever thread actually executes the tool.
+ * <p>
+ * With {@code ChatClient.stream()} tool calls run on Reactor worker threads, not on
+ * the request thread, so the binding is re-established around each invocation:
+ * from the {@link ToolContext} ids when present, else from the ids captured here.
+ * When the context carries the turn's {@link CancellationToken}, a cancelled turn skips
+ * the call, and a call that was already running finishes but ends the tool loop.
+ * The token's {@link Deadline} is bound as well, so the tool's SQL and mail calls see
+ * the turn's remaining budget.
+ */
+public class ContextBoundToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final UUID userId;
+    private final UUID conversationId;
+    private final Consumer<String> onInvoke;
+
+    public ContextBoundToolCallback(ToolCallback delegate, UUID userId, UUID conversationId, Consumer<String> onInvoke) {
+        this.delegate = delegate;
+        this.userId = userId;
+        this.conversationId = conversationId;
+        this.onInvoke = onInvoke;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return call(toolInput, null);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        CancellationToken cancellation = CancellationToken.from(toolContext);
+        if (cancellation != null) {
+            cancellation.throwIfCancelled();
+        }
+
+        onInvoke.accept(delegate.getToolDefinition().name());
+
+        UUID boundUser = fromContext(toolContext, ConversationContextHolder.USER_ID_KEY, userId);
+        UUID boundConversation = fromContext(toolContext, ConversationContextHolder.CONVERSATION_ID_KEY, conversationId);
+
+        Deadline deadline = cancellation == null ? Deadline.current() : cancellation.deadline();
+
+        Supplier<String> invocation = () -> Deadline.callWith(deadline, () ->
+                ConversationContextHolder.callWith(boundUser, boundConversation, () ->
+                        toolContext == null ? delegate.call(toolInput) : delegate.call(toolInput, toolContext)));
+
+        return cancellation == null ? invocation.get() : cancellation.shielded(invocation);
+    }
+
+    private static UUID fromContext(ToolContext toolContext, String key, UUID fallback) {
+        if (toolContext == null || toolContext.getContext() == null) {
+            return fallback;
+        }
+        Object value = toolContext.getContext().get(key);
+        return value instanceof UUID id ? id : fallback;
+    }
+}
@@ -0,0 +1,44 @@
+package com.wells.bill.assistant.tools;
+
+import com.wells.bill.assistant.exception.InvalidUserInputException;
+import com.wells.bill.assistant.model.AccountOverview;
+import com.wells.bill.assistant.service.DashboardService;
+import com.wells.bill.assistant.util.ConversationContextHolder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardTool {
+
+    private final DashboardService dashboardService;
+
+    @Tool(
+            name = "getAccountOverview",
+            description = """
+                    One-call overview of the user's bills and payments: bill counts and totals by status,
+                    outstanding and overdue totals, the next upcoming dues, this month's successful payments
+                    by category and recent failed payments.
+                    Use this FIRST for general questions like "how am I doing this month" or
+                    "give me an overview" instead of calling several listing or summary tools.
+                    """
+    )
+    public AccountOverview getAccountOverview(
+            @ToolParam(description = "How many upcoming dues to include (1-10, example: 5)") int nextDues
+    ) {
+        UUID userId = ConversationContextHolder.getUserId();
+        if (userId == null) {
+            throw new InvalidUserInputException("No user context bound to tool execution");
+        }
+
+        log.info("DashboardTool: getAccountOverview for userId={}, nextDues={}", userId, nextDues);
+
+        return dashboardService.overview(userId, nextDues <= 0 ? 5 : nextDues);
+    }
+}
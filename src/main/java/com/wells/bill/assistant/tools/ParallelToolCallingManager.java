@@ -0,0 +1,256 @@
+package com.wells.bill.assistant.tools;
+
+import com.wells.bill.assistant.config.ToolExecutionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.DefaultToolCallingManager;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.ToolExecutionException;
+import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.observation.DefaultToolCallingObservationConvention;
+import org.springframework.ai.tool.observation.ToolCallingObservationContext;
+import org.springframework.ai.tool.observation.ToolCallingObservationDocumentation;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Executes the tool calls of one model response in the order the model asked for them,
+ * except that each contiguous run of read-only calls executes concurrently on a bounded
+ * virtual-thread executor. A state-changing call waits for the reads before it, and the
+ * reads after it start only once it has finished, so every call sees the state the
+ * model expected. A multi-read step then takes about as long as its slowest read
+ * instead of the sum of all of them.
+ * <p>
+ * Every call is wrapped in Spring AI's tool-call observation, exactly as the default
+ * manager does, so tracing and the tool metrics are the same on both paths.
+ * <p>
+ * Replaces Spring AI's default manager (which runs every call sequentially); single
+ * calls and tools it cannot resolve from the prompt options are handed to the default.
+ * The conversation binding reaches each worker thread through
+ * {@link ContextBoundToolCallback} and the prompt's {@link ToolContext}.
+ */
+@Slf4j
+@Component
+public class ParallelToolCallingManager implements ToolCallingManager {
+
+    private static final DefaultToolCallingObservationConvention OBSERVATION_CONVENTION =
+            new DefaultToolCallingObservationConvention();
+
+    private final ToolCallingManager delegate;
+    private final ToolExecutionExceptionProcessor exceptionProcessor;
+    private final ToolExecutionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+
+    public ParallelToolCallingManager(ToolCallbackResolver toolCallbackResolver,
+                                      ToolExecutionExceptionProcessor exceptionProcessor,
+                                      ObjectProvider<ObservationRegistry> observationRegistry,
+                                      ToolExecutionProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.observationRegistry = observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP);
+        this.delegate = DefaultToolCallingManager.builder()
+                .observationRegistry(this.observationRegistry)
+                .toolCallbackResolver(toolCallbackResolver)
+                .toolExecutionExceptionProcessor(exceptionProcessor)
+                .build();
+        this.exceptionProcessor = exceptionProcessor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(properties.getMaxConcurrent());
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return delegate.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        AssistantMessage assistantMessage = chatResponse.getResults().stream()
+                .map(Generation::getOutput)
+                .filter(AssistantMessage::hasToolCalls)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No tool call requested by the chat model"));
+
+        List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+        Map<String, ToolCallback> callbacks = callbacksByName(prompt.getOptions());
+
+        if (!properties.isParallel()
+                || toolCalls.size() < 2
+                || !toolCalls.stream().allMatch(c -> callbacks.containsKey(c.name()))) {
+            return delegate.executeToolCalls(prompt, chatResponse);
+        }
+
+        List<Message> history = new ArrayList<>(prompt.copy().getInstructions());
+        history.add(assistantMessage);
+        ToolContext toolContext = toolContext(prompt.getOptions(), history);
+
+        long start = System.nanoTime();
+        List<ToolResponseMessage.ToolResponse> responses = execute(toolCalls, callbacks, toolContext);
+        Timer.builder("chat.tools.step.latency")
+                .description("Wall time to execute all tool calls of one model response")
+                .tag("mode", "parallel")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        boolean returnDirect = toolCalls.stream()
+                .allMatch(c -> callbacks.get(c.name()).getToolMetadata().returnDirect());
+
+        history.add(ToolResponseMessage.builder().responses(responses).build());
+        return ToolExecutionResult.builder()
+                .conversationHistory(history)
+                .returnDirect(returnDirect)
+                .build();
+    }
+
+    private List<ToolResponseMessage.ToolResponse> execute(List<AssistantMessage.ToolCall> toolCalls,
+                                                          Map<String, ToolCallback> callbacks,
+                                                          ToolContext toolContext) {
+        // Tool observations are children of the model call's observation, on whichever thread they run
+        Observation parent = observationRegistry.getCurrentObservation();
+        String[] results = new String[toolCalls.size()];
+        Map<Integer, CompletableFuture<String>> reads = new LinkedHashMap<>();
+        int concurrent = 0;
+
+        for (int i = 0; i < toolCalls.size(); i++) {
+            AssistantMessage.ToolCall call = toolCalls.get(i);
+            ToolCallback callback = callbacks.get(call.name());
+            if (isReadOnly(call.name())) {
+                reads.put(i, CompletableFuture.supplyAsync(
+                        () -> withPermit(() -> invoke(callback, call, toolContext, parent)), executor));
+                continue;
+            }
+            // A write sees everything the model asked for before it
+            concurrent += awaitReads(reads, results);
+            results[i] = invoke(callback, call, toolContext, parent);
+        }
+        concurrent += awaitReads(reads, results);
+
+        List<ToolResponseMessage.ToolResponse> responses = new ArrayList<>(toolCalls.size());
+        for (int i = 0; i < toolCalls.size(); i++) {
+            AssistantMessage.ToolCall call = toolCalls.get(i);
+            responses.add(new ToolResponseMessage.ToolResponse(call.id(), call.name(), results[i]));
+        }
+        log.debug("Executed {} tool calls ({} concurrently)", toolCalls.size(), concurrent);
+        return responses;
+    }
+
+    // Waits for the pending run of reads, in call order, and clears it
+    private static int awaitReads(Map<Integer, CompletableFuture<String>> reads, String[] results) {
+        int count = reads.size();
+        for (Map.Entry<Integer, CompletableFuture<String>> read : reads.entrySet()) {
+            results[read.getKey()] = join(read.getValue());
+        }
+        reads.clear();
+        return count > 1 ? count : 0;
+    }
+
+    // Same observation as DefaultToolCallingManager.executeToolCall
+    private String invoke(ToolCallback callback, AssistantMessage.ToolCall call, ToolContext toolContext, Observation parent) {
+        String arguments = call.arguments() == null || call.arguments().isBlank() ? "{}" : call.arguments();
+        ToolCallingObservationContext observationContext = ToolCallingObservationContext.builder()
+                .toolDefinition(callback.getToolDefinition())
+                .toolMetadata(callback.getToolMetadata())
+                .toolCallArguments(arguments)
+                .build();
+
+        return ToolCallingObservationDocumentation.TOOL_CALL
+                .observation(null, OBSERVATION_CONVENTION, () -> observationContext, observationRegistry)
+                .parentObservation(parent)
+                .observe(() -> {
+                    String result;
+                    try {
+                        result = callback.call(arguments, toolContext);
+                    } catch (ToolExecutionException e) {
+                        result = exceptionProcessor.process(e);
+                    }
+                    observationContext.setToolCallResult(result);
+                    return result;
+                });
+    }
+
+    private String withPermit(Supplier<String> task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to run a tool", e);
+        }
+        try {
+            return task.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static String join(CompletableFuture<String> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isReadOnly(String toolName) {
+        try {
+            return ToolGroup.of(toolName).isReadOnly();
+        } catch (IllegalStateException e) {
+            // Unknown tools are treated as state-changing
+            return false;
+        }
+    }
+
+    private static Map<String, ToolCallback> callbacksByName(ChatOptions options) {
+        if (!(options instanceof ToolCallingChatOptions toolOptions)) {
+            return Map.of();
+        }
+        Map<String, ToolCallback> byName = new HashMap<>();
+        for (ToolCallback callback : toolOptions.getToolCallbacks()) {
+            byName.put(callback.getToolDefinition().name(), callback);
+        }
+        return byName;
+    }
+
+    // Same shape as the default manager: user tool context + the history so far
+    private static ToolContext toolContext(ChatOptions options, List<Message> history) {
+        Map<String, Object> context = new HashMap<>();
+        if (options instanceof ToolCallingChatOptions toolOptions && toolOptions.getToolContext() != null
+                && !toolOptions.getToolContext().isEmpty()) {
+            context.putAll(toolOptions.getToolContext());
+            context.put(ToolContext.TOOL_CALL_HISTORY, List.copyOf(history));
+        }
+        return new ToolContext(context);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -5,8 +5,7 @@ import com.wells.bill.assistant.model.BillDetail;
 import com.wells.bill.assistant.model.CategorySpendSummary;
 import com.wells.bill.assistant.model.MonthlyPaymentSummary;
 import com.wells.bill.assistant.model.PaymentResponse;
-import com.wells.bill.assistant.service.BillService;
-import com.wells.bill.assistant.service.PaymentService;
+import com.wells.bill.assistant.service.UserDataSnapshotService;
 import com.wells.bill.assistant.util.ConversationContextHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,8 +26,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PaymentInsightTool {
 
-    private final PaymentService paymentService;
-    private final BillService billService;
+    private final UserDataSnapshotService snapshots;
 
     /* =====================================================
      * 1️⃣ PAYMENT ANOMALY EXPLANATION (CHATBOT FRIENDLY)
@@ -52,7 +50,7 @@ public class PaymentInsightTool {
                 userId, providerName);
 
         PaymentResponse current = getMostRecentPayment(providerName, userId);
-        List<PaymentResponse> allPayments = paymentService.getPaymentsForUser(userId);
+        List<PaymentResponse> allPayments = snapshots.forUser(userId).payments();
 
         List<String> signals = new ArrayList<>();
         int score = 0;
@@ -231,7 +229,7 @@ public class PaymentInsightTool {
 
     private PaymentResponse getMostRecentPayment(String providerName, UUID userId) {
 
-        List<PaymentResponse> payments = paymentService.findByUserIdAndBillProviderName(userId, providerName);
+        List<PaymentResponse> payments = snapshots.forUser(userId).paymentsByProvider(providerName);
 
         if (payments.isEmpty()) {
             throw new InvalidUserInputException(
@@ -250,7 +248,7 @@ public class PaymentInsightTool {
         YearMonth yearMonth = YearMonth.parse(month);
 
         List<PaymentResponse> payments =
-                paymentService.getPaymentsForUser(userId).stream()
+                snapshots.forUser(userId).payments().stream()
                         .filter(p -> p.getCreatedAt() != null)
                         .filter(p ->
                                 YearMonth.from(
@@ -296,7 +294,7 @@ public class PaymentInsightTool {
         YearMonth yearMonth = YearMonth.parse(month);
 
         List<PaymentResponse> payments =
-                paymentService.getPaymentsForUser(userId).stream()
+                snapshots.forUser(userId).payments().stream()
                         .filter(p -> p.getCreatedAt() != null)
                         .filter(p -> YearMonth.from(
                                 p.getCreatedAt().atZone(ZoneId.systemDefault())
@@ -308,7 +306,7 @@ public class PaymentInsightTool {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
-        Map<UUID, BillDetail> billMap = billService.getBillsByIds(userId, billIds);
+        Map<UUID, BillDetail> billMap = snapshots.forUser(userId).billsByIds(billIds);
 
         Map<String, BigDecimal> totals = new HashMap<>();
 
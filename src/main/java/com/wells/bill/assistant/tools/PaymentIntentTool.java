@@ -6,6 +6,7 @@ import com.wells.bill.assistant.service.BillService;
 import com.wells.bill.assistant.service.CustomerService;
 import com.wells.bill.assistant.service.SendEmailService;
 import com.wells.bill.assistant.service.PaymentService;
+import com.wells.bill.assistant.service.UserDataSnapshotService;
 import com.wells.bill.assistant.store.PaymentConfirmationStoreInMemory;
 import com.wells.bill.assistant.util.ConversationContextHolder;
 import com.wells.bill.assistant.util.IdempotencyKeyGenerator;
@@ -35,6 +36,7 @@ public class PaymentIntentTool {
     private final CustomerService customerService;
     private final SendEmailService sendEmailService;
     private final PaymentConfirmationStoreInMemory confirmationStore;
+    private final UserDataSnapshotService snapshots;
 
     /* =====================================================
      * 1️⃣ REQUEST CONFIRMATION (READ-ONLY)
@@ -210,6 +212,9 @@ public class PaymentIntentTool {
             paymentService.createPaymentIntent(req);
         } catch (Exception e) {
             return String.format("❌ Failed to create payment intent: %s", e.getMessage());
+        } finally {
+            // New payment row → later reads in this turn must not see the cached payment list
+            snapshots.invalidate(ConversationContextHolder.getConversationId());
         }
 
         // One-time token cleanup
@@ -332,7 +337,7 @@ public class PaymentIntentTool {
     }
 
     private BillDetail getBill(UUID userId, String providerName) {
-        List<BillDetail> bills = billService.findBillsByProviderName(userId, providerName);
+        List<BillDetail> bills = snapshots.forUser(userId).billsByProvider(providerName);
 
         if (bills.isEmpty()) {
             // Chatbot-friendly response instead of exception
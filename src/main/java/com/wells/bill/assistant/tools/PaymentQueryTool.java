@@ -2,7 +2,7 @@ package com.wells.bill.assistant.tools;
 
 import com.wells.bill.assistant.exception.InvalidUserInputException;
 import com.wells.bill.assistant.model.PaymentResponse;
-import com.wells.bill.assistant.service.PaymentService;
+import com.wells.bill.assistant.service.UserDataSnapshotService;
 import com.wells.bill.assistant.util.ConversationContextHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +17,7 @@ import java.util.*;
 @RequiredArgsConstructor
 public class PaymentQueryTool {
 
-    private final PaymentService paymentService;
+    private final UserDataSnapshotService snapshots;
 
     /* =====================================================
      * 1️⃣ EXPLAIN LATEST PAYMENT STATUS (CHATBOT FRIENDLY)
@@ -136,7 +136,7 @@ public class PaymentQueryTool {
             throw new InvalidUserInputException("Limit must be greater than 0.");
         }
 
-        List<PaymentResponse> recentPayments = paymentService.getPaymentsForUser(userId).stream()
+        List<PaymentResponse> recentPayments = snapshots.forUser(userId).payments().stream()
                         .filter(p -> p.getCreatedAt() != null)
                         .sorted(Comparator.comparing(PaymentResponse::getCreatedAt).reversed())
                         .limit(limit)
@@ -176,7 +176,7 @@ public class PaymentQueryTool {
 
     private PaymentResponse getMostRecentPayment(String providerName, UUID userId) {
         log.info("Fetching most recent payment for userId={}, providerName={}", userId, providerName);
-        List<PaymentResponse> payments = paymentService.findByUserIdAndBillProviderName(userId, providerName);
+        List<PaymentResponse> payments = snapshots.forUser(userId).paymentsByProvider(providerName);
 
         if (payments.isEmpty()) {
             throw new InvalidUserInputException(
@@ -0,0 +1,52 @@
+package com.wells.bill.assistant.tools;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Chat tools grouped by what a turn is trying to do; {@link ToolRouter} picks groups,
+ * not individual tools. Every @Tool name must belong to exactly one group.
+ */
+public enum ToolGroup {
+
+    BILL_LOOKUP(true,
+            "getBillDetailsStatus", "listAllBills", "listUnpaidBills", "listBillsDueSoon",
+            "listBillsDueInNextNDays", "listBillsDueAfter", "groupUnpaidBillsByProvider"),
+    BILL_EXPLAIN(true,
+            "explainBill", "explainWhyBillIsHigh", "explainBillAsBulletPoints",
+            "explainBillInRegionalLanguage", "detectBillAnomaly"),
+    BILL_PLANNING(true,
+            "suggestPaymentPriority", "generatePaymentReminderMessage", "forecastMonthlySpend"),
+    BILL_ACTIONS(false,
+            "markBillAsVerified"),
+    PAYMENT_START(false,
+            "paymentIntentRequest"),
+    PAYMENT_CONFIRMATION(false,
+            "confirmAndPayBill", "resendPaymentConfirmationCode", "cancelPendingPaymentRequest"),
+    PAYMENT_HISTORY(true,
+            "explainLatestPaymentStatus", "explainRecentPayments"),
+    PAYMENT_INSIGHTS(true,
+            "explainPaymentAnomaly", "explainMonthlyPaymentSummary", "explainCategoryWiseSpendSummary"),
+    ACCOUNT_OVERVIEW(true,
+            "getAccountOverview");
+
+    // Read-only tools may run concurrently; state-changing ones are serialized in call order
+    private final boolean readOnly;
+    private final Set<String> toolNames;
+
+    ToolGroup(boolean readOnly, String... toolNames) {
+        this.readOnly = readOnly;
+        this.toolNames = Set.of(toolNames);
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public static ToolGroup of(String toolName) {
+        return Arrays.stream(values())
+                .filter(g -> g.toolNames.contains(toolName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Tool not assigned to a ToolGroup: " + toolName));
+    }
+}
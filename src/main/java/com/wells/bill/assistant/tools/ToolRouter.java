@@ -0,0 +1,113 @@
+package com.wells.bill.assistant.tools;
+
+import com.wells.bill.assistant.store.PaymentConfirmationStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Picks the tool groups a chat turn can plausibly need, so the prompt only carries
+ * those schemas instead of all ~30 @Tool definitions.
+ * <p>
+ * Rules look at the message and at conversation state (a pending payment confirmation).
+ * A turn that matches no rule gets every group: a missing tool costs a wrong answer,
+ * an extra schema only costs tokens.
+ * <p>
+ * Estimated schema tokens per turn are logged and published as
+ * chat.tools.schema.tokens{selection=routed|all}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ToolRouter {
+
+    public record ToolSelection(Set<ToolGroup> groups, String reason) {
+    }
+
+    private static final Pattern CONFIRMATION_REPLY = Pattern.compile(
+            "^\\s*\\d{6}\\s*$|\\b(confirm|resend|cancel|code|otp|yes|proceed)\\b");
+
+    // Checked in order; all matching rules contribute their groups
+    private static final Map<Pattern, Set<ToolGroup>> RULES = new LinkedHashMap<>();
+
+    static {
+        RULES.put(Pattern.compile("\\b(overview|dashboard|how am i doing|how'?m i doing|where do i stand|this month)\\b"),
+                EnumSet.of(ToolGroup.ACCOUNT_OVERVIEW));
+        RULES.put(Pattern.compile("\\b(pay|schedule|autopay)\\b"),
+                EnumSet.of(ToolGroup.PAYMENT_START, ToolGroup.BILL_LOOKUP));
+        RULES.put(Pattern.compile("\\b(verify|verified)\\b"),
+                EnumSet.of(ToolGroup.BILL_ACTIONS, ToolGroup.BILL_LOOKUP));
+        RULES.put(Pattern.compile("\\b(explain|why|breakdown|high|unusual|anomal\\w*|bullet|hindi|tamil|telugu|kannada|marathi|bengali|language)\\b"),
+                EnumSet.of(ToolGroup.BILL_EXPLAIN, ToolGroup.BILL_LOOKUP));
+        RULES.put(Pattern.compile("\\b(priorit\\w*|remind\\w*|forecast|plan|first)\\b"),
+                EnumSet.of(ToolGroup.BILL_PLANNING, ToolGroup.BILL_LOOKUP));
+        RULES.put(Pattern.compile("\\bpayments?\\b.*\\b(status|recent|latest|last|history)\\b|\\b(recent|latest|last)\\s+payments?\\b"),
+                EnumSet.of(ToolGroup.PAYMENT_HISTORY));
+        RULES.put(Pattern.compile("\\b(spend|spent|spending|summary|category|categories|month(ly)?)\\b"),
+                EnumSet.of(ToolGroup.PAYMENT_INSIGHTS, ToolGroup.ACCOUNT_OVERVIEW));
+        RULES.put(Pattern.compile("\\b(bills?|unpaid|due|overdue|provider)\\b"),
+                EnumSet.of(ToolGroup.BILL_LOOKUP));
+    }
+
+    private final PaymentConfirmationStore confirmationStore;
+    private final ChatToolCallbacks chatToolCallbacks;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Routed, context-bound callbacks for one turn.
+     */
+    public List<ToolCallback> route(UUID userId, UUID conversationId, String userMessage, Consumer<String> onInvoke) {
+        ToolSelection selection = select(userId, userMessage);
+
+        int routedTokens = chatToolCallbacks.schemaTokens(selection.groups());
+        int allTokens = chatToolCallbacks.schemaTokens(EnumSet.allOf(ToolGroup.class));
+        record("routed", routedTokens);
+        record("all", allTokens);
+
+        log.info("Tool routing for conversationId= {}: groups={}, reason={}, schemaTokens≈{} (all tools≈{})",
+                conversationId, selection.groups(), selection.reason(), routedTokens, allTokens);
+
+        return chatToolCallbacks.bind(userId, conversationId, selection.groups(), onInvoke);
+    }
+
+    public ToolSelection select(UUID userId, String userMessage) {
+        String text = userMessage == null ? "" : userMessage.toLowerCase(Locale.ROOT);
+        boolean confirmationPending = userId != null && confirmationStore.find(userId).isPresent();
+
+        if (confirmationPending && CONFIRMATION_REPLY.matcher(text).find()) {
+            return new ToolSelection(EnumSet.of(ToolGroup.PAYMENT_CONFIRMATION), "pending_confirmation");
+        }
+
+        EnumSet<ToolGroup> groups = EnumSet.noneOf(ToolGroup.class);
+        for (Map.Entry<Pattern, Set<ToolGroup>> rule : RULES.entrySet()) {
+            if (rule.getKey().matcher(text).find()) {
+                groups.addAll(rule.getValue());
+            }
+        }
+
+        if (groups.isEmpty()) {
+            return new ToolSelection(EnumSet.allOf(ToolGroup.class), "fallback_all");
+        }
+
+        if (confirmationPending) {
+            // The user may still confirm / cancel the pending payment in this turn
+            groups.add(ToolGroup.PAYMENT_CONFIRMATION);
+        }
+        return new ToolSelection(groups, "rules");
+    }
+
+    private void record(String selection, int tokens) {
+        DistributionSummary.builder("chat.tools.schema.tokens")
+                .description("Estimated tool schema tokens sent per chat turn")
+                .tag("selection", selection)
+                .register(meterRegistry)
+                .record(tokens);
+    }
+}
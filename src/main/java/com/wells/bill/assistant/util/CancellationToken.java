@@ -0,0 +1,213 @@
+package com.wells.bill.assistant.util;
+
+import com.wells.bill.assistant.exception.TurnCancelledException;
+import org.springframework.ai.chat.model.ToolContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cancellation signal for one chat turn.
+ * <p>
+ * ChatController cancels it when the client disconnects or the request times out;
+ * OrchestratorService checks it between stages, runs the blocking model call through
+ * {@link #callInterruptibly} so the HTTP call to the model is interrupted, and every
+ * tool call goes through {@link #shielded}: a tool that has started runs to completion
+ * (no half-applied writes), pending ones are skipped and no further model round starts.
+ * The token reaches tool threads as a {@link ToolContext} entry, like the conversation ids.
+ * A token created with a {@link Deadline} cancels itself with {@link #DEADLINE_EXCEEDED}
+ * when the deadline passes and remembers which stage the turn was in at that moment.
+ * {@link #close()} it when the turn is over so the deadline timer is dropped instead of
+ * firing on a finished turn.
+ */
+public final class CancellationToken implements AutoCloseable {
+
+    public static final String CLIENT_DISCONNECTED = "client_disconnected";
+    public static final String TIMEOUT = "timeout";
+    public static final String DEADLINE_EXCEEDED = "deadline_exceeded";
+
+    public static final String STAGE_ORCHESTRATOR = "orchestrator";
+    public static final String STAGE_LLM = "llm";
+    public static final String STAGE_TOOL = "tool";
+
+    // One daemon timer for all turn deadlines; cancelled timers leave the queue right away
+    private static final ScheduledThreadPoolExecutor DEADLINES = deadlineTimer();
+
+    private final List<Runnable> callbacks = new ArrayList<>();
+    private final Deadline deadline;
+    private final ScheduledFuture<?> deadlineTimer;
+
+    private volatile String reason;
+    private volatile String cancelledStage;
+    private Thread interruptible;
+    private boolean interrupted;
+    private int shielded;
+
+    public CancellationToken() {
+        this(null);
+    }
+
+    public CancellationToken(Deadline deadline) {
+        this.deadline = deadline;
+        this.deadlineTimer = deadline == null
+                ? null
+                : DEADLINES.schedule(() -> cancel(DEADLINE_EXCEEDED), deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Ends the turn: the deadline no longer fires and pending callbacks are dropped.
+     * An explicit {@link #cancel} afterwards still marks the token.
+     */
+    @Override
+    public void close() {
+        if (deadlineTimer != null) {
+            deadlineTimer.cancel(false);
+        }
+        synchronized (this) {
+            callbacks.clear();
+        }
+    }
+
+    /**
+     * @return true when this call cancelled the token, false when it already was
+     */
+    public boolean cancel(String reason) {
+        List<Runnable> toRun;
+        synchronized (this) {
+            if (this.reason != null) {
+                return false;
+            }
+            this.reason = reason;
+            cancelledStage = shielded > 0 ? STAGE_TOOL : interruptible != null ? STAGE_LLM : STAGE_ORCHESTRATOR;
+            // Never interrupt a running tool; the blocking model call is fair game
+            if (interruptible != null && shielded == 0) {
+                interruptible.interrupt();
+                interrupted = true;
+            }
+            toRun = List.copyOf(callbacks);
+            callbacks.clear();
+        }
+        toRun.forEach(Runnable::run);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    public String reason() {
+        return reason;
+    }
+
+    public boolean isDeadlineExceeded() {
+        return DEADLINE_EXCEEDED.equals(reason);
+    }
+
+    /**
+     * What the turn was doing when cancelled: {@link #STAGE_TOOL} while a tool ran,
+     * {@link #STAGE_LLM} during the model call or admission wait, else {@link #STAGE_ORCHESTRATOR}.
+     */
+    public String cancelledStage() {
+        return cancelledStage;
+    }
+
+    /**
+     * Deadline of the turn, or null when it has none.
+     */
+    public Deadline deadline() {
+        return deadline;
+    }
+
+    /**
+     * Runs {@code callback} once on cancellation, or right away if already cancelled.
+     */
+    public void onCancel(Runnable callback) {
+        synchronized (this) {
+            if (reason == null) {
+                callbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    public void throwIfCancelled() {
+        String current = reason;
+        if (current != null) {
+            throw new TurnCancelledException(current);
+        }
+    }
+
+    /**
+     * Runs a blocking call that cancellation may interrupt. Any failure after
+     * cancellation surfaces as {@link TurnCancelledException}; the interrupt flag never
+     * outlives the call.
+     */
+    public <T> T callInterruptibly(Supplier<T> call) {
+        synchronized (this) {
+            throwIfCancelled();
+            interruptible = Thread.currentThread();
+        }
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            throwIfCancelled();
+            throw e;
+        } finally {
+            synchronized (this) {
+                interruptible = null;
+                if (interrupted) {
+                    Thread.interrupted();
+                    interrupted = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs work that must not be interrupted half-way; cancellation is only observed
+     * before it starts and after it finishes.
+     */
+    public <T> T shielded(Supplier<T> work) {
+        synchronized (this) {
+            throwIfCancelled();
+            shielded++;
+        }
+        T result;
+        try {
+            result = work.get();
+        } finally {
+            synchronized (this) {
+                shielded--;
+            }
+        }
+        throwIfCancelled();
+        return result;
+    }
+
+    private static ScheduledThreadPoolExecutor deadlineTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "turn-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Token carried by a tool context, if any.
+     */
+    public static CancellationToken from(ToolContext toolContext) {
+        if (toolContext == null || toolContext.getContext() == null) {
+            return null;
+        }
+        return toolContext.getContext().get(ConversationContextHolder.CANCELLATION_KEY) instanceof CancellationToken token
+                ? token
+                : null;
+    }
+}
@@ -1,18 +1,71 @@
 package com.wells.bill.assistant.util;
 
+import org.springframework.ai.chat.model.ToolContext;
+
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
+/**
+ * Conversation binding for tool code.
+ * <p>
+ * The binding is scoped: {@link #callWith} binds for the duration of one call and
+ * restores the previous binding afterwards, so it behaves the same on platform
+ * threads, virtual threads and Reactor workers. The ids themselves travel with the
+ * prompt as {@link ToolContext} entries, so whichever thread Spring AI picks to run a
+ * tool callback can re-establish the binding (see ContextBoundToolCallback).
+ * Same shape as {@code ScopedValue.where(..).call(..)}, which is still a preview API
+ * on our Java 21 toolchain.
+ */
 public final class ConversationContextHolder {
 
+    public static final String USER_ID_KEY = "userId";
+    public static final String CONVERSATION_ID_KEY = "conversationId";
+    public static final String CANCELLATION_KEY = "cancellation";
+
     private static final ThreadLocal<UUID> USER_ID = new ThreadLocal<>();
     private static final ThreadLocal<UUID> CONVERSATION_ID = new ThreadLocal<>();
 
     private ConversationContextHolder() {
     }
 
-    public static void set(UUID userId, UUID conversationId) {
-        USER_ID.set(userId);
-        CONVERSATION_ID.set(conversationId);
+    public static <T> T callWith(UUID userId, UUID conversationId, Supplier<T> action) {
+        UUID previousUser = USER_ID.get();
+        UUID previousConversation = CONVERSATION_ID.get();
+        bind(userId, conversationId);
+        try {
+            return action.get();
+        } finally {
+            bind(previousUser, previousConversation);
+        }
+    }
+
+    public static void runWith(UUID userId, UUID conversationId, Runnable action) {
+        callWith(userId, conversationId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Tool context entries carrying the conversation across thread hops.
+     */
+    public static Map<String, Object> toolContext(UUID userId, UUID conversationId) {
+        return Map.of(
+                USER_ID_KEY, userId,
+                CONVERSATION_ID_KEY, conversationId
+        );
+    }
+
+    /**
+     * Same, plus the turn's {@link CancellationToken} so tool calls can be skipped.
+     */
+    public static Map<String, Object> toolContext(UUID userId, UUID conversationId, CancellationToken cancellation) {
+        return Map.of(
+                USER_ID_KEY, userId,
+                CONVERSATION_ID_KEY, conversationId,
+                CANCELLATION_KEY, cancellation
+        );
     }
 
     public static UUID getUserId() {
@@ -23,9 +76,16 @@ public final class ConversationContextHolder {
         return CONVERSATION_ID.get();
     }
 
-    public static void clear() {
-        USER_ID.remove();
-        CONVERSATION_ID.remove();
+    private static void bind(UUID userId, UUID conversationId) {
+        if (userId == null) {
+            USER_ID.remove();
+        } else {
+            USER_ID.set(userId);
+        }
+        if (conversationId == null) {
+            CONVERSATION_ID.remove();
+        } else {
+            CONVERSATION_ID.set(conversationId);
+        }
     }
 }
-
@@ -0,0 +1,73 @@
+package com.wells.bill.assistant.util;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Point in time by which a chat turn must have answered.
+ * <p>
+ * Set once by ChatController and carried by the turn's {@link CancellationToken}, which
+ * cancels itself when the deadline passes. Code that cannot see the token (JDBC
+ * statements, SMTP sends) reads the remaining budget through the scoped thread binding
+ * of {@link #callWith}, re-established on tool threads by ContextBoundToolCallback.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * Remaining budget, but never more than {@code cap}.
+     */
+    public Duration remaining(Duration cap) {
+        Duration remaining = remaining();
+        return remaining.compareTo(cap) < 0 ? remaining : cap;
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Deadline bound to the current thread, or null outside a chat turn.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callWith(Deadline deadline, Supplier<T> action) {
+        Deadline previous = CURRENT.get();
+        bind(deadline);
+        try {
+            return action.get();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    private static void bind(Deadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + remaining().toMillis() + "ms]";
+    }
+}
@@ -19,6 +19,34 @@ CREATE INDEX IF NOT EXISTS idx_vector_store_metadata
   ON vector_store
   USING GIN (metadata);
 
+-- Chunk lifecycle (delete / re-tag / compaction by billId)
+CREATE INDEX IF NOT EXISTS idx_vector_store_bill_id
+  ON vector_store ((metadata->>'billId'));
+
+-- One summary vector per bill (id = bill id); stage 1 of hierarchical retrieval
+CREATE TABLE IF NOT EXISTS bill_summary_store (
+  id UUID PRIMARY KEY,
+  content TEXT NOT NULL,
+  metadata JSONB,
+  embedding VECTOR(768)
+);
+
+CREATE INDEX IF NOT EXISTS idx_bill_summary_store_embedding
+  ON bill_summary_store
+  USING HNSW (embedding vector_cosine_ops)
+  WITH (m = 16, ef_construction = 64);
+
+CREATE INDEX IF NOT EXISTS idx_bill_summary_store_metadata
+  ON bill_summary_store
+  USING GIN (metadata);
+
+-- Bills whose summary backfill failed; skipped once attempts reach the configured maximum
+CREATE TABLE IF NOT EXISTS bill_summary_backfill_failures (
+  bill_id UUID PRIMARY KEY,
+  attempts INT NOT NULL,
+  last_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
 CREATE TABLE IF NOT EXISTS bills (
     id UUID PRIMARY KEY,
     user_id UUID NOT NULL,
@@ -208,3 +236,15 @@ CREATE INDEX IF NOT EXISTS idx_user_context_last_access
     ON user_context (last_access_time);
 
 
+-- In-flight / just answered chat turns; lets identical submissions on other nodes share one turn
+CREATE TABLE IF NOT EXISTS chat_request_dedup (
+    dedup_key     VARCHAR(64)              PRIMARY KEY,
+    node_id       VARCHAR(64)              NOT NULL,
+    status        VARCHAR(16)              NOT NULL,
+    response      TEXT,
+    created_at    TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at  TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_request_dedup_created
+    ON chat_request_dedup (created_at);
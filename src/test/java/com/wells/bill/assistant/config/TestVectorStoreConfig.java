@@ -1,5 +1,6 @@
 package com.wells.bill.assistant.config;
 
+import com.wells.bill.assistant.service.BillSummaryIndex;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.SimpleVectorStore;
 import org.springframework.ai.vectorstore.VectorStore;
@@ -21,4 +22,10 @@ public class TestVectorStoreConfig {
         return SimpleVectorStore.builder(embeddingClient)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Primary
+    @Bean(name = "testBillSummaryIndex")
+    public BillSummaryIndex billSummaryIndex(EmbeddingModel embeddingClient) {
+        return new BillSummaryIndex(SimpleVectorStore.builder(embeddingClient).build());
+    }
+}
@@ -75,7 +75,7 @@ public class IngestControllerIntegrationTest {
                 .build();
 
         BillParseResult parseResult = BillParseResult.builder().bill(details).build();
-        Mockito.when(billParser.parse(anyString())).thenReturn(parseResult);
+        Mockito.when(billParser.parse(anyString(), any())).thenReturn(parseResult);
 
         Mockito.when(mockIngestionService.ingestFile(any(UUID.class), anyList())).thenReturn(4);
 
@@ -0,0 +1,45 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LoadTestProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashEmbeddingModelTest {
+
+    private final HashEmbeddingModel model = new HashEmbeddingModel(new LoadTestProperties.Embedding());
+
+    @Test
+    void sameTextAlwaysGetsTheSameUnitVector() {
+        float[] first = model.embed("Airtel postpaid bill for March");
+        float[] second = new HashEmbeddingModel(new LoadTestProperties.Embedding()).embed("Airtel postpaid bill for March");
+
+        assertEquals(768, first.length);
+        assertArrayEquals(first, second);
+        assertEquals(1.0, dot(first, first), 1e-5);
+    }
+
+    @Test
+    void overlappingTextsAreCloserThanUnrelatedOnes() {
+        float[] query = model.embed("electricity bill due date");
+        float[] related = model.embed("Your electricity bill due date is 15 March");
+        float[] unrelated = model.embed("mobile data pack renewal");
+
+        assertTrue(dot(query, related) > dot(query, unrelated));
+    }
+
+    @Test
+    void emptyTextStillYieldsAUsableVector() {
+        float[] vector = model.embed("");
+
+        assertEquals(1.0, dot(vector, vector), 1e-5);
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,122 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LlmRecordingProperties;
+import com.wells.bill.assistant.config.LoadTestProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingChatModelTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordedExchangeIsReplayedByPromptHash() throws Exception {
+        Path file = dir.resolve("exchanges.jsonl");
+
+        ChatModel recorder = new RecordingChatModel(scripted("Your code 482913 was sent to a@b.com"),
+                new LlmRecordingStore(properties(LlmRecordingProperties.Mode.RECORD, file)));
+        recorder.call(new Prompt("resend code for consumer 9876543210"));
+
+        String line = Files.readAllLines(file).getFirst();
+        assertFalse(line.contains("482913"));
+        assertFalse(line.contains("a@b.com"));
+        assertFalse(line.contains("9876543210"));
+
+        ChatModel replayer = new RecordingChatModel(scripted("never called"),
+                new LlmRecordingStore(properties(LlmRecordingProperties.Mode.REPLAY, file)));
+
+        // Same question for another consumer → same redacted prompt → same key
+        String replayed = replayer.call(new Prompt("resend code for consumer 1234567890"))
+                .getResult().getOutput().getText();
+        assertEquals("Your code <code> was sent to <email>", replayed);
+    }
+
+    @Test
+    void replayMissFailsUnlessPassthroughIsEnabled() {
+        Path file = dir.resolve("empty.jsonl");
+        ChatModel replayer = new RecordingChatModel(scripted("live"),
+                new LlmRecordingStore(properties(LlmRecordingProperties.Mode.REPLAY, file)));
+
+        assertThrows(IllegalStateException.class, () -> replayer.call(new Prompt("anything")));
+
+        LlmRecordingProperties passthrough = properties(LlmRecordingProperties.Mode.REPLAY, file);
+        passthrough.setPassthroughOnMiss(true);
+        ChatModel lenient = new RecordingChatModel(scripted("live"), new LlmRecordingStore(passthrough));
+        assertEquals("live", lenient.call(new Prompt("anything")).getResult().getOutput().getText());
+    }
+
+    @Test
+    void freeTextIsRecordedOnlyAsFingerprintsUnlessOptedIn() throws Exception {
+        Path file = dir.resolve("exchanges.jsonl");
+        String question = "I am Asha Rao of 12 MG Road, call me on 080 2345 678";
+
+        new RecordingChatModel(scripted("Noted."), new LlmRecordingStore(properties(LlmRecordingProperties.Mode.RECORD, file)))
+                .call(new Prompt(question));
+
+        String line = Files.readAllLines(file).getFirst();
+        assertFalse(line.contains("Asha Rao"));
+        assertFalse(line.contains("MG Road"));
+        assertTrue(line.contains(PromptRedactor.fingerprint("user:" + question)));
+
+        ChatModel replayer = new RecordingChatModel(scripted("never called"),
+                new LlmRecordingStore(properties(LlmRecordingProperties.Mode.REPLAY, file)));
+        assertEquals("Noted.", replayer.call(new Prompt(question)).getResult().getOutput().getText());
+    }
+
+    @Test
+    void recordedToolCallArgumentsResolveAgainstTheReplayedPrompt() throws Exception {
+        Path file = dir.resolve("exchanges.jsonl");
+        String recordedBill = "3f2b8c1e-9a4d-4e2b-8f6a-1c2d3e4f5a6b";
+        String replayedBill = "9a8b7c6d-1e2f-4a3b-8c4d-5e6f7a8b9c0d";
+
+        ChatModel toolCaller = prompt -> new ChatResponse(List.of(new Generation(AssistantMessage.builder()
+                .content("")
+                .toolCalls(List.of(new AssistantMessage.ToolCall("call-1", "function", "explainBill",
+                        "{\"billId\":\"" + recordedBill + "\",\"language\":\"en\"}")))
+                .build())));
+        new RecordingChatModel(toolCaller, new LlmRecordingStore(properties(LlmRecordingProperties.Mode.RECORD, file)))
+                .call(new Prompt("explain bill " + recordedBill));
+        assertFalse(Files.readString(file).contains(recordedBill));
+
+        ChatModel replayer = new RecordingChatModel(scripted("never called"),
+                new LlmRecordingStore(properties(LlmRecordingProperties.Mode.REPLAY, file)));
+        AssistantMessage.ToolCall replayed = replayer.call(new Prompt("explain bill " + replayedBill))
+                .getResult().getOutput().getToolCalls().getFirst();
+
+        assertEquals("{\"billId\":\"" + replayedBill + "\",\"language\":\"en\"}", replayed.arguments());
+    }
+
+    @Test
+    void redactorKeepsDatesAndAmounts() {
+        assertEquals("Pay ₹1250.50 by 2025-03-15, code <code>, id <id>",
+                PromptRedactor.redact("Pay ₹1250.50 by 2025-03-15, code 123456, id 3f2b8c1e-9a4d-4e2b-8f6a-1c2d3e4f5a6b"));
+    }
+
+    private static LlmRecordingProperties properties(LlmRecordingProperties.Mode mode, Path file) {
+        LlmRecordingProperties properties = new LlmRecordingProperties();
+        properties.setMode(mode);
+        properties.setFile(file);
+        properties.setReplayTimings(false);
+        return properties;
+    }
+
+    private static ChatModel scripted(String text) {
+        LoadTestProperties.Chat chat = new LoadTestProperties.Chat();
+        chat.setDefaultText(text);
+        chat.setScripts(List.of());
+        return new ScriptedChatModel(chat, ToolCallingManager.builder().build());
+    }
+}
@@ -0,0 +1,44 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LlmRecordingProperties;
+import com.wells.bill.assistant.config.LoadTestProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class RecordingEmbeddingModelTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void textsRecordedInOneBatchReplayOneByOne() {
+        Path file = dir.resolve("exchanges.jsonl");
+        EmbeddingModel live = new HashEmbeddingModel(new LoadTestProperties.Embedding());
+
+        EmbeddingModel recorder = new RecordingEmbeddingModel(live,
+                new LlmRecordingStore(properties(LlmRecordingProperties.Mode.RECORD, file)));
+        recorder.call(new EmbeddingRequest(List.of("list my bills", "total overdue"), null));
+
+        EmbeddingModel replayer = new RecordingEmbeddingModel(live,
+                new LlmRecordingStore(properties(LlmRecordingProperties.Mode.REPLAY, file)));
+
+        // Different batching on replay still finds every text
+        assertArrayEquals(live.embed("total overdue"), replayer.embed("total overdue"));
+        assertArrayEquals(live.embed("list my bills"), replayer.embed("list my bills"));
+    }
+
+    private static LlmRecordingProperties properties(LlmRecordingProperties.Mode mode, Path file) {
+        LlmRecordingProperties properties = new LlmRecordingProperties();
+        properties.setMode(mode);
+        properties.setFile(file);
+        properties.setReplayTimings(false);
+        return properties;
+    }
+}
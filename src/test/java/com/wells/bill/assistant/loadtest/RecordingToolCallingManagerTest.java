@@ -0,0 +1,53 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LlmRecordingProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class RecordingToolCallingManagerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void toolRoundTripIsRecordedWithItsLatency() throws Exception {
+        Path file = dir.resolve("exchanges.jsonl");
+        LlmRecordingProperties properties = new LlmRecordingProperties();
+        properties.setMode(LlmRecordingProperties.Mode.RECORD);
+        properties.setFile(file);
+
+        ToolCallingManager delegate = Mockito.mock(ToolCallingManager.class);
+        ToolExecutionResult executed = Mockito.mock(ToolExecutionResult.class);
+        when(delegate.executeToolCalls(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return executed;
+        });
+        ChatResponse toolCall = new ChatResponse(List.of(new Generation(AssistantMessage.builder()
+                .content("")
+                .toolCalls(List.of(new AssistantMessage.ToolCall("call-1", "function", "listUnpaidBills", "{}")))
+                .build())));
+
+        RecordingToolCallingManager manager = new RecordingToolCallingManager(delegate, new LlmRecordingStore(properties));
+
+        assertSame(executed, manager.executeToolCalls(new Prompt("what is unpaid"), toolCall));
+        String line = Files.readAllLines(file).getFirst();
+        assertTrue(line.contains("\"type\":\"tool\""));
+        assertTrue(line.contains("\"name\":\"listUnpaidBills\""));
+        assertTrue(line.matches(".*\"latencyMs\":([2-9]\\d|\\d{3,}).*"));
+    }
+}
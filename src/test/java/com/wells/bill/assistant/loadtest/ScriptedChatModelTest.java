@@ -0,0 +1,114 @@
+package com.wells.bill.assistant.loadtest;
+
+import com.wells.bill.assistant.config.LoadTestProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScriptedChatModelTest {
+
+    @Test
+    void firstMatchingScriptAnswers_elseDefaultText() {
+        ScriptedChatModel model = model(script("\\bunpaid\\b", "You have 2 unpaid bills."));
+
+        assertEquals("You have 2 unpaid bills.", text(model.call(new Prompt("Show my UNPAID bills"))));
+        assertEquals("default", text(model.call(new Prompt("hello"))));
+    }
+
+    @Test
+    void toolCallsOutsideTheOfferedToolsAreDropped() {
+        LoadTestProperties.Script script = script("bills", "done");
+        LoadTestProperties.ToolCall call = new LoadTestProperties.ToolCall();
+        call.setName("listUnpaidBills");
+        script.getToolCalls().add(call);
+
+        // No tools offered for the turn → straight to the scripted text
+        assertEquals("done", text(model(script).call(new Prompt("bills please"))));
+    }
+
+    @Test
+    void streamedTokensConcatenateBackToTheAnswer() {
+        ScriptedChatModel model = model(script(null, "Your  water bill is due\ntomorrow."));
+
+        String streamed = model.stream(new Prompt("anything"))
+                .map(ScriptedChatModelTest::text)
+                .collect(Collectors.joining())
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("Your  water bill is due\ntomorrow.", streamed);
+    }
+
+    @Test
+    void latencySamplesStayWithinBounds() {
+        LoadTestProperties.Latency latency = new LoadTestProperties.Latency();
+        latency.setDistribution(LoadTestProperties.Distribution.LOG_NORMAL);
+        latency.setMean(Duration.ofMillis(800));
+        latency.setStddev(Duration.ofMillis(400));
+        latency.setMin(Duration.ofMillis(100));
+        latency.setMax(Duration.ofSeconds(3));
+
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            Duration sample = latency.sample(random);
+            assertFalse(sample.compareTo(Duration.ofMillis(100)) < 0);
+            assertFalse(sample.compareTo(Duration.ofSeconds(3)) > 0);
+        }
+    }
+
+    @Test
+    void eachWorkerGetsTheSameLatencySequenceHoweverTheyInterleave() {
+        LoadTestProperties.Latency latency = new LoadTestProperties.Latency();
+        latency.setDistribution(LoadTestProperties.Distribution.UNIFORM);
+        latency.setMin(Duration.ZERO);
+        latency.setMax(Duration.ofSeconds(10));
+
+        ScriptedChatModel sequential = model();
+        List<Duration> u1 = new ArrayList<>();
+        List<Duration> u2 = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            u1.add(sequential.sampleLatency(latency, "u1"));
+        }
+        for (int i = 0; i < 5; i++) {
+            u2.add(sequential.sampleLatency(latency, "u2"));
+        }
+
+        ScriptedChatModel interleaved = model();
+        List<Duration> u1Again = new ArrayList<>();
+        List<Duration> u2Again = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            u2Again.add(interleaved.sampleLatency(latency, "u2"));
+            u1Again.add(interleaved.sampleLatency(latency, "u1"));
+        }
+
+        assertEquals(u1, u1Again);
+        assertEquals(u2, u2Again);
+        assertNotEquals(u1, u2);
+    }
+
+    private static ScriptedChatModel model(LoadTestProperties.Script... scripts) {
+        LoadTestProperties.Chat chat = new LoadTestProperties.Chat();
+        chat.setDefaultText("default");
+        chat.setScripts(List.of(scripts));
+        return new ScriptedChatModel(chat, ToolCallingManager.builder().build());
+    }
+
+    private static LoadTestProperties.Script script(String match, String text) {
+        LoadTestProperties.Script script = new LoadTestProperties.Script();
+        script.setMatch(match);
+        script.setText(text);
+        return script;
+    }
+
+    private static String text(ChatResponse response) {
+        return response.getResult().getOutput().getText();
+    }
+}
@@ -1,17 +1,25 @@
 package com.wells.bill.assistant.service;
 
+import com.wells.bill.assistant.config.LlmDispatcherProperties;
+import com.wells.bill.assistant.config.ModelRoutingProperties;
 import com.wells.bill.assistant.model.BillCategory;
 import com.wells.bill.assistant.model.BillDetail;
 import com.wells.bill.assistant.model.BillParseResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 
 /**
@@ -28,8 +36,13 @@ class BillParserTest {
 
     @BeforeEach
     void setup() {
-        chatClient = Mockito.mock(ChatClient.class);
-        billParser = new BillParser(chatClient);
+        chatClient = Mockito.mock(ChatClient.class, Mockito.RETURNS_DEEP_STUBS);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        billParser = new BillParser(
+                chatClient,
+                new LlmDispatcher(new LlmDispatcherProperties(), meterRegistry),
+                new ModelRouter(new ModelRoutingProperties(), new RetrievalIntentClassifier(), meterRegistry)
+        );
     }
 
     /* -------------------------------------------------
@@ -107,15 +120,15 @@ class BillParserTest {
                 """;
 
         // Stub LLM response
-        Mockito.when(chatClient.prompt(anyString()).call().content())
-                .thenReturn("""
+        Mockito.when(chatClient.prompt(anyString()).options(any()).call().chatResponse())
+                .thenReturn(response("""
                             {
                               "amountDue": { "amount": 699, "currency": "INR" },
                               "dueDate": "2026-03-10",
                               "providerName": "Airtel",
                               "billCategory": "MOBILE"
                             }
-                        """);
+                        """));
 
         BillParseResult result = billParser.parse(bill);
         BillDetail detail = result.bill();
@@ -142,8 +155,8 @@ class BillParserTest {
                 Please ensure payment by April 20, 2026.
                 """;
 
-        Mockito.when(chatClient.prompt(anyString()).call().content())
-                .thenReturn("""
+        Mockito.when(chatClient.prompt(anyString()).options(any()).call().chatResponse())
+                .thenReturn(response("""
                             {
                               "amountDue": { "amount": 59.14, "currency": "$" },
                               "dueDate": "2026-04-20",
@@ -156,7 +169,7 @@ class BillParserTest {
                               "providerName": "NetFibre Broadband",
                               "billCategory": "INTERNET"
                             }
-                        """);
+                        """));
 
         BillParseResult result = billParser.parse(bill);
         BillDetail detail = result.bill();
@@ -207,4 +220,8 @@ class BillParserTest {
 
         assertEquals(0, result.overallConfidence());
     }
+
+    private static ChatResponse response(String json) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(json))));
+    }
 }
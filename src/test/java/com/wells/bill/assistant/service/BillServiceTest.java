@@ -0,0 +1,53 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.entity.BillEntity;
+import com.wells.bill.assistant.event.BillStatusChangedEvent;
+import com.wells.bill.assistant.model.BillStatus;
+import com.wells.bill.assistant.repository.BillRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BillServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+
+    private final BillRepository billRepository = Mockito.mock(BillRepository.class);
+    private final ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+    private final BillService service = new BillService(billRepository, eventPublisher);
+
+    @Test
+    void overdueSweepReportsTheActualPreviousStatus() {
+        BillEntity verified = bill(BillStatus.VERIFIED);
+        BillEntity paid = bill(BillStatus.PAID);
+        when(billRepository.findByDueDateBefore(any())).thenReturn(List.of(verified, paid));
+
+        service.updateOverdue();
+
+        ArgumentCaptor<BillStatusChangedEvent> event = ArgumentCaptor.forClass(BillStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(new BillStatusChangedEvent(verified.getId(), USER, BillStatus.VERIFIED, BillStatus.OVERDUE),
+                event.getValue());
+        assertEquals(BillStatus.OVERDUE, verified.getStatus());
+        assertEquals(BillStatus.PAID, paid.getStatus());
+    }
+
+    private static BillEntity bill(BillStatus status) {
+        BillEntity bill = new BillEntity();
+        bill.setId(UUID.randomUUID());
+        bill.setUserId(USER);
+        bill.setStatus(status);
+        bill.setDueDate(LocalDate.now().minusDays(3));
+        return bill;
+    }
+}
@@ -0,0 +1,86 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.VectorStoreSyncProperties;
+import com.wells.bill.assistant.entity.BillEntity;
+import com.wells.bill.assistant.repository.BillRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BillSummaryBackfillServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final BillRepository billRepository = Mockito.mock(BillRepository.class);
+    private final BillSummaryIndex billSummaryIndex = Mockito.mock(BillSummaryIndex.class);
+    private final VectorStoreSyncProperties properties = new VectorStoreSyncProperties();
+    private final BillSummaryBackfillService service =
+            new BillSummaryBackfillService(jdbcTemplate, billRepository, billSummaryIndex, properties);
+
+    @Test
+    void batchesPagePastFailingBillsAndStartOverAfterTheLastPage() {
+        properties.setBatchSize(2);
+        BillEntity failing = bill();
+        BillEntity fine = bill();
+        BillEntity later = bill();
+        Instant ingested = Instant.parse("2026-01-01T00:00:00Z");
+        List<BillSummaryBackfillService.Cursor> firstPage = List.of(
+                new BillSummaryBackfillService.Cursor(ingested, failing.getId()),
+                new BillSummaryBackfillService.Cursor(ingested, fine.getId()));
+        List<BillSummaryBackfillService.Cursor> lastPage = List.of(
+                new BillSummaryBackfillService.Cursor(ingested.plusSeconds(1), later.getId()));
+
+        List<Object[]> queried = new ArrayList<>();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any(), any())).thenAnswer(invocation -> {
+            queried.add(new Object[]{invocation.getArgument(2), invocation.getArgument(3)});
+            return switch (queried.size()) {
+                case 1 -> firstPage;
+                case 2 -> lastPage;
+                default -> List.of();
+            };
+        });
+        when(billRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<UUID> ids = invocation.getArgument(0);
+            return ids.contains(later.getId()) ? List.of(later) : List.of(failing, fine);
+        });
+        doThrow(new IllegalStateException("bad bill")).when(billSummaryIndex)
+                .index(argThat(detail -> failing.getId().equals(detail.id())));
+        when(jdbcTemplate.queryForObject(contains("bill_summary_backfill_failures"), eq(Integer.class), eq(failing.getId())))
+                .thenReturn(1);
+
+        assertEquals(1, service.backfillMissing());
+        assertEquals(1, service.backfillMissing());
+        service.backfillMissing();
+
+        // Second batch continues after the first page instead of returning the failing bill again
+        assertEquals(Timestamp.from(ingested), queried.get(1)[0]);
+        assertEquals(fine.getId(), queried.get(1)[1]);
+        // The short last page sends the next run back to the start
+        assertEquals(Timestamp.from(Instant.EPOCH), queried.get(2)[0]);
+        verify(jdbcTemplate).queryForObject(contains("bill_summary_backfill_failures"), eq(Integer.class), eq(failing.getId()));
+    }
+
+    private static BillEntity bill() {
+        BillEntity bill = new BillEntity();
+        bill.setId(UUID.randomUUID());
+        bill.setProviderName("Airtel");
+        bill.setAmountDue(new BigDecimal("499.00"));
+        bill.setCurrency("INR");
+        return bill;
+    }
+}
@@ -0,0 +1,197 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.ChatDedupProperties;
+import com.wells.bill.assistant.exception.TurnCancelledException;
+import com.wells.bill.assistant.model.ChatRequest;
+import com.wells.bill.assistant.store.ChatDedupStore;
+import com.wells.bill.assistant.util.CancellationToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatRequestCoalescerTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final UUID CONVERSATION = UUID.randomUUID();
+
+    private final ChatDedupProperties properties = new ChatDedupProperties();
+    private final ChatDedupStore clusterStore = Mockito.mock(ChatDedupStore.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatRequestCoalescer coalescer = new ChatRequestCoalescer(properties, clusterStore,
+            new RetrievalIntentClassifier(), meterRegistry);
+
+    @Test
+    void identicalConcurrentSubmissionsShareOneTurn() throws Exception {
+        AtomicInteger turns = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> coalescer.execute(request("Show my bills"), new CancellationToken(), token -> {
+                turns.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return "2 bills";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> coalescer.execute(request("  Show my   bills "), new CancellationToken(), token -> {
+                turns.incrementAndGet();
+                return "should not run";
+            }));
+            waitForCount("attached");
+            release.countDown();
+
+            assertEquals("2 bills", first.get(5, TimeUnit.SECONDS));
+            assertEquals("2 bills", second.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, turns.get());
+        // Finished turns are forgotten: the same message again is a new turn
+        assertEquals("fresh", coalescer.execute(request("Show my bills"), new CancellationToken(), token -> "fresh"));
+    }
+
+    @Test
+    void fallbackAndFailedAnswersAreNotShared() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> coalescer.execute(request("Show my bills"), new CancellationToken(), token -> {
+                leaderStarted.countDown();
+                await(release);
+                return "sorry";
+            }, answer -> !"sorry".equals(answer)));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> coalescer.execute(request("Show my bills"), new CancellationToken(),
+                    token -> "2 bills", answer -> !"sorry".equals(answer)));
+            waitForCount("attached");
+            release.countDown();
+
+            assertEquals("sorry", first.get(5, TimeUnit.SECONDS));
+            assertEquals("2 bills", second.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1.0, meterRegistry.counter("chat.dedup", "result", "unshared").count());
+    }
+
+    @Test
+    void codesAndPaymentActionsAreNeverCoalesced() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> coalescer.execute(request("482913"), new CancellationToken(), token -> {
+                leaderStarted.countDown();
+                await(release);
+                return "first";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            assertEquals("second", coalescer.execute(request("482913"), new CancellationToken(), token -> "second"));
+            release.countDown();
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0.0, meterRegistry.counter("chat.dedup", "result", "leader").count());
+    }
+
+    @Test
+    void sharedTurnIsCancelledOnlyWhenEveryClientLeft() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CancellationToken firstClient = new CancellationToken();
+        CancellationToken secondClient = new CancellationToken();
+        CancellationToken[] shared = new CancellationToken[1];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> coalescer.execute(request("Explain my bill"), firstClient, token -> {
+                shared[0] = token;
+                leaderStarted.countDown();
+                while (!token.isCancelled()) {
+                    Thread.onSpinWait();
+                }
+                token.throwIfCancelled();
+                return "unreachable";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> coalescer.execute(request("Explain my bill"), secondClient, token -> "unused"));
+            waitForCount("attached");
+
+            firstClient.cancel(CancellationToken.CLIENT_DISCONNECTED);
+            assertFalse(shared[0].isCancelled());
+
+            secondClient.cancel(CancellationToken.CLIENT_DISCONNECTED);
+            assertTrue(shared[0].isCancelled());
+
+            assertInstanceOf(TurnCancelledException.class, assertThrows(ExecutionException.class, first::get).getCause());
+            assertInstanceOf(TurnCancelledException.class, assertThrows(ExecutionException.class, second::get).getCause());
+        }
+    }
+
+    @Test
+    void failedTurnIsNotReused() {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute(request("List my bills"), new CancellationToken(), token -> {
+            throw new IllegalStateException("model down");
+        }));
+
+        assertEquals("ok", coalescer.execute(request("List my bills"), new CancellationToken(), token -> "ok"));
+    }
+
+    @Test
+    void clusterFollowerWaitsForTheOwningNode() {
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setPollInterval(Duration.ofMillis(1));
+        when(clusterStore.tryClaim(anyString(), anyString(), any())).thenReturn(false);
+        when(clusterStore.poll(anyString())).thenReturn(
+                new ChatDedupStore.Entry(ChatDedupStore.State.PENDING, null),
+                new ChatDedupStore.Entry(ChatDedupStore.State.DONE, "answered elsewhere"));
+
+        String answer = coalescer.execute(request("Show my bills"), new CancellationToken(), token -> "local");
+
+        assertEquals("answered elsewhere", answer);
+        assertEquals(1.0, meterRegistry.counter("chat.dedup", "result", "cluster_attached").count());
+        verify(clusterStore, never()).complete(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void clusterOwnerPublishesItsAnswer() {
+        properties.getCluster().setEnabled(true);
+        when(clusterStore.tryClaim(anyString(), anyString(), any())).thenReturn(true);
+
+        assertEquals("local", coalescer.execute(request("Show my bills"), new CancellationToken(), token -> "local"));
+
+        verify(clusterStore).complete(anyString(), anyString(), Mockito.eq("local"));
+    }
+
+    private static ChatRequest request(String message) {
+        return new ChatRequest(CONVERSATION, message, USER);
+    }
+
+    private void waitForCount(String result) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("chat.dedup", "result", result).count() < 1) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for chat.dedup " + result);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.entity.BillEntity;
+import com.wells.bill.assistant.model.AccountOverview;
+import com.wells.bill.assistant.model.BillCategory;
+import com.wells.bill.assistant.model.BillStatus;
+import com.wells.bill.assistant.repository.BillRepository;
+import com.wells.bill.assistant.repository.PaymentRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-03-12T10:00:00Z"), ZoneOffset.UTC);
+
+    private final BillRepository billRepository = Mockito.mock(BillRepository.class);
+    private final PaymentRepository paymentRepository = Mockito.mock(PaymentRepository.class);
+    private final DashboardService service = new DashboardService(CLOCK, billRepository, paymentRepository);
+
+    @Test
+    void overviewCombinesAggregates() {
+        when(billRepository.summarizeByStatus(USER)).thenReturn(List.of(
+                new Object[]{BillStatus.VERIFIED, 2L, new BigDecimal("1500.00")},
+                new Object[]{BillStatus.OVERDUE, 1L, new BigDecimal("300.00")},
+                new Object[]{BillStatus.PAID, 4L, new BigDecimal("2000.00")}
+        ));
+        when(billRepository.summarizeOverdue(eq(USER), any(), eq(LocalDate.of(2026, 3, 12))))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, new BigDecimal("300.00")}));
+        when(billRepository.findUpcomingDues(eq(USER), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(bill("BESCOM", "1200.00", LocalDate.of(2026, 3, 15))));
+        when(paymentRepository.sumSuccessfulByCategorySince(USER, Instant.parse("2026-03-01T00:00:00Z")))
+                .thenReturn(List.of(
+                        new Object[]{BillCategory.ELECTRICITY, new BigDecimal("800.00")},
+                        new Object[]{null, new BigDecimal("200.00")}
+                ));
+        when(paymentRepository.findRecentFailures(eq(USER), any(), any(Pageable.class))).thenReturn(List.of());
+
+        AccountOverview overview = service.overview(USER, 5);
+
+        assertEquals(new BigDecimal("1800.00"), overview.outstandingTotal());
+        assertEquals(1, overview.overdueCount());
+        assertEquals(new BigDecimal("300.00"), overview.overdueTotal());
+        assertEquals(4, overview.billsByStatus().get(BillStatus.PAID).count());
+        assertEquals("BESCOM", overview.nextDues().getFirst().providerName());
+        assertEquals(new BigDecimal("1000.00"), overview.monthToDatePaidTotal());
+        assertEquals(new BigDecimal("200.00"), overview.monthToDatePaidByCategory().get("OTHER"));
+    }
+
+    private static BillEntity bill(String provider, String amount, LocalDate dueDate) {
+        BillEntity bill = new BillEntity();
+        bill.setProviderName(provider);
+        bill.setAmountDue(new BigDecimal(amount));
+        bill.setCurrency("INR");
+        bill.setDueDate(dueDate);
+        return bill;
+    }
+}
@@ -0,0 +1,73 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.model.BillCategory;
+import com.wells.bill.assistant.model.BillDetail;
+import com.wells.bill.assistant.model.BillStatus;
+import com.wells.bill.assistant.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FastPathRouterTest {
+
+    @Test
+    void cannedIntents_match() {
+        assertEquals("unpaid_bills", FastPathRouter.match("Show unpaid bills"));
+        assertEquals("unpaid_bills", FastPathRouter.match("list my unpaid bills please"));
+        assertEquals("due_this_week", FastPathRouter.match("What's due this week?"));
+        assertEquals("total_overdue", FastPathRouter.match("total overdue"));
+        assertEquals("total_outstanding", FastPathRouter.match("How much do I owe?"));
+    }
+
+    @Test
+    void anythingElse_fallsThrough() {
+        assertNull(FastPathRouter.match("show unpaid bills from Airtel and pay the oldest"));
+        assertNull(FastPathRouter.match("why is my electricity bill so high"));
+    }
+
+    @Test
+    void totals_areKeptPerCurrency() {
+        List<BillDetail> bills = List.of(bill("100.00", "INR"), bill("50.50", "INR"), bill("10.00", "USD"));
+
+        String reply = FastPathRouter.renderTotal(bills, "outstanding");
+
+        assertTrue(reply.contains("INR 150.50"));
+        assertTrue(reply.contains("USD 10.00"));
+        assertTrue(reply.contains("3 bills"));
+    }
+
+    @Test
+    void overdue_followsDueDateNotTheLaggingStatus() {
+        LocalDate today = LocalDate.of(2026, 11, 2);
+
+        // Scheduler has not run yet / never re-tags UPLOADED bills
+        assertTrue(FastPathRouter.isOverdue(bill("10.00", "INR", BillStatus.VERIFIED, LocalDate.of(2026, 11, 1)), today));
+        assertTrue(FastPathRouter.isOverdue(bill("10.00", "INR", BillStatus.UPLOADED, LocalDate.of(2026, 10, 1)), today));
+        assertTrue(FastPathRouter.isOverdue(bill("10.00", "INR", BillStatus.OVERDUE, LocalDate.of(2026, 10, 1)), today));
+
+        assertFalse(FastPathRouter.isOverdue(bill("10.00", "INR", BillStatus.VERIFIED, today), today));
+        assertFalse(FastPathRouter.isOverdue(bill("10.00", "INR", BillStatus.PAID, LocalDate.of(2026, 10, 1)), today));
+    }
+
+    private static BillDetail bill(String amount, String currency) {
+        return bill(amount, currency, BillStatus.VERIFIED, LocalDate.of(2026, 11, 1));
+    }
+
+    private static BillDetail bill(String amount, String currency, BillStatus status, LocalDate dueDate) {
+        return BillDetail.builder()
+                .providerName("Airtel")
+                .billCategory(BillCategory.MOBILE)
+                .dueDate(dueDate)
+                .status(status)
+                .amountDue(new Money(new BigDecimal(amount), Currency.getInstance(currency)))
+                .build();
+    }
+}
@@ -1,11 +1,19 @@
 package com.wells.bill.assistant.service;
 
 import com.wells.bill.assistant.builder.FilterExpressionBuilder;
+import com.wells.bill.assistant.builder.FilterTemplate;
 import org.junit.jupiter.api.Test;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import static com.wells.bill.assistant.builder.FilterExpressionBuilder.param;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class FilterExpressionBuilderTest {
 
@@ -49,4 +57,58 @@ class FilterExpressionBuilderTest {
 
         assertEquals("(vendor == 'ACME' || vendor == 'OTHER') && (amount >= 100 && amount <= 500)", expr);
     }
+
+    @Test
+    void expression_matches_parsed_string() {
+        FilterExpressionBuilder builder = FilterExpressionBuilder
+                .start()
+                .eq("vendor", "ACME")
+                .gte("amount", 100);
+
+        Filter.Expression parsed = new FilterExpressionTextParser().parse(builder.build());
+
+        assertEquals(parsed, builder.buildExpression());
+    }
+
+    @Test
+    void expression_normalizes_typed_values() {
+        UUID userId = UUID.randomUUID();
+
+        Filter.Expression expr = FilterExpressionBuilder
+                .start()
+                .eq("userId", userId)
+                .lte("dueDate", LocalDate.of(2026, 3, 31))
+                .buildExpression();
+
+        Filter.Expression expected = new Filter.Expression(
+                Filter.ExpressionType.AND,
+                new Filter.Expression(Filter.ExpressionType.EQ, new Filter.Key("userId"), new Filter.Value(userId.toString())),
+                new Filter.Expression(Filter.ExpressionType.LTE, new Filter.Key("dueDate"), new Filter.Value("2026-03-31"))
+        );
+
+        assertEquals(expected, expr);
+    }
+
+    @Test
+    void template_binds_parameters() {
+        FilterTemplate template = FilterExpressionBuilder
+                .start()
+                .eq("userId", param("userId"))
+                .in("billId", param("billIds"))
+                .template();
+
+        UUID userId = UUID.randomUUID();
+        UUID billId = UUID.randomUUID();
+
+        Filter.Expression bound = template.bind(Map.of("userId", userId, "billIds", List.of(billId)));
+
+        Filter.Expression expected = FilterExpressionBuilder
+                .start()
+                .eq("userId", userId)
+                .in("billId", List.of(billId))
+                .buildExpression();
+
+        assertEquals(expected, bound);
+        assertThrows(IllegalArgumentException.class, () -> template.bind(Map.of("userId", userId)));
+    }
 }
@@ -0,0 +1,78 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.RetrievalProperties;
+import com.wells.bill.assistant.model.QueryFilters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.rag.Query;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.ai.vectorstore.filter.Filter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class HierarchicalBillRetrieverTest {
+
+    @Test
+    void capPerBill_keepsRankOrderAndLimitsEachBill() {
+        List<Document> ranked = List.of(
+                chunk("a1", "bill-a"),
+                chunk("a2", "bill-a"),
+                chunk("a3", "bill-a"),
+                chunk("b1", "bill-b"),
+                chunk("a4", "bill-a"),
+                chunk("b2", "bill-b")
+        );
+
+        List<String> ids = HierarchicalBillRetriever.capPerBill(ranked, 2).stream()
+                .map(Document::getId)
+                .toList();
+
+        assertEquals(List.of("a1", "a2", "b1", "b2"), ids);
+    }
+
+    @Test
+    void partialSummaryMatchIsToppedUpWithBillsThatHaveNoSummary() {
+        UUID userId = UUID.randomUUID();
+        UUID summarized = UUID.randomUUID();
+        VectorStore vectorStore = Mockito.mock(VectorStore.class);
+        BillSummaryIndex summaryIndex = Mockito.mock(BillSummaryIndex.class);
+        QueryUnderstandingService queryUnderstanding = Mockito.mock(QueryUnderstandingService.class);
+        Filter.Expression userScope = new Filter.Expression(Filter.ExpressionType.EQ,
+                new Filter.Key("userId"), new Filter.Value(userId.toString()));
+
+        when(queryUnderstanding.extract(userId, "water bill")).thenReturn(QueryFilters.none());
+        when(queryUnderstanding.toFilterExpression(eq(userId), any())).thenReturn(userScope);
+        when(summaryIndex.selectBills(eq("water bill"), eq(userScope), anyInt())).thenReturn(List.of(summarized));
+        when(vectorStore.similaritySearch(any(SearchRequest.class))).thenAnswer(invocation -> {
+            SearchRequest request = invocation.getArgument(0);
+            return request.getFilterExpression() == userScope
+                    // Flat search: the summarized bill again plus an older bill without a summary
+                    ? List.of(chunk("s-flat", summarized.toString()), chunk("old1", "old-bill"))
+                    : List.of(chunk("s1", summarized.toString()));
+        });
+
+        HierarchicalBillRetriever retriever = new HierarchicalBillRetriever(vectorStore, summaryIndex, queryUnderstanding,
+                new RetrievalMetrics(new SimpleMeterRegistry()), new RetrievalProperties());
+
+        List<String> ids = retriever.forUser(userId, "water bill").retrieve(new Query("water bill")).stream()
+                .map(Document::getId)
+                .toList();
+
+        assertEquals(List.of("s1", "old1"), ids);
+    }
+
+    private static Document chunk(String id, String billId) {
+        return Document.builder().id(id).text(id).metadata(Map.of("billId", billId)).build();
+    }
+}
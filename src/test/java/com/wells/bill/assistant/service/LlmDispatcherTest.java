@@ -0,0 +1,103 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.LlmDispatcherProperties;
+import com.wells.bill.assistant.exception.LlmOverloadedException;
+import com.wells.bill.assistant.model.LlmPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LlmDispatcherTest {
+
+    @Test
+    void waitersAreAdmittedByPriority() throws Exception {
+        LlmDispatcher dispatcher = dispatcher(1, 10, Duration.ofSeconds(5));
+        LlmDispatcher.Permit running = dispatcher.acquire(LlmPriority.INTERACTIVE, "u1");
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> analytics = executor.submit(() ->
+                    dispatcher.execute(LlmPriority.ANALYTICS, "batch", () -> order.add("analytics")));
+            waitForQueued(dispatcher, 1);
+            Future<?> chat = executor.submit(() ->
+                    dispatcher.execute(LlmPriority.INTERACTIVE, "u2", () -> order.add("chat")));
+            waitForQueued(dispatcher, 2);
+
+            running.close();
+            chat.get(5, TimeUnit.SECONDS);
+            analytics.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("chat", "analytics"), order);
+    }
+
+    @Test
+    void callsPastTheirDeadlineAreRejected() {
+        LlmDispatcher dispatcher = dispatcher(1, 10, Duration.ofMillis(50));
+        dispatcher.acquire(LlmPriority.INTERACTIVE, "u1");
+
+        assertThrows(LlmOverloadedException.class,
+                () -> dispatcher.execute(LlmPriority.INTERACTIVE, "u2", () -> "never"));
+    }
+
+    @Test
+    void fullQueueShedsIncomingLowPriorityCall() {
+        LlmDispatcher dispatcher = dispatcher(1, 0, Duration.ofSeconds(5));
+        dispatcher.acquire(LlmPriority.INTERACTIVE, "u1");
+
+        assertThrows(LlmOverloadedException.class,
+                () -> dispatcher.execute(LlmPriority.ANALYTICS, "batch", () -> "never"));
+    }
+
+    @Test
+    void fullQueueShedsTheNewestLowPriorityCallAcrossUsers() throws Exception {
+        LlmDispatcher dispatcher = dispatcher(1, 3, Duration.ofSeconds(5));
+        LlmDispatcher.Permit running = dispatcher.acquire(LlmPriority.INTERACTIVE, "u1");
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> a1 = executor.submit(() -> dispatcher.execute(LlmPriority.ANALYTICS, "a", () -> order.add("a1")));
+            waitForQueued(dispatcher, 1);
+            Future<?> b1 = executor.submit(() -> dispatcher.execute(LlmPriority.ANALYTICS, "b", () -> order.add("b1")));
+            waitForQueued(dispatcher, 2);
+            // Newest overall, but queued under the first user in round-robin order
+            Future<?> a2 = executor.submit(() -> dispatcher.execute(LlmPriority.ANALYTICS, "a", () -> order.add("a2")));
+            waitForQueued(dispatcher, 3);
+
+            Future<?> chat = executor.submit(() -> dispatcher.execute(LlmPriority.INTERACTIVE, "u2", () -> order.add("chat")));
+            ExecutionException shed = assertThrows(ExecutionException.class, () -> a2.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(LlmOverloadedException.class, shed.getCause());
+
+            running.close();
+            chat.get(5, TimeUnit.SECONDS);
+            a1.get(5, TimeUnit.SECONDS);
+            b1.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("chat", "a1", "b1"), order);
+    }
+
+    private static LlmDispatcher dispatcher(int maxConcurrent, int maxQueued, Duration timeout) {
+        LlmDispatcherProperties properties = new LlmDispatcherProperties();
+        properties.setMaxConcurrent(maxConcurrent);
+        properties.setMaxQueued(maxQueued);
+        for (LlmPriority priority : LlmPriority.values()) {
+            properties.getQueueTimeout().put(priority, timeout);
+        }
+        return new LlmDispatcher(properties, new SimpleMeterRegistry());
+    }
+
+    private static void waitForQueued(LlmDispatcher dispatcher, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.queuedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
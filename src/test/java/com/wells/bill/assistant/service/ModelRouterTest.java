@@ -0,0 +1,141 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.ModelRoutingProperties;
+import com.wells.bill.assistant.exception.TurnCancelledException;
+import com.wells.bill.assistant.model.ModelTier;
+import com.wells.bill.assistant.util.CancellationToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelRouterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ModelRouter router = new ModelRouter(routing(), new RetrievalIntentClassifier(), meterRegistry);
+
+    @Test
+    void simpleToolTurnsGoFast_reasoningGoesLarge() {
+        assertEquals(ModelTier.FAST, router.chooseForChat("list my unpaid bills", 4).tier());
+        assertEquals(ModelTier.FAST, router.chooseForChat("482913", 3).tier());
+        assertEquals(ModelTier.LARGE, router.chooseForChat("why is my electricity bill so high", 4).tier());
+        assertEquals(ModelTier.LARGE, router.chooseForChat("list my unpaid bills", 20).tier());
+        assertEquals(ModelTier.LARGE, router.chooseForChat("tell me about my Jio bill", 4).tier());
+    }
+
+    @Test
+    void invalidFastAnswerEscalatesToLarge() {
+        List<String> models = new ArrayList<>();
+
+        String answer = router.call("chat", ModelTier.FAST,
+                (ChatOptions options) -> {
+                    models.add(options.getModel());
+                    return response(options.getModel().equals("fast-model") ? "" : "large answer");
+                },
+                response -> {
+                    String text = response.getResult().getOutput().getText();
+                    if (text.isBlank()) {
+                        throw new IllegalStateException("empty");
+                    }
+                    return text;
+                });
+
+        assertEquals("large answer", answer);
+        assertEquals(List.of("fast-model", "large-model"), models);
+        assertEquals(1.0, meterRegistry.counter("llm.model.escalations", "caller", "chat").count());
+    }
+
+    @Test
+    void failureAfterAToolRanIsNotEscalated() {
+        List<String> models = new ArrayList<>();
+        List<String> toolsRun = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> router.call("chat", ModelTier.FAST,
+                (ChatOptions options) -> {
+                    models.add(options.getModel());
+                    toolsRun.add("resendPaymentOtp");
+                    throw new IllegalStateException("model failed after the tool round");
+                },
+                response -> "unused",
+                toolsRun::isEmpty));
+
+        assertEquals(List.of("fast-model"), models);
+        assertEquals(0.0, meterRegistry.counter("llm.model.escalations", "caller", "chat").count());
+        assertEquals(1.0, meterRegistry.counter("llm.model.escalations.refused", "caller", "chat").count());
+    }
+
+    @Test
+    void paymentAndConfirmationTurnsNeverEscalate() {
+        ModelRouter.ModelChoice otp = router.chooseForChat("482913", 3);
+        ModelRouter.ModelChoice pay = router.chooseForChat("pay my airtel bill", 3);
+        ModelRouter.ModelChoice listing = router.chooseForChat("list my unpaid bills", 3);
+
+        assertEquals(ModelTier.FAST, otp.tier());
+        assertFalse(otp.escalate());
+        assertEquals(ModelTier.FAST, pay.tier());
+        assertFalse(pay.escalate());
+        assertTrue(listing.escalate());
+    }
+
+    @Test
+    void abandonedTurnIsNotEscalatedAndCountsAsWaste() {
+        List<String> models = new ArrayList<>();
+
+        assertThrows(TurnCancelledException.class, () -> router.call("chat", ModelTier.FAST,
+                (ChatOptions options) -> {
+                    models.add(options.getModel());
+                    return new ChatResponse(List.of(new Generation(new AssistantMessage("unread"))),
+                            ChatResponseMetadata.builder().usage(new DefaultUsage(120, 30)).build());
+                },
+                response -> {
+                    throw new TurnCancelledException(CancellationToken.CLIENT_DISCONNECTED);
+                }));
+
+        assertEquals(List.of("fast-model"), models);
+        assertEquals(120.0, meterRegistry.counter("llm.model.wasted.tokens", "model", "fast-model", "type", "input").count());
+        assertEquals(30.0, meterRegistry.counter("llm.model.wasted.tokens", "model", "fast-model", "type", "output").count());
+        assertEquals(1, meterRegistry.timer("llm.model.latency",
+                "model", "fast-model", "tier", "FAST", "caller", "chat", "outcome", "abandoned").count());
+    }
+
+    @Test
+    void callCancelledMidFlightStillCountsAsWaste() {
+        assertThrows(TurnCancelledException.class, () -> router.call("chat", ModelTier.FAST,
+                (ChatOptions options) -> {
+                    throw new TurnCancelledException(CancellationToken.DEADLINE_EXCEEDED);
+                },
+                response -> response));
+
+        assertEquals(1, meterRegistry.timer("llm.model.wasted", "model", "fast-model").count());
+        assertEquals(0.0, meterRegistry.counter("llm.model.wasted.tokens", "model", "fast-model", "type", "input").count());
+        assertEquals(0.0, meterRegistry.counter("llm.model.wasted.cost", "model", "fast-model").count());
+        assertNull(meterRegistry.find("llm.model.tokens").counter());
+    }
+
+    private static ModelRoutingProperties routing() {
+        ModelRoutingProperties properties = new ModelRoutingProperties();
+        ModelRoutingProperties.Model fast = new ModelRoutingProperties.Model();
+        fast.setName("fast-model");
+        ModelRoutingProperties.Model large = new ModelRoutingProperties.Model();
+        large.setName("large-model");
+        properties.getModels().put(ModelTier.FAST, fast);
+        properties.getModels().put(ModelTier.LARGE, large);
+        return properties;
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
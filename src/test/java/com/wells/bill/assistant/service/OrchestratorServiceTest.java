@@ -0,0 +1,94 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.LlmDispatcherProperties;
+import com.wells.bill.assistant.model.ChatRequest;
+import com.wells.bill.assistant.model.ChatStreamEvent;
+import com.wells.bill.assistant.model.ModelTier;
+import com.wells.bill.assistant.tools.ChatToolCallbacks;
+import com.wells.bill.assistant.tools.ToolRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrchestratorServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final UUID CONVERSATION = UUID.randomUUID();
+
+    private final ChatModel chatModel = Mockito.mock(ChatModel.class);
+    private final ToolRouter toolRouter = Mockito.mock(ToolRouter.class);
+    private final UserDataSnapshotService userDataSnapshotService = Mockito.mock(UserDataSnapshotService.class);
+    private final FastPathRouter fastPathRouter = Mockito.mock(FastPathRouter.class);
+    private final ModelRouter modelRouter = Mockito.mock(ModelRouter.class);
+    private final SemanticResponseCache responseCache = Mockito.mock(SemanticResponseCache.class);
+
+    private final OrchestratorService orchestrator = new OrchestratorService(
+            ChatClient.builder(chatModel).build(),
+            Mockito.mock(RetrievalMetrics.class),
+            new RetrievalIntentClassifier(),
+            Mockito.mock(HierarchicalBillRetriever.class),
+            Mockito.mock(ChatToolCallbacks.class),
+            toolRouter,
+            userDataSnapshotService,
+            fastPathRouter,
+            Mockito.mock(ChatTurnMetrics.class),
+            new LlmDispatcher(new LlmDispatcherProperties(), new SimpleMeterRegistry()),
+            modelRouter,
+            responseCache,
+            Mockito.mock(AbandonedTurnRecorder.class),
+            Mockito.mock(ChatRequestCoalescer.class),
+            Mockito.mock(ChatMemory.class)
+    );
+
+    OrchestratorServiceTest() {
+        when(fastPathRouter.tryAnswer(any())).thenReturn(Optional.empty());
+        when(responseCache.lookup(any())).thenReturn(SemanticResponseCache.Lookup.SKIP);
+        when(toolRouter.route(any(), any(), anyString(), any())).thenReturn(List.of());
+        when(modelRouter.chooseForChat(anyString(), anyInt()))
+                .thenReturn(new ModelRouter.ModelChoice(ModelTier.FAST, "test"));
+        when(modelRouter.options(any())).thenAnswer(invocation ->
+                ToolCallingChatOptions.builder().model(invocation.getArgument(0).toString()).build());
+    }
+
+    @Test
+    void escalatedStreamOpensAndReleasesTheSnapshotOnce() {
+        when(chatModel.stream(any(Prompt.class))).thenAnswer(invocation -> {
+            Prompt prompt = invocation.getArgument(0);
+            return ModelTier.FAST.name().equals(prompt.getOptions().getModel())
+                    ? Flux.error(new IllegalStateException("fast model failed"))
+                    : Flux.just(new ChatResponse(List.of(new Generation(new AssistantMessage("You have two unpaid bills.")))));
+        });
+
+        List<ChatStreamEvent> events = orchestrator.streamMessage(new ChatRequest(CONVERSATION, "List my unpaid bills", USER))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertNotNull(events);
+        assertEquals(ChatStreamEvent.token("You have two unpaid bills."), events.getFirst());
+        verify(chatModel, times(2)).stream(any(Prompt.class));
+        verify(userDataSnapshotService, times(1)).open(USER, CONVERSATION);
+        verify(userDataSnapshotService, times(1)).close(CONVERSATION);
+    }
+}
@@ -0,0 +1,55 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.model.BillCategory;
+import com.wells.bill.assistant.model.DateRange;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueryUnderstandingServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    void monthNames_resolveToMostRecentOccurrence() {
+        assertEquals(new DateRange(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)),
+                QueryUnderstandingService.extractDueDateRange("what did i pay for water last march", TODAY));
+        assertEquals(new DateRange(LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 31)),
+                QueryUnderstandingService.extractDueDateRange("my december bill", TODAY));
+        assertEquals(new DateRange(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31)),
+                QueryUnderstandingService.extractDueDateRange("charges in may 2024", TODAY));
+    }
+
+    @Test
+    void relativePeriods_resolveAgainstToday() {
+        assertEquals(new DateRange(LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30)),
+                QueryUnderstandingService.extractDueDateRange("usage last month", TODAY));
+        assertEquals(new DateRange(LocalDate.of(2026, 9, 19), TODAY),
+                QueryUnderstandingService.extractDueDateRange("bills from the past 30 days", TODAY));
+    }
+
+    @Test
+    void ambiguousWords_areNotFilters() {
+        assertNull(QueryUnderstandingService.extractDueDateRange("may i see the late fee", TODAY));
+        assertNull(QueryUnderstandingService.extractCategory("why is it so high"));
+    }
+
+    @Test
+    void categoryAndProvider_areExtracted() {
+        assertEquals(BillCategory.ELECTRICITY, QueryUnderstandingService.extractCategory("electricity usage"));
+        assertEquals("TATA POWER", QueryUnderstandingService.extractProvider(
+                "why is my tata power bill high", List.of("Airtel", "TATA POWER", "TATA POWER DDL")));
+        assertEquals("TATA POWER DDL", QueryUnderstandingService.extractProvider(
+                "why is my tata power ddl bill high", List.of("Airtel", "TATA POWER", "TATA POWER DDL")));
+        assertEquals("Airtel Xstream", QueryUnderstandingService.extractProvider(
+                "airtel bill for march", List.of("Airtel Xstream", "TATA POWER")));
+        assertNull(QueryUnderstandingService.extractProvider("my water bill", List.of("Airtel", "Unknown")));
+        // Ambiguous → no provider filter rather than a guess
+        assertNull(QueryUnderstandingService.extractProvider(
+                "my tata bill", List.of("TATA POWER", "TATA POWER DDL")));
+    }
+}
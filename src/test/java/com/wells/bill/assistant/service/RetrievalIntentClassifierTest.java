@@ -0,0 +1,43 @@
+package com.wells.bill.assistant.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetrievalIntentClassifierTest {
+
+    private final RetrievalIntentClassifier classifier = new RetrievalIntentClassifier();
+
+    @Test
+    void toolOnlyTurns_skipRetrieval() {
+        assertFalse(classifier.classify("pay my electricity bill").retrieve());
+        assertFalse(classifier.classify("List unpaid bills").retrieve());
+        assertFalse(classifier.classify("show my recent payments").retrieve());
+        assertFalse(classifier.classify("  482913 ").retrieve());
+        assertFalse(classifier.classify("Thanks!").retrieve());
+    }
+
+    @Test
+    void documentQuestions_retrieve() {
+        assertTrue(classifier.classify("Why is my Airtel bill so high this month?").retrieve());
+        assertTrue(classifier.classify("What are the late fee charges on my water bill").retrieve());
+        assertEquals("document_question", classifier.classify("how many kwh did I use").reason());
+    }
+
+    @Test
+    void historyQuestions_retrieveInsteadOfPaying() {
+        RetrievalIntentClassifier.RetrievalDecision decision = classifier.classify("what did I pay for water last March");
+        assertTrue(decision.retrieve());
+        assertEquals("history_question", decision.reason());
+        assertEquals("history_question", classifier.classify("How much did I pay for Airtel in Jan?").reason());
+        assertEquals("history_question", classifier.classify("was my gas bill paid").reason());
+        assertEquals("payment_action", classifier.classify("pay my water bill").reason());
+    }
+
+    @Test
+    void unknownTurns_retrieveByDefault() {
+        assertEquals("default", classifier.classify("tell me about my Jio bill").reason());
+    }
+}
@@ -0,0 +1,200 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.LoadTestProperties;
+import com.wells.bill.assistant.config.ResponseCacheProperties;
+import com.wells.bill.assistant.event.PaymentStatusChangedEvent;
+import com.wells.bill.assistant.loadtest.HashEmbeddingModel;
+import com.wells.bill.assistant.model.BillCategory;
+import com.wells.bill.assistant.model.ChatRequest;
+import com.wells.bill.assistant.model.PaymentStatus;
+import com.wells.bill.assistant.model.QueryFilters;
+import com.wells.bill.assistant.store.UserDataVersionStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.ai.chat.memory.ChatMemory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SemanticResponseCacheTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2026-03-10T10:00:00Z");
+
+    private final QueryUnderstandingService queryUnderstandingService = Mockito.mock(QueryUnderstandingService.class);
+    private final ChatMemory chatMemory = Mockito.mock(ChatMemory.class);
+    private final UserDataVersionStore dataVersions = Mockito.mock(UserDataVersionStore.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SemanticResponseCache cache(Clock clock) {
+        when(queryUnderstandingService.extract(any(), anyString())).thenReturn(QueryFilters.none());
+        when(dataVersions.current(USER)).thenReturn("v1");
+        return new SemanticResponseCache(
+                new HashEmbeddingModel(new LoadTestProperties.Embedding()),
+                queryUnderstandingService,
+                new RetrievalIntentClassifier(),
+                chatMemory,
+                new ChatTurnMetrics(meterRegistry),
+                dataVersions,
+                new ResponseCacheProperties(),
+                clock
+        );
+    }
+
+    @Test
+    void readOnlyAnswerIsServedForTheSameQuestionRephrased() {
+        SemanticResponseCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        SemanticResponseCache.Lookup miss = cache.lookup(request("Explain my Airtel bill"));
+        assertFalse(miss.hit());
+        cache.store(miss, "Your Airtel bill is INR 499.", List.of("explainBill", "listAllBills"));
+
+        SemanticResponseCache.Lookup hit = cache.lookup(request("explain my airtel bill?"));
+
+        assertTrue(hit.hit());
+        assertEquals("Your Airtel bill is INR 499.", hit.answer());
+        assertFalse(cache.lookup(request("What does the late fee on my broadband plan cover")).hit());
+        verify(chatMemory).add(anyString(), anyList());
+        assertEquals(1.0, meterRegistry.counter("chat.response_cache", "result", "hit").count());
+        assertEquals(1, meterRegistry.timer("chat.turn.latency", "path", "cache").count());
+    }
+
+    @Test
+    void turnsThatChangedStateAreNotStored() {
+        SemanticResponseCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        SemanticResponseCache.Lookup miss = cache.lookup(request("Mark the Airtel bill as checked"));
+        cache.store(miss, "Done.", List.of("listAllBills", "markBillAsVerified"));
+
+        assertFalse(cache.lookup(request("Mark the Airtel bill as checked")).hit());
+    }
+
+    @Test
+    void differentFiltersNeverShareAnAnswer() {
+        SemanticResponseCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC));
+        when(queryUnderstandingService.extract(USER, "When is my water bill due"))
+                .thenReturn(new QueryFilters(null, BillCategory.WATER, null));
+        when(queryUnderstandingService.extract(USER, "When is my gas bill due"))
+                .thenReturn(new QueryFilters(null, BillCategory.GAS, null));
+
+        cache.store(cache.lookup(request("When is my water bill due")), "Water is due on 15 March.", List.of());
+
+        assertFalse(cache.lookup(request("When is my gas bill due")).hit());
+        assertTrue(cache.lookup(request("When is my water bill due")).hit());
+    }
+
+    @Test
+    void dataChangeDropsEntriesAndStaleStores() {
+        SemanticResponseCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        cache.store(cache.lookup(request("List my bills from Airtel")), "One Airtel bill.", List.of("listAllBills"));
+        SemanticResponseCache.Lookup inFlight = cache.lookup(request("Explain my water bill"));
+
+        cache.onPaymentStatusChanged(new PaymentStatusChangedEvent(UUID.randomUUID(), USER, null, PaymentStatus.CREATED));
+        cache.store(inFlight, "Water is INR 300.", List.of("explainBill"));
+
+        assertFalse(cache.lookup(request("List my bills from Airtel")).hit());
+        assertFalse(cache.lookup(request("Explain my water bill")).hit());
+    }
+
+    @Test
+    void dataChangedOnAnotherNodeDropsEntriesAndStaleStores() {
+        SemanticResponseCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        cache.store(cache.lookup(request("List my bills from Airtel")), "One Airtel bill.", List.of("listAllBills"));
+        SemanticResponseCache.Lookup inFlight = cache.lookup(request("Explain my water bill"));
+
+        // No local event: the payment was made through another node
+        when(dataVersions.current(USER)).thenReturn("v2");
+        cache.store(inFlight, "Water is INR 300.", List.of("explainBill"));
+
+        assertFalse(cache.lookup(request("List my bills from Airtel")).hit());
+        assertFalse(cache.lookup(request("Explain my water bill")).hit());
+    }
+
+    @Test
+    void dateRelativeAnswersExpireEarlyAndNeverPastMidnight() {
+        MutableClock clock = new MutableClock(NOW);
+        SemanticResponseCache cache = cache(clock);
+
+        cache.store(cache.lookup(request("When is my Airtel bill due")), "Your Airtel bill is due in 3 days.", List.of());
+        cache.store(cache.lookup(request("Explain my water bill")), "Water is INR 300.", List.of());
+        clock.advance(Duration.ofMinutes(6));
+
+        assertFalse(cache.lookup(request("When is my Airtel bill due")).hit());
+        assertTrue(cache.lookup(request("Explain my water bill")).hit());
+
+        MutableClock lateEvening = new MutableClock(Instant.parse("2026-03-10T23:58:00Z"));
+        SemanticResponseCache lateCache = cache(lateEvening);
+        lateCache.store(lateCache.lookup(request("What is overdue?")), "Nothing is overdue.", List.of());
+        lateEvening.advance(Duration.ofMinutes(3));
+
+        assertFalse(lateCache.lookup(request("What is overdue?")).hit());
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        MutableClock clock = new MutableClock(NOW);
+        SemanticResponseCache cache = cache(clock);
+
+        cache.store(cache.lookup(request("Explain my Airtel bill")), "Your Airtel bill is INR 499.", List.of());
+        clock.advance(Duration.ofMinutes(31));
+
+        assertFalse(cache.lookup(request("Explain my Airtel bill")).hit());
+    }
+
+    @Test
+    void actionsAndFollowUpsAreNeverLookedUp() {
+        SemanticResponseCache cache = cache(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertFalse(cache.cacheable("Pay my electricity bill"));
+        assertFalse(cache.cacheable("482913"));
+        assertFalse(cache.cacheable("thanks"));
+        assertFalse(cache.cacheable("explain it in Hindi"));
+        assertTrue(cache.cacheable("Why is my Airtel bill so high this month?"));
+    }
+
+    private static ChatRequest request(String message) {
+        return new ChatRequest(UUID.randomUUID(), message, USER);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.event.PaymentStatusChangedEvent;
+import com.wells.bill.assistant.model.BillDetail;
+import com.wells.bill.assistant.model.BillStatus;
+import com.wells.bill.assistant.model.PaymentStatus;
+import com.wells.bill.assistant.util.ConversationContextHolder;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDataSnapshotTest {
+
+    private final BillService billService = Mockito.mock(BillService.class);
+    private final PaymentService paymentService = Mockito.mock(PaymentService.class);
+
+    @Test
+    void billsAreLoadedOncePerSnapshot() {
+        UUID userId = UUID.randomUUID();
+        BillDetail unpaid = BillDetail.builder().id(UUID.randomUUID()).userId(userId)
+                .providerName("Tata Power").status(BillStatus.VERIFIED).build();
+        BillDetail paid = BillDetail.builder().id(UUID.randomUUID()).userId(userId)
+                .providerName("Airtel").status(BillStatus.PAID).build();
+
+        when(billService.getBills(eq(userId), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(unpaid, paid)));
+
+        UserDataSnapshot snapshot = new UserDataSnapshot(userId, billService, paymentService);
+
+        assertEquals(List.of(unpaid), snapshot.unpaidBills());
+        assertEquals(List.of(unpaid), snapshot.billsByProvider("tata"));
+        assertEquals(2, snapshot.allBills().size());
+
+        verify(billService, times(1)).getBills(eq(userId), any(Pageable.class));
+    }
+
+    @Test
+    void concurrentTurnsOnOneConversationShareTheSnapshotUntilBothClose() {
+        UUID userId = UUID.randomUUID();
+        UUID conversationId = UUID.randomUUID();
+        UserDataSnapshotService service = new UserDataSnapshotService(billService, paymentService);
+
+        service.open(userId, conversationId);
+        UserDataSnapshot first = ConversationContextHolder.callWith(userId, conversationId, () -> service.forUser(userId));
+        service.open(userId, conversationId);
+
+        // The second turn neither replaced the first turn's snapshot…
+        assertSame(first, ConversationContextHolder.callWith(userId, conversationId, () -> service.forUser(userId)));
+
+        // …nor does it lose it when the first turn ends
+        service.close(conversationId);
+        assertSame(first, ConversationContextHolder.callWith(userId, conversationId, () -> service.forUser(userId)));
+
+        service.close(conversationId);
+        assertNotSame(first, ConversationContextHolder.callWith(userId, conversationId, () -> service.forUser(userId)));
+    }
+
+    @Test
+    void paymentChangeDuringATurnDropsThatUsersSnapshot() {
+        UUID userId = UUID.randomUUID();
+        UUID otherUser = UUID.randomUUID();
+        UUID conversationId = UUID.randomUUID();
+        UUID otherConversation = UUID.randomUUID();
+        UserDataSnapshotService service = new UserDataSnapshotService(billService, paymentService);
+        service.open(userId, conversationId);
+        service.open(otherUser, otherConversation);
+        UserDataSnapshot before = ConversationContextHolder.callWith(userId, conversationId, () -> service.forUser(userId));
+        UserDataSnapshot untouched = ConversationContextHolder.callWith(otherUser, otherConversation, () -> service.forUser(otherUser));
+
+        service.onPaymentStatusChanged(new PaymentStatusChangedEvent(UUID.randomUUID(), userId, null, PaymentStatus.CREATED));
+
+        assertNotSame(before, ConversationContextHolder.callWith(userId, conversationId, () -> service.forUser(userId)));
+        assertSame(untouched, ConversationContextHolder.callWith(otherUser, otherConversation, () -> service.forUser(otherUser)));
+    }
+}
@@ -0,0 +1,72 @@
+package com.wells.bill.assistant.service;
+
+import com.wells.bill.assistant.config.VectorStoreSyncProperties;
+import com.wells.bill.assistant.event.BillStatusChangedEvent;
+import com.wells.bill.assistant.model.BillStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+class VectorStoreSyncServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+
+    private final VectorStore vectorStore = Mockito.mock(VectorStore.class);
+    private final BillSummaryIndex billSummaryIndex = Mockito.mock(BillSummaryIndex.class);
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final VectorStoreSyncService service =
+            new VectorStoreSyncService(vectorStore, billSummaryIndex, jdbcTemplate, new VectorStoreSyncProperties());
+
+    @Test
+    void statusChangeIsReTaggedWithTheLatestStatus() {
+        UUID billId = UUID.randomUUID();
+        service.onBillStatusChanged(new BillStatusChangedEvent(billId, USER, BillStatus.INGESTED, BillStatus.VERIFIED));
+        service.onBillStatusChanged(new BillStatusChangedEvent(billId, USER, BillStatus.VERIFIED, BillStatus.OVERDUE));
+
+        service.flushPending();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), args.capture());
+        assertEquals(1, args.getValue().size());
+        assertArrayEquals(new Object[]{"OVERDUE", billId.toString()}, args.getValue().getFirst());
+
+        // Drained → nothing left to write
+        service.flushPending();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void failedReTagIsRetriedOnTheNextFlush() {
+        UUID billId = UUID.randomUUID();
+        service.onBillStatusChanged(new BillStatusChangedEvent(billId, USER, BillStatus.VERIFIED, BillStatus.PAID));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("db down"));
+
+        service.flushPending();
+
+        Mockito.reset(jdbcTemplate);
+        service.flushPending();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void reconciliationRepairsStatusesLostFromTheQueue() {
+        when(jdbcTemplate.update(contains("UPDATE vector_store"), anyInt())).thenReturn(3);
+        when(jdbcTemplate.update(contains("UPDATE bill_summary_store"), anyInt())).thenReturn(1);
+
+        assertEquals(4, service.reconcileStatuses());
+    }
+}
@@ -0,0 +1,122 @@
+package com.wells.bill.assistant.store;
+
+import com.wells.bill.assistant.config.QueryEmbeddingProperties;
+import com.wells.bill.assistant.util.Deadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingEmbeddingModelTest {
+
+    private final CountingModel delegate = new CountingModel();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void repeatedTextIsServedFromCache() {
+        CachingEmbeddingModel model = new CachingEmbeddingModel(delegate, properties(Duration.ofMillis(1)), meterRegistry);
+
+        float[] first = model.embed("List my bills");
+        float[] second = model.embed("  list   MY bills ");
+
+        assertSame(first, second);
+        assertEquals(1, delegate.calls.get());
+        assertEquals(1.0, meterRegistry.counter("embedding.query.cache", "result", "hit").count());
+        // Normalisation is for the key only; the model gets what the user wrote
+        assertEquals(List.of("List my bills"), delegate.seen);
+    }
+
+    @Test
+    void waitIsBoundedByTheTurnDeadline() {
+        CountDownLatch release = new CountDownLatch(1);
+        EmbeddingModel stuck = new CountingModel() {
+            @Override
+            public EmbeddingResponse call(EmbeddingRequest request) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.call(request);
+            }
+        };
+        CachingEmbeddingModel model = new CachingEmbeddingModel(stuck, properties(Duration.ofMillis(1)), meterRegistry);
+
+        try {
+            assertThrows(IllegalStateException.class, () ->
+                    Deadline.callWith(Deadline.after(Duration.ofMillis(50)), () -> model.embed("list my bills")));
+            assertEquals(1.0, meterRegistry.counter("embedding.query.cache", "result", "timeout").count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void concurrentMissesAreBatchedIntoOneCall() throws Exception {
+        CachingEmbeddingModel model = new CachingEmbeddingModel(delegate, properties(Duration.ofMillis(50)), meterRegistry);
+
+        List<Future<float[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                String text = "question " + (i % 5);
+                results.add(executor.submit(() -> model.embed(text)));
+            }
+            for (Future<float[]> result : results) {
+                assertEquals(3, result.get(5, TimeUnit.SECONDS).length);
+            }
+        }
+
+        assertEquals(1, delegate.calls.get());
+        assertEquals(5, delegate.texts.get());
+    }
+
+    @Test
+    void multiTextRequestsBypassTheFrontEnd() {
+        CachingEmbeddingModel model = new CachingEmbeddingModel(delegate, properties(Duration.ofMillis(1)), meterRegistry);
+
+        model.call(new EmbeddingRequest(List.of("chunk one", "chunk two"), null));
+        model.call(new EmbeddingRequest(List.of("chunk one", "chunk two"), null));
+
+        assertEquals(2, delegate.calls.get());
+    }
+
+    private static QueryEmbeddingProperties properties(Duration window) {
+        QueryEmbeddingProperties properties = new QueryEmbeddingProperties();
+        properties.setBatchWindow(window);
+        return properties;
+    }
+
+    private static class CountingModel implements EmbeddingModel {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger texts = new AtomicInteger();
+        final List<String> seen = new CopyOnWriteArrayList<>();
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            calls.incrementAndGet();
+            texts.addAndGet(request.getInstructions().size());
+            seen.addAll(request.getInstructions());
+            List<Embedding> embeddings = new ArrayList<>();
+            for (int i = 0; i < request.getInstructions().size(); i++) {
+                embeddings.add(new Embedding(new float[]{i, 1, 2}, i));
+            }
+            return new EmbeddingResponse(embeddings);
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return new float[]{0, 1, 2};
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.wells.bill.assistant.store;
+
+import com.wells.bill.assistant.config.ChatMemoryProperties;
+import com.wells.bill.assistant.service.ConversationSummarizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+class CompactingChatMemoryTest {
+
+    private final ConversationSummarizer summarizer = Mockito.mock(ConversationSummarizer.class);
+    private final ChatMemoryProperties properties = new ChatMemoryProperties();
+
+    @Test
+    void olderTurnsAreFoldedIntoSummary() throws Exception {
+        when(summarizer.summarize(any(), any(), anyInt())).thenReturn("User asked about Airtel and Jio bills.");
+        properties.getCompaction().setKeepRecentMessages(2);
+        properties.getCompaction().setCompactAfterMessages(2);
+
+        CompactionAwareRepository repository = new CompactionAwareRepository();
+        CompactingChatMemory memory = new CompactingChatMemory(repository, summarizer, properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 2; i++) {
+            memory.add("c1", List.<Message>of(new UserMessage("question " + i), new AssistantMessage("answer " + i)));
+        }
+        assertTrue(repository.compacted.await(5, TimeUnit.SECONDS));
+
+        List<Message> prompt = memory.get("c1");
+        assertEquals(3, prompt.size());
+        assertInstanceOf(SystemMessage.class, prompt.getFirst());
+        assertTrue(prompt.getFirst().getText().contains("Airtel and Jio"));
+        assertEquals("question 1", prompt.get(1).getText());
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        properties.getCompaction().setEnabled(false);
+        properties.setMaxMessages(1000);
+        InMemoryChatMemoryRepository repository = new InMemoryChatMemoryRepository();
+        CompactingChatMemory memory = new CompactingChatMemory(repository, summarizer, properties, new SimpleMeterRegistry());
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> adds = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                String text = "message " + i;
+                adds.add(executor.submit(() -> {
+                    start.await();
+                    memory.add("c1", List.of(new UserMessage(text)));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> add : adds) {
+                add.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(50, repository.findByConversationId("c1").size());
+    }
+
+    @Test
+    void storageIsCappedToTheWindowWhenCompactionIsOff() {
+        properties.getCompaction().setEnabled(false);
+        properties.setMaxMessages(4);
+        InMemoryChatMemoryRepository repository = new InMemoryChatMemoryRepository();
+        CompactingChatMemory memory = new CompactingChatMemory(repository, summarizer, properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            memory.add("c1", List.of(new UserMessage("message " + i)));
+        }
+
+        List<Message> stored = repository.findByConversationId("c1");
+        assertEquals(4, stored.size());
+        assertEquals("message 6", stored.getFirst().getText());
+    }
+
+    // Signals the compaction write-back (stored shape starts with the summary)
+    private static final class CompactionAwareRepository extends InMemoryChatMemoryRepository {
+        private final CountDownLatch compacted = new CountDownLatch(1);
+
+        @Override
+        public void saveAll(String conversationId, List<Message> messages) {
+            super.saveAll(conversationId, messages);
+            if (!messages.isEmpty() && messages.getFirst() instanceof SystemMessage) {
+                compacted.countDown();
+            }
+        }
+    }
+}
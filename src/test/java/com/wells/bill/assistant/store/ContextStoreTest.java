@@ -0,0 +1,131 @@
+package com.wells.bill.assistant.store;
+
+import com.wells.bill.assistant.config.ContextCacheProperties;
+import com.wells.bill.assistant.entity.ContextEntity;
+import com.wells.bill.assistant.exception.ContextMismatchException;
+import com.wells.bill.assistant.model.Context;
+import com.wells.bill.assistant.repository.ContextRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ContextStoreTest {
+
+    private static final UUID CONTEXT = UUID.randomUUID();
+    private static final UUID USER = UUID.randomUUID();
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+    private final ContextRepository repository = Mockito.mock(ContextRepository.class);
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final ContextCacheProperties properties = new ContextCacheProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ContextStore store = new ContextStore(clock, repository, jdbcTemplate, properties, meterRegistry);
+
+    private final UUID conversation = UUID.randomUUID();
+
+    ContextStoreTest() {
+        when(repository.findById(CONTEXT))
+                .thenReturn(Optional.of(new ContextEntity(CONTEXT, USER, conversation, clock.millis())));
+    }
+
+    @Test
+    void repeatedResolvesHitTheCacheAndCoalesceTouches() {
+        for (int i = 0; i < 5; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            assertEquals(new Context(CONTEXT, conversation, USER), store.resolveContext(CONTEXT, USER));
+        }
+
+        verify(repository, times(1)).findById(CONTEXT);
+        verify(repository, never()).save(any());
+        assertEquals(4.0, meterRegistry.counter("context.cache", "result", "hit").count());
+
+        assertEquals(1, store.flushTouches());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), args.capture());
+        assertEquals(1, args.getValue().size());
+        assertEquals(clock.millis(), args.getValue().getFirst()[0]);
+
+        // Nothing new to write
+        assertEquals(0, store.flushTouches());
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        store.resolveContext(CONTEXT, USER);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("db down"));
+        assertEquals(0, store.flushTouches());
+
+        Mockito.reset(jdbcTemplate);
+        assertEquals(1, store.flushTouches());
+    }
+
+    @Test
+    void idleContextGetsANewConversation() {
+        store.resolveContext(CONTEXT, USER);
+        clock.advance(Duration.ofMinutes(11));
+        when(repository.save(any(ContextEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Context reset = store.resolveContext(CONTEXT, USER);
+
+        assertNotEquals(conversation, reset.conversationId());
+        verify(repository, times(1)).save(any());
+        // Served from cache afterwards
+        assertEquals(reset, store.resolveContext(CONTEXT, USER));
+        verify(repository, times(2)).findById(CONTEXT);
+    }
+
+    @Test
+    void cachedContextIsRevalidatedAndOwnershipEnforced() {
+        store.resolveContext(CONTEXT, USER);
+        assertThrows(ContextMismatchException.class, () -> store.resolveContext(CONTEXT, UUID.randomUUID()));
+
+        clock.advance(properties.getRevalidateAfter().plusSeconds(1));
+        store.resolveContext(CONTEXT, USER);
+        verify(repository, times(2)).findById(CONTEXT);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
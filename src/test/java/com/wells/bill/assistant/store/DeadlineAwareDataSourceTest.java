@@ -0,0 +1,89 @@
+package com.wells.bill.assistant.store;
+
+import com.wells.bill.assistant.util.Deadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DeadlineAwareDataSourceTest {
+
+    private final DataSource target = Mockito.mock(DataSource.class);
+    private final Connection connection = Mockito.mock(Connection.class);
+    private final PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadlineAwareDataSource dataSource = new DeadlineAwareDataSource(target, Duration.ofSeconds(10), meterRegistry);
+
+    DeadlineAwareDataSourceTest() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @Test
+    void statementTimeoutIsTheRemainingBudget() throws Exception {
+        Deadline.callWith(Deadline.after(Duration.ofMillis(2500)), () -> {
+            try (Connection c = dataSource.getConnection()) {
+                c.prepareStatement("SELECT 1");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    void statementTimeoutIsCappedAndAbsentOutsideATurn() throws Exception {
+        Deadline.callWith(Deadline.after(Duration.ofMinutes(5)), () -> {
+            try {
+                dataSource.getConnection().prepareStatement("SELECT 1");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+        verify(statement).setQueryTimeout(10);
+
+        dataSource.getConnection().prepareStatement("SELECT 1");
+        verify(statement, times(1)).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    void expiredBudgetFailsFastAndTimedOutStatementsAreCounted() throws Exception {
+        Deadline expired = Deadline.after(Duration.ZERO);
+        SQLException refused = Deadline.callWith(expired, () -> {
+            try {
+                dataSource.getConnection();
+                return null;
+            } catch (SQLException e) {
+                return e;
+            }
+        });
+        assertInstanceOf(SQLTimeoutException.class, refused);
+        verify(target, never()).getConnection();
+
+        when(statement.executeQuery()).thenThrow(new SQLException("canceling statement due to user request", "57014"));
+        PreparedStatement bounded = Deadline.callWith(Deadline.after(Duration.ofSeconds(5)), () -> {
+            try {
+                return dataSource.getConnection().prepareStatement("SELECT pg_sleep(60)");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThrows(SQLException.class, bounded::executeQuery);
+
+        assertEquals(2.0, meterRegistry.counter("chat.deadline.exceeded", "stage", "db").count());
+    }
+}
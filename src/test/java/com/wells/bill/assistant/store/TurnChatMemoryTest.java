@@ -0,0 +1,44 @@
+package com.wells.bill.assistant.store;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TurnChatMemoryTest {
+
+    private final ChatMemory stored = MessageWindowChatMemory.builder()
+            .chatMemoryRepository(new InMemoryChatMemoryRepository())
+            .build();
+
+    @Test
+    void retriedAttemptStoresTheTurnOnce() {
+        stored.add("c1", List.of(new UserMessage("earlier"), new AssistantMessage("earlier answer")));
+        TurnChatMemory turn = new TurnChatMemory(stored);
+
+        // FAST attempt: question written, then the model fails
+        turn.newAttempt();
+        turn.add("c1", new UserMessage("pay my bill"));
+        assertEquals(3, turn.get("c1").size());
+
+        // LARGE attempt starts from the stored conversation again
+        turn.newAttempt();
+        assertEquals(2, turn.get("c1").size());
+        turn.add("c1", new UserMessage("pay my bill"));
+        turn.add("c1", new AssistantMessage("Sent you a code."));
+        assertEquals(2, stored.get("c1").size());
+
+        turn.commit();
+        turn.commit();
+
+        List<String> texts = stored.get("c1").stream().map(Message::getText).toList();
+        assertEquals(List.of("earlier", "earlier answer", "pay my bill", "Sent you a code."), texts);
+    }
+}
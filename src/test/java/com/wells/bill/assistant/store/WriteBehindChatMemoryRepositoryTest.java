@@ -0,0 +1,102 @@
+package com.wells.bill.assistant.store;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class WriteBehindChatMemoryRepositoryTest {
+
+    private final InMemoryChatMemoryRepository jdbcTier = Mockito.spy(new InMemoryChatMemoryRepository());
+
+    @Test
+    void writesStayInMemoryUntilFlush() {
+        WriteBehindChatMemoryRepository repository = repository(10);
+        List<Message> turn = List.of(new UserMessage("hi"));
+
+        repository.saveAll("c1", turn);
+        repository.saveAll("c1", turn);
+        assertEquals(turn, repository.findByConversationId("c1"));
+        verify(jdbcTier, never()).saveAll(anyString(), any());
+
+        assertEquals(1, repository.flush());
+        verify(jdbcTier, times(1)).saveAll("c1", turn);
+        assertEquals(turn, jdbcTier.findByConversationId("c1"));
+    }
+
+    @Test
+    void missLoadsFromJdbcOnce() {
+        jdbcTier.saveAll("c1", List.of(new UserMessage("earlier")));
+        WriteBehindChatMemoryRepository repository = repository(10);
+
+        repository.findByConversationId("c1");
+        repository.findByConversationId("c1");
+
+        verify(jdbcTier, times(1)).findByConversationId("c1");
+    }
+
+    @Test
+    void evictedDirtyConversationIsStillFlushed() {
+        WriteBehindChatMemoryRepository repository = repository(1);
+
+        repository.saveAll("c1", List.of(new UserMessage("one")));
+        repository.saveAll("c2", List.of(new UserMessage("two")));
+        repository.flushAll();
+
+        assertTrue(jdbcTier.findConversationIds().containsAll(List.of("c1", "c2")));
+    }
+
+    @Test
+    void evictionDuringAFailedFlushLosesNothing() {
+        WriteBehindChatMemoryRepository repository = repository(1);
+        List<Message> first = List.of(new UserMessage("one"));
+        repository.saveAll("c1", first);
+
+        // While c1 is being written, newer conversations push it out of the LRU, then the write fails
+        Mockito.doAnswer(invocation -> {
+            repository.saveAll("c2", List.of(new UserMessage("two")));
+            repository.saveAll("c3", List.of(new UserMessage("three")));
+            throw new IllegalStateException("db down");
+        }).doCallRealMethod().when(jdbcTier).saveAll(Mockito.eq("c1"), any());
+
+        repository.flush();
+        assertEquals(first, repository.findByConversationId("c1"));
+
+        repository.flushAll();
+        assertEquals(first, jdbcTier.findByConversationId("c1"));
+        assertTrue(jdbcTier.findConversationIds().containsAll(List.of("c1", "c2", "c3")));
+    }
+
+    @Test
+    void writeArrivingDuringFlushStaysPending() {
+        WriteBehindChatMemoryRepository repository = repository(10);
+        List<Message> newer = List.of(new UserMessage("one"), new UserMessage("two"));
+        repository.saveAll("c1", List.of(new UserMessage("one")));
+
+        Mockito.doAnswer(invocation -> {
+            repository.saveAll("c1", newer);
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(jdbcTier).saveAll(Mockito.eq("c1"), any());
+
+        repository.flush();
+        repository.flush();
+
+        assertEquals(newer, jdbcTier.findByConversationId("c1"));
+    }
+
+    private WriteBehindChatMemoryRepository repository(int maxCached) {
+        return new WriteBehindChatMemoryRepository(jdbcTier, maxCached, 100, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,96 @@
+package com.wells.bill.assistant.tools;
+
+import com.wells.bill.assistant.model.BillCategory;
+import com.wells.bill.assistant.model.BillDetail;
+import com.wells.bill.assistant.model.BillStatus;
+import com.wells.bill.assistant.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BillTableResultConverterTest {
+
+    private static final Currency INR = Currency.getInstance("INR");
+
+    @Test
+    void billsRenderAsTableWithoutInternalFields() {
+        BillDetail bill = bill("Airtel", "499.00", LocalDate.of(2026, 3, 10), BillStatus.VERIFIED);
+
+        String rendered = new BillTableResultConverter().convert(List.of(bill), List.class);
+
+        assertTrue(rendered.contains("Airtel | MOBILE | INR 499.00 | 2026-03-10 | VERIFIED"));
+        assertFalse(rendered.contains(bill.id().toString()));
+        assertFalse(rendered.contains("chunkCount"));
+        assertTrue(rendered.endsWith("Summary: 1 bill, total INR 499.00, earliest due 2026-03-10"));
+    }
+
+    @Test
+    void overBudgetResultsKeepEarliestRowsAndFullTotals() {
+        List<BillDetail> bills = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            bills.add(bill("Provider" + i, "100.00", LocalDate.of(2026, 1, 1).plusDays(i), BillStatus.OVERDUE));
+        }
+        Collections.shuffle(bills, new Random(3));
+
+        String rendered = new BillTableResultConverter(100).convert(bills, List.class);
+
+        assertTrue(rendered.length() <= 100 * 4 + 80);
+        assertTrue(rendered.contains("Provider0 |"));
+        assertFalse(rendered.contains("Provider199 |"));
+        assertTrue(rendered.contains("more bills not shown"));
+        assertTrue(rendered.contains("Summary: 200 bills, total INR 20000.00, earliest due 2026-01-01, 200 overdue"));
+    }
+
+    @Test
+    void groupedBillsAreFlattenedWithProviderCount() {
+        Map<String, List<BillDetail>> grouped = Map.of(
+                "Airtel", List.of(bill("Airtel", "499.00", LocalDate.of(2026, 3, 10), BillStatus.VERIFIED)),
+                "BESCOM", List.of(bill("BESCOM", "1200.50", LocalDate.of(2026, 3, 5), BillStatus.VERIFIED))
+        );
+
+        String rendered = new BillTableResultConverter().convert(grouped, Map.class);
+
+        assertTrue(rendered.indexOf("BESCOM |") < rendered.indexOf("Airtel |"));
+        assertTrue(rendered.contains("Summary: 2 bills across 2 providers, total INR 1699.50"));
+    }
+
+    @Test
+    void nonBillResultsFallBackToJson() {
+        assertEquals("\"done\"", new BillTableResultConverter().convert("done", String.class));
+    }
+
+    @Test
+    void singleBillKeepsEveryDetail() {
+        BillDetail bill = BillDetail.builder()
+                .id(UUID.randomUUID())
+                .providerName("Airtel")
+                .consumerName("Asha Rao")
+                .consumerNumber("CN-1001")
+                .serviceNumber("SN-77")
+                .amountDue(new Money(new BigDecimal("499.00"), INR))
+                .build();
+
+        String rendered = new BillTableResultConverter().convert(bill, BillDetail.class);
+
+        assertTrue(rendered.contains("\"consumerName\":\"Asha Rao\""));
+        assertTrue(rendered.contains("\"serviceNumber\":\"SN-77\""));
+        assertFalse(rendered.contains("provider | category"));
+    }
+
+    private static BillDetail bill(String provider, String amount, LocalDate dueDate, BillStatus status) {
+        return BillDetail.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .providerName(provider)
+                .billCategory(BillCategory.MOBILE)
+                .amountDue(new Money(new BigDecimal(amount), INR))
+                .dueDate(dueDate)
+                .status(status)
+                .chunkCount(4)
+                .build();
+    }
+}
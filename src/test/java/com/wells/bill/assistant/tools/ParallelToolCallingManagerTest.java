@@ -0,0 +1,153 @@
+package com.wells.bill.assistant.tools;
+
+import com.wells.bill.assistant.config.ToolExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.DefaultToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.resolution.StaticToolCallbackResolver;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelToolCallingManagerTest {
+
+    private final List<String> invocations = new CopyOnWriteArrayList<>();
+
+    @Test
+    void contiguousReadsOverlapAndLaterReadsSeeEarlierWrites() {
+        ParallelToolCallingManager manager = manager();
+        // Both reads of the first run must be inside call() at the same time to get past the latch
+        CountDownLatch bothReadsStarted = new CountDownLatch(2);
+        List<ToolCallback> tools = List.of(
+                overlapping("listUnpaidBills", bothReadsStarted),
+                overlapping("explainMonthlyPaymentSummary", bothReadsStarted),
+                tool("markBillAsVerified", 50),
+                tool("listAllBills", 0));
+
+        ToolExecutionResult result = manager.executeToolCalls(prompt(tools),
+                response("listUnpaidBills", "explainMonthlyPaymentSummary", "markBillAsVerified", "listAllBills"));
+
+        ToolResponseMessage responses = (ToolResponseMessage) result.conversationHistory().getLast();
+        assertEquals(List.of("listUnpaidBills-overlapped", "explainMonthlyPaymentSummary-overlapped",
+                        "markBillAsVerified-result", "listAllBills-result"),
+                responses.getResponses().stream().map(ToolResponseMessage.ToolResponse::responseData).toList());
+
+        // The write waited for the reads before it, and the read after it waited for the write
+        assertEquals(Set.of("listUnpaidBills", "explainMonthlyPaymentSummary"), Set.copyOf(invocations.subList(0, 2)));
+        assertEquals(List.of("markBillAsVerified", "listAllBills"), invocations.subList(2, 4));
+    }
+
+    @Test
+    void toolCallsAreObserved() {
+        List<String> stopped = new CopyOnWriteArrayList<>();
+        ObservationRegistry observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context.getName());
+            }
+        });
+        ParallelToolCallingManager manager = manager(observations);
+        List<ToolCallback> tools = List.of(tool("listUnpaidBills", 0), tool("listAllBills", 0));
+
+        manager.executeToolCalls(prompt(tools), response("listUnpaidBills", "listAllBills"));
+
+        assertEquals(List.of("spring.ai.tool", "spring.ai.tool"), stopped);
+    }
+
+    private ParallelToolCallingManager manager() {
+        return manager(ObservationRegistry.NOOP);
+    }
+
+    private ParallelToolCallingManager manager(ObservationRegistry observationRegistry) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("observationRegistry", observationRegistry);
+        return new ParallelToolCallingManager(
+                new StaticToolCallbackResolver(List.of()),
+                DefaultToolExecutionExceptionProcessor.builder().build(),
+                beanFactory.getBeanProvider(ObservationRegistry.class),
+                new ToolExecutionProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    private static Prompt prompt(List<ToolCallback> tools) {
+        return new Prompt("question", ToolCallingChatOptions.builder().toolCallbacks(tools).build());
+    }
+
+    private static ChatResponse response(String... toolNames) {
+        List<AssistantMessage.ToolCall> calls = new ArrayList<>();
+        for (int i = 0; i < toolNames.length; i++) {
+            calls.add(new AssistantMessage.ToolCall("call-" + i, "function", toolNames[i], "{}"));
+        }
+        return new ChatResponse(List.of(new Generation(AssistantMessage.builder().content("").toolCalls(calls).build())));
+    }
+
+    private ToolCallback overlapping(String name, CountDownLatch bothStarted) {
+        ToolDefinition definition = ToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            public String call(String toolInput) {
+                bothStarted.countDown();
+                boolean overlapped;
+                try {
+                    overlapped = bothStarted.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    overlapped = false;
+                }
+                invocations.add(name);
+                return name + (overlapped ? "-overlapped" : "-sequential");
+            }
+        };
+    }
+
+    private ToolCallback tool(String name, long sleepMs) {
+        ToolDefinition definition = ToolDefinition.builder().name(name).description(name).inputSchema("{}").build();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            public String call(String toolInput) {
+                try {
+                    Thread.sleep(sleepMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                invocations.add(name);
+                return name + "-result";
+            }
+        };
+    }
+}
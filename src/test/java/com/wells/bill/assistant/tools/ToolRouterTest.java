@@ -0,0 +1,51 @@
+package com.wells.bill.assistant.tools;
+
+import com.wells.bill.assistant.model.PaymentConfirmationToken;
+import com.wells.bill.assistant.store.PaymentConfirmationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class ToolRouterTest {
+
+    private final PaymentConfirmationStore store = Mockito.mock(PaymentConfirmationStore.class);
+    private final ToolRouter router = new ToolRouter(store, null, new SimpleMeterRegistry());
+
+    @Test
+    void pendingConfirmation_onlyShipsConfirmationTools() {
+        when(store.find(any())).thenReturn(Optional.of(new PaymentConfirmationToken(
+                "482913", UUID.randomUUID(), UUID.randomUUID(), null, Instant.now().plusSeconds(300))));
+
+        assertEquals(EnumSet.of(ToolGroup.PAYMENT_CONFIRMATION),
+                router.select(UUID.randomUUID(), "482913").groups());
+    }
+
+    @Test
+    void messageRules_pickMatchingGroups() {
+        when(store.find(any())).thenReturn(Optional.empty());
+
+        assertEquals(EnumSet.of(ToolGroup.PAYMENT_START, ToolGroup.BILL_LOOKUP),
+                router.select(UUID.randomUUID(), "pay my Airtel bill").groups());
+        assertEquals(EnumSet.of(ToolGroup.PAYMENT_HISTORY),
+                router.select(UUID.randomUUID(), "show my recent payments").groups());
+    }
+
+    @Test
+    void unmatchedMessage_fallsBackToAllTools() {
+        when(store.find(any())).thenReturn(Optional.empty());
+
+        ToolRouter.ToolSelection selection = router.select(UUID.randomUUID(), "hello there");
+        assertEquals("fallback_all", selection.reason());
+        assertTrue(selection.groups().containsAll(EnumSet.allOf(ToolGroup.class)));
+    }
+}
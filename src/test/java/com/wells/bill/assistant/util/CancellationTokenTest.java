@@ -0,0 +1,148 @@
+package com.wells.bill.assistant.util;
+
+import com.wells.bill.assistant.exception.TurnCancelledException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTokenTest {
+
+    @Test
+    void cancelInterruptsTheBlockingCallAndSurfacesAsCancelled() throws Exception {
+        CancellationToken token = new CancellationToken();
+        CountDownLatch started = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Boolean> call = executor.submit(() -> {
+                try {
+                    token.callInterruptibly(() -> {
+                        started.countDown();
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException("model call aborted", e);
+                        }
+                        return "answer";
+                    });
+                    return false;
+                } catch (TurnCancelledException e) {
+                    // The interrupt flag is cleared once the call is unwound
+                    return !Thread.currentThread().isInterrupted();
+                }
+            });
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertTrue(token.cancel(CancellationToken.CLIENT_DISCONNECTED));
+            assertTrue(call.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void closedTokenIsNotCancelledByItsDeadline() throws Exception {
+        CancellationToken open = new CancellationToken(Deadline.after(Duration.ofMillis(50)));
+        CancellationToken closed = new CancellationToken(Deadline.after(Duration.ofMillis(50)));
+        AtomicInteger callbacks = new AtomicInteger();
+        closed.onCancel(callbacks::incrementAndGet);
+
+        closed.close();
+        Thread.sleep(200);
+
+        assertTrue(open.isDeadlineExceeded());
+        assertFalse(closed.isCancelled());
+        assertEquals(0, callbacks.get());
+    }
+
+    @Test
+    void runningToolIsNotInterruptedButEndsTheLoop() throws Exception {
+        CancellationToken token = new CancellationToken();
+        CountDownLatch toolStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completedTools = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> turn = executor.submit(() -> token.callInterruptibly(() -> token.shielded(() -> {
+                toolStarted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException("tool interrupted", e);
+                }
+                return completedTools.incrementAndGet();
+            })));
+
+            assertTrue(toolStarted.await(5, TimeUnit.SECONDS));
+            token.cancel(CancellationToken.TIMEOUT);
+            release.countDown();
+
+            Exception failure = assertThrows(Exception.class, () -> turn.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TurnCancelledException.class, failure.getCause());
+            assertEquals(1, completedTools.get());
+        }
+
+        // A pending tool never starts
+        assertThrows(TurnCancelledException.class, () -> token.shielded(completedTools::incrementAndGet));
+        assertEquals(1, completedTools.get());
+    }
+
+    @Test
+    void callbacksRunOnceWithTheFirstReason() {
+        CancellationToken token = new CancellationToken();
+        AtomicInteger calls = new AtomicInteger();
+        token.onCancel(calls::incrementAndGet);
+
+        assertTrue(token.cancel(CancellationToken.TIMEOUT));
+        assertFalse(token.cancel(CancellationToken.CLIENT_DISCONNECTED));
+        token.onCancel(calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+        assertEquals(CancellationToken.TIMEOUT, token.reason());
+    }
+
+    @Test
+    void deadlineCancelsTheTurnAndNamesTheStage() throws Exception {
+        CancellationToken token = new CancellationToken(Deadline.after(Duration.ofMillis(50)));
+        CountDownLatch started = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> call = executor.submit(() -> token.callInterruptibly(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException("model call aborted", e);
+                }
+                return "answer";
+            }));
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Exception failure = assertThrows(Exception.class, () -> call.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TurnCancelledException.class, failure.getCause());
+        }
+
+        assertTrue(token.isDeadlineExceeded());
+        assertEquals(CancellationToken.STAGE_LLM, token.cancelledStage());
+        assertTrue(token.deadline().isExpired());
+    }
+
+    @Test
+    void deadlineBindingIsScoped() {
+        Deadline outer = Deadline.after(Duration.ofSeconds(30));
+        Deadline inner = Deadline.after(Duration.ofSeconds(1));
+
+        Deadline.callWith(outer, () -> {
+            assertSame(inner, Deadline.callWith(inner, Deadline::current));
+            assertSame(outer, Deadline.current());
+            assertEquals(Duration.ofMillis(10), outer.remaining(Duration.ofMillis(10)));
+            return null;
+        });
+        assertNull(Deadline.current());
+    }
+}
@@ -0,0 +1,39 @@
+package com.wells.bill.assistant.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConversationContextHolderTest {
+
+    @Test
+    void callWith_restoresPreviousBinding() {
+        UUID outer = UUID.randomUUID();
+        UUID inner = UUID.randomUUID();
+
+        ConversationContextHolder.runWith(outer, outer, () -> {
+            ConversationContextHolder.runWith(inner, inner, () ->
+                    assertEquals(inner, ConversationContextHolder.getUserId()));
+            assertEquals(outer, ConversationContextHolder.getUserId());
+        });
+
+        assertNull(ConversationContextHolder.getUserId());
+        assertNull(ConversationContextHolder.getConversationId());
+    }
+
+    @Test
+    void callWith_bindsOnVirtualThreads() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            UUID seen = executor.submit(() ->
+                    ConversationContextHolder.callWith(userId, userId, ConversationContextHolder::getUserId)
+            ).get();
+            assertEquals(userId, seen);
+        }
+    }
+}